@@ -0,0 +1,114 @@
+package impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Shared by the benchmarks, which are classes with a main method that are
+ * compiled together with the sources and run on their own, such as:
+ *
+ * <pre>
+ * javac -d classes $(find src bench -name '*.java')
+ * java -cp classes impl.JsonHandlerBenchmark
+ * </pre>
+ *
+ * Each benchmark runs its cases a few rounds to warm up before the rounds it
+ * measures, and prints the average of those.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonBenchmarks {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Number of rounds run before measuring.
+	 */
+	static final int WARMUP_ROUNDS = 10;
+	/**
+	 * Number of rounds measured.
+	 */
+	static final int MEASURED_ROUNDS = 10;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * This class is not meant to be instanced.
+	 */
+	private JsonBenchmarks() {
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Makes a JSON array of records like the ones read by ingestion pipelines, with
+	 * fields of every type.
+	 *
+	 * @param count
+	 *                  Number of records.
+	 * @return The JSON text of the array.
+	 */
+	static String records(final int count) {
+		final StringBuilder builder = new StringBuilder("[");
+		for (int index = 0; index < count; ++index) {
+			if (index > 0) {
+				builder.append(",\n");
+			}
+			builder.append("\t{\"id\": ").append(index);
+			builder.append(", \"name\": \"Employee number ").append(index).append('\"');
+			builder.append(", \"email\": \"employee").append(index).append("@example.com\"");
+			builder.append(", \"score\": ").append(index * 0.25);
+			builder.append(", \"active\": ").append((index % 3) != 0);
+			builder.append(", \"manager\": null");
+			builder.append(", \"tags\": [\"staff\", \"floor ").append(index % 7).append("\"]");
+			builder.append(", \"address\": {\"street\": \"Main Street ").append(index % 100);
+			builder.append("\", \"city\": \"Madrid\", \"zip\": ").append(28000 + (index % 50)).append("}}");
+		}
+		return builder.append("]").toString();
+	}
+
+	/**
+	 * Gets the number of bytes the current thread has allocated on the heap so far.
+	 *
+	 * @return The number of bytes allocated.
+	 */
+	static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+				.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Gets the number of bytes used on the heap once garbage has been collected.
+	 *
+	 * @return The number of bytes used.
+	 */
+	static long usedBytes() {
+		final Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		// Collections may leave garbage behind, so the least used after a few is kept
+		for (int collection = 0; collection < 5; ++collection) {
+			System.gc();
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
+
+	/**
+	 * Prints a line of the results of a benchmark.
+	 *
+	 * @param format
+	 *                      The format of the line, as String.format takes it.
+	 * @param arguments
+	 *                      The values of the line.
+	 */
+	static void print(final String format, final Object... arguments) {
+		System.out.println(String.format(Locale.ROOT, format, arguments));
+	}
+
+}
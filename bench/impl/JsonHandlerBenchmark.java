@@ -0,0 +1,212 @@
+package impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import api.JsonHandler;
+
+/**
+ * Measures how much pushing the tokens of a document to a JsonHandler allocates
+ * per token, against reading the document into a tree. The handler only counts
+ * the tokens it's pushed. What a parser allocates once, such as its buffers, is
+ * measured on an empty array and taken away, so that what's left is what the
+ * tokens allocate.
+ *
+ * Takes the number of records of the document as its argument, 20000 by
+ * default.
+ *
+ * @see impl.JsonBenchmarks
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public final class JsonHandlerBenchmark {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * This class is not meant to be instanced.
+	 */
+	private JsonHandlerBenchmark() {
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param arguments
+	 *                      The number of records, optionally.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	public static void main(final String[] arguments) throws IOException {
+		final int count = arguments.length > 0 ? Integer.parseInt(arguments[0]) : 20000;
+		final String string = JsonBenchmarks.records(count);
+		final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		final Counter counter = new Counter();
+		new JsonUtf8ReaderImplementation(bytes).parse(counter);
+		final long tokens = counter.tokens;
+		JsonBenchmarks.print("%d records, %d bytes, %d tokens", count, bytes.length, tokens);
+		JsonBenchmarks.print("%-20s %10s %14s %12s", "case", "ms", "bytes", "bytes/token");
+		JsonHandlerBenchmark.run("handler, UTF-8", tokens, () -> new JsonUtf8ReaderImplementation(bytes),
+				() -> new JsonUtf8ReaderImplementation("[]".getBytes(StandardCharsets.UTF_8)), true);
+		JsonHandlerBenchmark.run("handler, characters", tokens, () -> new JsonReaderImplementation(string),
+				() -> new JsonReaderImplementation("[]"), true);
+		JsonHandlerBenchmark.run("tree, UTF-8", tokens, () -> new JsonUtf8ReaderImplementation(bytes),
+				() -> new JsonUtf8ReaderImplementation("[]".getBytes(StandardCharsets.UTF_8)), false);
+	}
+
+	/**
+	 * Runs a case and prints its time and the bytes it allocates.
+	 *
+	 * @param name
+	 *                     The name of the case.
+	 * @param tokens
+	 *                     Number of tokens of the document.
+	 * @param document
+	 *                     Makes a parser of the document.
+	 * @param empty
+	 *                     Makes a parser of an empty array.
+	 * @param isPushed
+	 *                     Whether the tokens are pushed to a handler instead of
+	 *                     read into a tree.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private static void run(final String name, final long tokens, final Parsers document, final Parsers empty,
+			final boolean isPushed) throws IOException {
+		final Counter counter = new Counter();
+		long nanos = 0;
+		long allocated = 0;
+		for (int round = 0; round < (JsonBenchmarks.WARMUP_ROUNDS + JsonBenchmarks.MEASURED_ROUNDS); ++round) {
+			final long emptyBefore = JsonBenchmarks.allocatedBytes();
+			JsonHandlerBenchmark.consume(empty.make(), counter, isPushed);
+			final long overhead = JsonBenchmarks.allocatedBytes() - emptyBefore;
+			final long before = JsonBenchmarks.allocatedBytes();
+			final long start = System.nanoTime();
+			JsonHandlerBenchmark.consume(document.make(), counter, isPushed);
+			final long end = System.nanoTime();
+			final long after = JsonBenchmarks.allocatedBytes();
+			if (round >= JsonBenchmarks.WARMUP_ROUNDS) {
+				nanos += end - start;
+				allocated += (after - before) - overhead;
+			}
+		}
+		final long bytes = allocated / JsonBenchmarks.MEASURED_ROUNDS;
+		JsonBenchmarks.print("%-20s %10.2f %14d %12.3f", name, (nanos / JsonBenchmarks.MEASURED_ROUNDS) / 1e6, bytes,
+				(double) bytes / tokens);
+	}
+
+	/**
+	 * Pushes the next value of a parser to a handler, or reads it into a tree.
+	 *
+	 * @param parser
+	 *                     The parser.
+	 * @param counter
+	 *                     The handler to push the tokens to.
+	 * @param isPushed
+	 *                     Whether the tokens are pushed instead of read.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private static void consume(final JsonParserImplementation parser, final Counter counter,
+			final boolean isPushed) throws IOException {
+		if (isPushed) {
+			parser.parse(counter);
+		} else {
+			parser.read();
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * Makes parsers.
+	 */
+	@FunctionalInterface
+	private static interface Parsers {
+
+		/**
+		 * Makes a parser.
+		 *
+		 * @return The parser.
+		 * @throws IOException
+		 *                         If an I/O error occurs.
+		 */
+		public JsonParserImplementation make() throws IOException;
+
+	}
+
+	/**
+	 * A handler that counts the tokens it's pushed.
+	 */
+	private static final class Counter implements JsonHandler {
+
+		/**
+		 * Number of tokens pushed.
+		 */
+		private long tokens;
+
+		@Override
+		public void startObject() {
+			++this.tokens;
+		}
+
+		@Override
+		public void endObject() {
+			++this.tokens;
+		}
+
+		@Override
+		public void startArray() {
+			++this.tokens;
+		}
+
+		@Override
+		public void endArray() {
+			++this.tokens;
+		}
+
+		@Override
+		public void key(final CharSequence key) {
+			++this.tokens;
+		}
+
+		@Override
+		public void stringValue(final CharSequence value) {
+			++this.tokens;
+		}
+
+		@Override
+		public void numberValue(final long value) {
+			++this.tokens;
+		}
+
+		@Override
+		public void numberValue(final double value) {
+			++this.tokens;
+		}
+
+		@Override
+		public void numberValue(final Number value) {
+			++this.tokens;
+		}
+
+		@Override
+		public void booleanValue(final boolean value) {
+			++this.tokens;
+		}
+
+		@Override
+		public void nullValue() {
+			++this.tokens;
+		}
+
+	}
+
+}
@@ -0,0 +1,204 @@
+package impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import api.Json;
+import api.Json.JsonType;
+
+/**
+ * Measures the time of getType, as(int.class) and get on the values of a tree,
+ * the calls that looked at the class name of the internal value before values
+ * were tagged with its kind. getType is measured against working out the type
+ * from the class name of the internal value, the way it was worked out before.
+ *
+ * Takes the number of records of the tree as its argument, 2000 by default, so
+ * that the values fit in the caches and the calls are what's measured.
+ *
+ * @see impl.JsonImplementation
+ * @see impl.JsonBenchmarks
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public final class JsonImplementationBenchmark {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Keeps what the calls return, so that they aren't optimized away.
+	 */
+	private static long sink;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * This class is not meant to be instanced.
+	 */
+	private JsonImplementationBenchmark() {
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param arguments
+	 *                      The number of records, optionally.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	public static void main(final String[] arguments) throws IOException {
+		final int count = arguments.length > 0 ? Integer.parseInt(arguments[0]) : 2000;
+		final Json tree = new JsonReaderImplementation(JsonBenchmarks.records(count)).read();
+		final List<JsonImplementation> values = new ArrayList<>();
+		JsonImplementationBenchmark.collect((JsonImplementation) tree, values);
+		final List<JsonImplementation> integers = new ArrayList<>();
+		final List<JsonImplementation> objects = new ArrayList<>();
+		final List<JsonImplementation> arrays = new ArrayList<>();
+		for (final JsonImplementation value : values) {
+			if (value.kind() == JsonImplementation.INTEGER_VALUE) {
+				integers.add(value);
+			} else if (value.kind() == JsonImplementation.OBJECT_VALUE) {
+				objects.add(value);
+			} else if (value.kind() == JsonImplementation.ARRAY_VALUE) {
+				arrays.add(value);
+			}
+		}
+		JsonBenchmarks.print("%d records, %d values", count, values.size());
+		JsonBenchmarks.print("%-28s %10s %10s", "call", "calls", "ns/call");
+		// Every call is warmed up before any is measured, so that none of them is
+		// measured before the others have been made through the same call site
+		for (int pass = 0; pass < 2; ++pass) {
+			final boolean isMeasured = pass > 0;
+			JsonImplementationBenchmark.run("getType", values, (value) -> value.getType().ordinal(), isMeasured);
+			JsonImplementationBenchmark.run("type from class name", values,
+					(value) -> JsonImplementationBenchmark.typeFromClassName(value).ordinal(), isMeasured);
+			JsonImplementationBenchmark.run("as(int.class)", integers, (value) -> value.as(int.class), isMeasured);
+			JsonImplementationBenchmark.run("get(\"name\") of objects", objects,
+					(value) -> System.identityHashCode(value.get("name")), isMeasured);
+			JsonImplementationBenchmark.run("get(0) of arrays", arrays,
+					(value) -> System.identityHashCode(value.get(0)), isMeasured);
+		}
+	}
+
+	/**
+	 * Collects a value and every value inside of it.
+	 *
+	 * @param value
+	 *                   The value.
+	 * @param values
+	 *                   The list to add the values to.
+	 */
+	private static void collect(final JsonImplementation value, final List<JsonImplementation> values) {
+		values.add(value);
+		final JsonType type = value.getType();
+		if ((type == JsonType.OBJECT) || (type == JsonType.ARRAY)) {
+			for (final Json child : value.values()) {
+				JsonImplementationBenchmark.collect((JsonImplementation) child, values);
+			}
+		}
+	}
+
+	/**
+	 * Works out the type of a value from the class name of its internal value.
+	 *
+	 * @param value
+	 *                  The value.
+	 * @return The type of the value.
+	 */
+	private static JsonType typeFromClassName(final JsonImplementation value) {
+		final Object internal = value.getValue();
+		if (internal == null) {
+			return JsonType.NULL;
+		}
+		switch (internal.getClass().getName()) {
+		case "java.util.HashMap":
+		case "impl.JsonObjectMap":
+		case "impl.JsonShapedMap":
+			return JsonType.OBJECT;
+		case "java.util.ArrayList":
+		case "impl.JsonNumberList":
+			return JsonType.ARRAY;
+		case "java.lang.String":
+			return JsonType.STRING;
+		case "java.lang.Byte":
+		case "java.lang.Short":
+		case "java.lang.Integer":
+		case "java.lang.Long":
+		case "java.lang.Float":
+		case "java.lang.Double":
+		case "java.math.BigInteger":
+		case "java.math.BigDecimal":
+			return JsonType.NUMBER;
+		case "java.lang.Boolean":
+			return JsonType.BOOLEAN;
+		default:
+			throw new ClassCastException();
+		}
+	}
+
+	/**
+	 * Makes a call on each value a few rounds and prints the average time of a call
+	 * if it's measured.
+	 *
+	 * @param name
+	 *                       The name of the call.
+	 * @param values
+	 *                       The values.
+	 * @param call
+	 *                       The call.
+	 * @param isMeasured
+	 *                       Whether to print the time, instead of only warming up.
+	 */
+	private static void run(final String name, final List<JsonImplementation> values, final Call call,
+			final boolean isMeasured) {
+		final int repetitions = Math.max(1, 1000000 / Math.max(1, values.size()));
+		long nanos = 0;
+		for (int round = 0; round < (JsonBenchmarks.WARMUP_ROUNDS + JsonBenchmarks.MEASURED_ROUNDS); ++round) {
+			long result = 0;
+			final long start = System.nanoTime();
+			for (int repetition = 0; repetition < repetitions; ++repetition) {
+				for (int index = 0; index < values.size(); ++index) {
+					result += call.make(values.get(index));
+				}
+			}
+			final long end = System.nanoTime();
+			JsonImplementationBenchmark.sink += result;
+			if (round >= JsonBenchmarks.WARMUP_ROUNDS) {
+				nanos += end - start;
+			}
+		}
+		if (!isMeasured) {
+			return;
+		}
+		final long calls = (long) repetitions * values.size();
+		JsonBenchmarks.print("%-28s %10d %10.2f", name, calls, (double) nanos / JsonBenchmarks.MEASURED_ROUNDS / calls);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * A call on a value.
+	 */
+	@FunctionalInterface
+	private static interface Call {
+
+		/**
+		 * Makes the call.
+		 *
+		 * @param value
+		 *                  The value.
+		 * @return A number taken from what the call returns.
+		 */
+		public long make(JsonImplementation value);
+
+	}
+
+}
@@ -0,0 +1,169 @@
+package impl;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import api.Json;
+
+/**
+ * Measures how much heap the trees of a few documents take with objects kept in
+ * flat arrays of keys and values, against the same trees with each object kept
+ * in a HashMap, the way objects were kept before. The documents are an array of
+ * records that all have the same fields, and an array of small objects whose
+ * fields vary from one to the next.
+ *
+ * Takes the number of records of each document as its argument, 20000 by
+ * default.
+ *
+ * @see impl.JsonObjectMap
+ * @see impl.JsonBenchmarks
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public final class JsonObjectBenchmark {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * This class is not meant to be instanced.
+	 */
+	private JsonObjectBenchmark() {
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param arguments
+	 *                      The number of records, optionally.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	public static void main(final String[] arguments) throws IOException {
+		final int count = arguments.length > 0 ? Integer.parseInt(arguments[0]) : 20000;
+		JsonBenchmarks.print("%-16s %8s %14s %14s %8s", "document", "objects", "arrays bytes", "HashMap bytes",
+				"saved");
+		JsonObjectBenchmark.run("same fields", JsonBenchmarks.records(count));
+		JsonObjectBenchmark.run("varied fields", JsonObjectBenchmark.variedObjects(count));
+	}
+
+	/**
+	 * Makes a JSON array of small objects whose fields vary from one object to the
+	 * next, in number, in name and in order.
+	 *
+	 * @param count
+	 *                  Number of objects.
+	 * @return The JSON text of the array.
+	 */
+	private static String variedObjects(final int count) {
+		final StringBuilder builder = new StringBuilder("[");
+		for (int index = 0; index < count; ++index) {
+			if (index > 0) {
+				builder.append(",\n");
+			}
+			builder.append('{');
+			final int fields = 1 + (index % 12);
+			for (int field = 0; field < fields; ++field) {
+				if (field > 0) {
+					builder.append(", ");
+				}
+				builder.append("\"field").append((index + (field * 7)) % 31).append("\": ");
+				if ((field % 3) == 0) {
+					builder.append(index + field);
+				} else if ((field % 3) == 1) {
+					builder.append("\"value ").append(field).append('\"');
+				} else {
+					builder.append("{\"x\": ").append(field).append('}');
+				}
+			}
+			builder.append('}');
+		}
+		return builder.append("]").toString();
+	}
+
+	/**
+	 * Reads a document, measures the heap its tree takes, copies the tree with its
+	 * objects in HashMaps, measures the heap the copy takes, and prints both.
+	 *
+	 * @param name
+	 *                     The name of the document.
+	 * @param document
+	 *                     The JSON text of the document.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private static void run(final String name, final String document) throws IOException {
+		final long empty = JsonBenchmarks.usedBytes();
+		JsonImplementation tree = (JsonImplementation) new JsonReaderImplementation(document).read();
+		final long arraysBytes = JsonBenchmarks.usedBytes() - empty;
+		final Map<String, Integer> maps = new TreeMap<>();
+		final int objects = JsonObjectBenchmark.countObjects(tree, maps);
+		final JsonImplementation copy = JsonObjectBenchmark.toHashMaps(tree);
+		Reference.reachabilityFence(tree);
+		tree = null;
+		final long hashMapBytes = JsonBenchmarks.usedBytes() - empty;
+		Reference.reachabilityFence(copy);
+		JsonBenchmarks.print("%-16s %8d %14d %14d %7.1f%%", name, objects, arraysBytes, hashMapBytes,
+				(100.0 * (hashMapBytes - arraysBytes)) / hashMapBytes);
+		JsonBenchmarks.print("%-16s objects kept in %s", "", maps);
+	}
+
+	/**
+	 * Counts the objects of a tree, and how many of them are kept in each class of
+	 * map.
+	 *
+	 * @param value
+	 *                  The tree.
+	 * @param maps
+	 *                  The number of objects kept in each class of map, by the
+	 *                  simple name of the class.
+	 * @return The number of objects.
+	 */
+	private static int countObjects(final JsonImplementation value, final Map<String, Integer> maps) {
+		int objects = 0;
+		if (value.kind() == JsonImplementation.OBJECT_VALUE) {
+			maps.merge(value.getValue().getClass().getSimpleName(), 1, Integer::sum);
+			++objects;
+		}
+		if ((value.kind() == JsonImplementation.OBJECT_VALUE) || (value.kind() == JsonImplementation.ARRAY_VALUE)) {
+			for (final Json child : value.values()) {
+				objects += JsonObjectBenchmark.countObjects((JsonImplementation) child, maps);
+			}
+		}
+		return objects;
+	}
+
+	/**
+	 * Copies a tree with each of its objects kept in a HashMap and each of its
+	 * arrays in an ArrayList. The other values are shared with the tree.
+	 *
+	 * @param value
+	 *                  The tree.
+	 * @return The copy.
+	 */
+	private static JsonImplementation toHashMaps(final JsonImplementation value) {
+		if (value.kind() == JsonImplementation.OBJECT_VALUE) {
+			final Map<String, Json> map = new HashMap<>();
+			value.forEach((key, child) -> map.put(key, JsonObjectBenchmark.toHashMaps((JsonImplementation) child)));
+			return new JsonImplementation(map);
+		} else if (value.kind() == JsonImplementation.ARRAY_VALUE) {
+			final List<Json> list = new ArrayList<>(value.size());
+			for (final Json child : value.values()) {
+				list.add(JsonObjectBenchmark.toHashMaps((JsonImplementation) child));
+			}
+			return new JsonImplementation(list);
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,98 @@
+package impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how much faster a large array of records is read in parallel than
+ * one element after another on the calling thread. The array is read on pools
+ * of 1, 2, 4 and so on threads up to the number of processors, and the speedup
+ * of each is shown against reading it with read on a single thread.
+ *
+ * Takes the number of records of the array as its argument, 200000 by default.
+ *
+ * @see impl.JsonBenchmarks
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public final class JsonParallelReaderBenchmark {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * This class is not meant to be instanced.
+	 */
+	private JsonParallelReaderBenchmark() {
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param arguments
+	 *                      The number of records, optionally.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	public static void main(final String[] arguments) throws IOException {
+		final int count = arguments.length > 0 ? Integer.parseInt(arguments[0]) : 200000;
+		final byte[] bytes = JsonBenchmarks.records(count).getBytes(StandardCharsets.UTF_8);
+		final int processors = Runtime.getRuntime().availableProcessors();
+		JsonBenchmarks.print("%d records, %d bytes, %d processors", count, bytes.length, processors);
+		JsonBenchmarks.print("%-20s %10s %8s", "case", "ms", "speedup");
+		final double single = JsonParallelReaderBenchmark.run(bytes, null);
+		JsonBenchmarks.print("%-20s %10.2f %8.2f", "single thread", single, 1.0);
+		for (int threads = 1; threads < (processors * 2); threads *= 2) {
+			final int parallelism = Math.min(threads, processors);
+			final ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				final double parallel = JsonParallelReaderBenchmark.run(bytes, pool);
+				JsonBenchmarks.print("%-20s %10.2f %8.2f", parallelism + " threads", parallel, single / parallel);
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Reads the array a few rounds and gets the average time of a round.
+	 *
+	 * @param bytes
+	 *                  The array.
+	 * @param pool
+	 *                  The pool to read the array on, or null to read it with read
+	 *                  on the calling thread.
+	 * @return The average time of a round, in milliseconds.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private static double run(final byte[] bytes, final ForkJoinPool pool) throws IOException {
+		long nanos = 0;
+		for (int round = 0; round < (JsonBenchmarks.WARMUP_ROUNDS + JsonBenchmarks.MEASURED_ROUNDS); ++round) {
+			final long start = System.nanoTime();
+			final int size;
+			if (pool == null) {
+				size = new JsonUtf8ReaderImplementation(bytes).read().size();
+			} else {
+				final JsonParallelReaderImplementation reader = new JsonParallelReaderImplementation(bytes);
+				reader.setPool(pool);
+				size = reader.read().size();
+			}
+			final long end = System.nanoTime();
+			if (size == 0) {
+				throw new IllegalStateException("No records were read");
+			}
+			if (round >= JsonBenchmarks.WARMUP_ROUNDS) {
+				nanos += end - start;
+			}
+		}
+		return (nanos / JsonBenchmarks.MEASURED_ROUNDS) / 1e6;
+	}
+
+}
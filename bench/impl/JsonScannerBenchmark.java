@@ -0,0 +1,259 @@
+package impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Measures how fast the words of JsonScanner find the bytes that matter,
+ * against looking at one byte at a time. Each search runs over a buffer of runs
+ * of bytes it skips, each ended by a byte it stops at, for runs of a few
+ * lengths. Reading a pretty printed document with long strings is measured too,
+ * from bytes, which are scanned by words, and from characters, which are looked
+ * at one at a time.
+ *
+ * Takes the size of the buffers in bytes as its argument, 4 MiB by default.
+ *
+ * @see impl.JsonScanner
+ * @see impl.JsonBenchmarks
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public final class JsonScannerBenchmark {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Lengths of the runs of bytes skipped.
+	 */
+	private static final int[] RUN_LENGTHS = { 2, 8, 32, 128 };
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * This class is not meant to be instanced.
+	 */
+	private JsonScannerBenchmark() {
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param arguments
+	 *                      The size of the buffers, optionally.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	public static void main(final String[] arguments) throws IOException {
+		final int size = arguments.length > 0 ? Integer.parseInt(arguments[0]) : (4 << 20);
+		JsonBenchmarks.print("%d bytes per buffer", size);
+		JsonBenchmarks.print("%-24s %6s %12s %12s", "search", "run", "bytes MB/s", "words MB/s");
+		for (final int length : JsonScannerBenchmark.RUN_LENGTHS) {
+			final byte[] whitespace = JsonScannerBenchmark.runs(size, length, (byte) ' ', (byte) '\"');
+			JsonScannerBenchmark.compare("whitespace", length, whitespace, (bytes, position, limit) -> {
+				int index = position;
+				while ((index < limit) && Character.isWhitespace(bytes[index])) {
+					++index;
+				}
+				return index;
+			}, JsonScanner::skipWhitespace);
+		}
+		for (final int length : JsonScannerBenchmark.RUN_LENGTHS) {
+			final byte[] text = JsonScannerBenchmark.runs(size, length, (byte) 'a', (byte) '\\');
+			JsonScannerBenchmark.compare("plain text", length, text, (bytes, position, limit) -> {
+				int index = position;
+				while ((index < limit) && (bytes[index] >= 0) && (bytes[index] != '\"') && (bytes[index] != '\\')) {
+					++index;
+				}
+				return index;
+			}, JsonScanner::skipPlainText);
+		}
+		for (final int length : JsonScannerBenchmark.RUN_LENGTHS) {
+			final byte[] contents = JsonScannerBenchmark.runs(size, length, (byte) 0xC3, (byte) '\"');
+			JsonScannerBenchmark.compare("string contents", length, contents, (bytes, position, limit) -> {
+				int index = position;
+				while ((index < limit) && (bytes[index] != '\"') && (bytes[index] != '\\')) {
+					++index;
+				}
+				return index;
+			}, JsonScanner::skipStringContents);
+		}
+		final String document = JsonScannerBenchmark.document(size);
+		final byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+		final double fromCharacters = JsonScannerBenchmark.read(() -> new JsonReaderImplementation(document));
+		final double fromBytes = JsonScannerBenchmark.read(() -> new JsonUtf8ReaderImplementation(bytes));
+		JsonBenchmarks.print("%-24s %6s %12.1f %12.1f", "read pretty document", "-", bytes.length / fromCharacters,
+				bytes.length / fromBytes);
+	}
+
+	/**
+	 * Makes a buffer of runs of a byte, each ended by another byte.
+	 *
+	 * @param size
+	 *                    The size of the buffer.
+	 * @param length
+	 *                    The length of the runs.
+	 * @param skipped
+	 *                    The byte of the runs.
+	 * @param found
+	 *                    The byte that ends each run.
+	 * @return The buffer.
+	 */
+	private static byte[] runs(final int size, final int length, final byte skipped, final byte found) {
+		final byte[] bytes = new byte[size];
+		Arrays.fill(bytes, skipped);
+		for (int index = length; index < size; index += length + 1) {
+			bytes[index] = found;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Makes a pretty printed document with long strings.
+	 *
+	 * @param size
+	 *                 The size of the document, roughly.
+	 * @return The JSON text of the document.
+	 */
+	private static String document(final int size) {
+		final StringBuilder builder = new StringBuilder("[\n");
+		for (int index = 0; builder.length() < size; ++index) {
+			if (index > 0) {
+				builder.append(",\n");
+			}
+			builder.append("        {\n");
+			builder.append("                \"id\": ").append(index).append(",\n");
+			builder.append("                \"text\": \"The quick brown fox jumps over the lazy dog, number ");
+			builder.append(index).append(", and then over \\\"another\\\" one.\"\n");
+			builder.append("        }");
+		}
+		return builder.append("\n]").toString();
+	}
+
+	/**
+	 * Runs a search the byte loop way and with words, and prints how fast each one
+	 * goes over the buffer.
+	 *
+	 * @param name
+	 *                   The name of the search.
+	 * @param length
+	 *                   The length of the runs of the buffer.
+	 * @param bytes
+	 *                   The buffer.
+	 * @param loop
+	 *                   The search that looks at one byte at a time.
+	 * @param words
+	 *                   The search of JsonScanner.
+	 */
+	private static void compare(final String name, final int length, final byte[] bytes, final Search loop,
+			final Search words) {
+		final double loopNanos = JsonScannerBenchmark.search(bytes, loop);
+		final double wordsNanos = JsonScannerBenchmark.search(bytes, words);
+		JsonBenchmarks.print("%-24s %6d %12.1f %12.1f", name, length, bytes.length / (loopNanos / 1e3),
+				bytes.length / (wordsNanos / 1e3));
+	}
+
+	/**
+	 * Goes over a buffer from run to run a few rounds and gets the average time of
+	 * a round.
+	 *
+	 * @param bytes
+	 *                   The buffer.
+	 * @param search
+	 *                   The search.
+	 * @return The average time of a round, in nanoseconds.
+	 */
+	private static double search(final byte[] bytes, final Search search) {
+		long nanos = 0;
+		long found = 0;
+		for (int round = 0; round < (JsonBenchmarks.WARMUP_ROUNDS + JsonBenchmarks.MEASURED_ROUNDS); ++round) {
+			final long start = System.nanoTime();
+			for (int index = 0; index < bytes.length; ++index) {
+				index = search.skip(bytes, index, bytes.length);
+				++found;
+			}
+			final long end = System.nanoTime();
+			if (round >= JsonBenchmarks.WARMUP_ROUNDS) {
+				nanos += end - start;
+			}
+		}
+		if (found == 0) {
+			throw new IllegalStateException("No bytes were found");
+		}
+		return (double) nanos / JsonBenchmarks.MEASURED_ROUNDS;
+	}
+
+	/**
+	 * Reads a document a few rounds and gets the average time of a round.
+	 *
+	 * @param parsers
+	 *                    Makes a parser of the document.
+	 * @return The average time of a round, in microseconds.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private static double read(final Parsers parsers) throws IOException {
+		long nanos = 0;
+		for (int round = 0; round < (JsonBenchmarks.WARMUP_ROUNDS + JsonBenchmarks.MEASURED_ROUNDS); ++round) {
+			final long start = System.nanoTime();
+			final int size = parsers.make().read().size();
+			final long end = System.nanoTime();
+			if (size == 0) {
+				throw new IllegalStateException("No values were read");
+			}
+			if (round >= JsonBenchmarks.WARMUP_ROUNDS) {
+				nanos += end - start;
+			}
+		}
+		return (nanos / JsonBenchmarks.MEASURED_ROUNDS) / 1e3;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * Searches a buffer for the first byte that ends a run.
+	 */
+	@FunctionalInterface
+	private static interface Search {
+
+		/**
+		 * Searches a buffer.
+		 *
+		 * @param bytes
+		 *                     The buffer.
+		 * @param position
+		 *                     The index to start searching from.
+		 * @param limit
+		 *                     The index to stop searching at.
+		 * @return The index of the first byte found, or limit if there is none.
+		 */
+		public int skip(byte[] bytes, int position, int limit);
+
+	}
+
+	/**
+	 * Makes parsers.
+	 */
+	@FunctionalInterface
+	private static interface Parsers {
+
+		/**
+		 * Makes a parser.
+		 *
+		 * @return The parser.
+		 * @throws IOException
+		 *                         If an I/O error occurs.
+		 */
+		public JsonParserImplementation make() throws IOException;
+
+	}
+
+}
@@ -2,6 +2,8 @@ package api;
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Represents a JSON value.
@@ -84,6 +86,21 @@ public interface Json {
 	 */
 	public <T> T as(Class<T> resultClass);
 
+	/**
+	 * Obtain this JSON value as the given generic type, such as List<T> or
+	 * Map<String, T>. JSON objects are bound to records and JavaBeans by the names
+	 * of their components or properties, the same as JsonMapper binds them.
+	 *
+	 * @param resultType
+	 *                       The type the result will be attempted to be converted
+	 *                       into.
+	 * @throws ClassCastException
+	 *                                If the result can't be converted to the given
+	 *                                type.
+	 * @return This JSON value as the given type.
+	 */
+	public <T> T as(JsonTypeToken<T> resultType);
+
 	/**
 	 * Obtain the JSON value under the given array of keys.
 	 *
@@ -116,4 +133,86 @@ public interface Json {
 	 */
 	public Collection<Json> values();
 
+	/**
+	 * Gets the number of fields of this JSON object or elements of this JSON array.
+	 *
+	 * @throws ClassCastException
+	 *                                If this JSON value is not a JSON structure.
+	 * @return The number of fields or elements of this JSON value.
+	 */
+	public int size();
+
+	/**
+	 * Obtain the element at the given index of this JSON array. On a JSON object,
+	 * it obtains the value under the index as a key, the same as get(Object...)
+	 * does.
+	 *
+	 * @param index
+	 *                  The index of the element.
+	 * @throws ClassCastException
+	 *                                       If this JSON value is not a JSON
+	 *                                       structure.
+	 * @throws IndexOutOfBoundsException
+	 *                                       If this JSON value is a JSON array and
+	 *                                       the index is out of range.
+	 * @return The element at the given index.
+	 */
+	public Json get(int index);
+
+	/**
+	 * Gets the key at the given position of this JSON value. Fields of JSON objects
+	 * are in the order they were read, and the keys of JSON arrays are their
+	 * indexes. Along with size() and valueAt(int), it allows walking the fields of
+	 * a JSON object without looking up each key.
+	 *
+	 * @param index
+	 *                  The position of the key, from 0 to size() - 1.
+	 * @throws ClassCastException
+	 *                                       If this JSON value is not a JSON
+	 *                                       structure.
+	 * @throws IndexOutOfBoundsException
+	 *                                       If the index is out of range.
+	 * @return The key at the given position.
+	 */
+	public String keyAt(int index);
+
+	/**
+	 * Gets the value at the given position of this JSON value, the value under
+	 * keyAt(index).
+	 *
+	 * @param index
+	 *                  The position of the value, from 0 to size() - 1.
+	 * @throws ClassCastException
+	 *                                       If this JSON value is not a JSON
+	 *                                       structure.
+	 * @throws IndexOutOfBoundsException
+	 *                                       If the index is out of range.
+	 * @return The value at the given position.
+	 */
+	public Json valueAt(int index);
+
+	/**
+	 * Performs the given action on each key of this JSON value and the value under
+	 * it, in the same order as keyAt(int).
+	 *
+	 * @param action
+	 *                   The action to perform on each key and value.
+	 * @throws ClassCastException
+	 *                                If this JSON value is not a JSON structure.
+	 */
+	public void forEach(BiConsumer<? super String, ? super Json> action);
+
+	/**
+	 * Performs the given action on each value of this JSON value and its position,
+	 * in the same order as valueAt(int). Unlike forEach, the keys of JSON arrays
+	 * aren't made into strings, so walking a JSON array this way allocates nothing
+	 * per element.
+	 *
+	 * @param action
+	 *                   The action to perform on each value and its position.
+	 * @throws ClassCastException
+	 *                                If this JSON value is not a JSON structure.
+	 */
+	public void forEachValue(ObjIntConsumer<? super Json> action);
+
 }
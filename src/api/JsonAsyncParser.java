@@ -0,0 +1,46 @@
+package api;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A parser that is fed its input in chunks instead of reading it, so that it
+ * never blocks waiting for more input. Tokens are handed out as soon as they
+ * have been fed completely, and NOT_AVAILABLE is returned as the next token
+ * until more input is fed. In the same way, read, extract and reading into a
+ * class or type return null until the next JSON value has been fed completely,
+ * keeping the tokens read so far, and parse returns false after reporting the
+ * tokens fed so far. Whenever they're waiting for more input, the current token
+ * is NOT_AVAILABLE. Since read can't tell the end of the input from a value
+ * that hasn't been fed yet, iterator and stream throw IllegalStateException
+ * until the end of the input has been signaled.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public interface JsonAsyncParser extends JsonParser, JsonReader {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Feeds the remaining bytes of the given ByteBuffer as the next chunk of UTF-8
+	 * encoded input. The bytes are copied, so the ByteBuffer can be reused once
+	 * this method returns.
+	 *
+	 * @param bytes
+	 *                  The next chunk of input.
+	 * @throws IllegalStateException
+	 *                                   If the end of the input has already been
+	 *                                   signaled.
+	 */
+	public void feed(ByteBuffer bytes);
+
+	/**
+	 * Signals that no more input will be fed. The tokens left are then handed out
+	 * as they would be at the end of any other input.
+	 */
+	public void endOfInput();
+
+}
@@ -0,0 +1,33 @@
+package api;
+
+/**
+ * Converts JSON values to instances of a class, so that Json.as can return
+ * classes it doesn't know about. Converters are registered with
+ * JsonMapper.registerConverter.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ * @param <T>
+ *                The class JSON values are converted to.
+ */
+@FunctionalInterface
+public interface JsonConverter<T> {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Converts a JSON value. JSON nulls are converted to null without calling this
+	 * method.
+	 *
+	 * @param json
+	 *                 The JSON value to convert.
+	 * @throws ClassCastException
+	 *                                If the JSON value can't be converted.
+	 * @return The JSON value converted.
+	 */
+	public T convert(Json json);
+
+}
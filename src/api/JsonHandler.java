@@ -0,0 +1,107 @@
+package api;
+
+/**
+ * Receives the tokens of JSON data as they are read. Every method does nothing
+ * by default, so handlers only have to implement the tokens they care about.
+ *
+ * Character sequences passed to a handler are buffers reused by the reader and
+ * are only valid until the method they are passed to returns. They have to be
+ * copied, for example with toString, to be kept.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public interface JsonHandler {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Called at the start of a JSON object.
+	 */
+	public default void startObject() {
+	}
+
+	/**
+	 * Called at the end of a JSON object.
+	 */
+	public default void endObject() {
+	}
+
+	/**
+	 * Called at the start of a JSON array.
+	 */
+	public default void startArray() {
+	}
+
+	/**
+	 * Called at the end of a JSON array.
+	 */
+	public default void endArray() {
+	}
+
+	/**
+	 * Called with the name of a field of a JSON object, before its value.
+	 *
+	 * @param key
+	 *                The name of the field, only valid during this call.
+	 */
+	public default void key(final CharSequence key) {
+	}
+
+	/**
+	 * Called with a JSON string value.
+	 *
+	 * @param value
+	 *                  The contents of the string, only valid during this call.
+	 */
+	public default void stringValue(final CharSequence value) {
+	}
+
+	/**
+	 * Called with a JSON number that is whole and fits in a long.
+	 *
+	 * @param value
+	 *                  The number.
+	 */
+	public default void numberValue(final long value) {
+	}
+
+	/**
+	 * Called with a JSON number that has a fraction or an exponent and is read as a
+	 * double.
+	 *
+	 * @param value
+	 *                  The closest double to the number.
+	 */
+	public default void numberValue(final double value) {
+	}
+
+	/**
+	 * Called with a JSON number that fits neither a long nor a double, or that is
+	 * read with every digit kept. The number is a BigInteger or a BigDecimal.
+	 *
+	 * @param value
+	 *                  The number.
+	 */
+	public default void numberValue(final Number value) {
+	}
+
+	/**
+	 * Called with a JSON boolean.
+	 *
+	 * @param value
+	 *                  The value of the boolean.
+	 */
+	public default void booleanValue(final boolean value) {
+	}
+
+	/**
+	 * Called with a JSON null.
+	 */
+	public default void nullValue() {
+	}
+
+}
@@ -0,0 +1,100 @@
+package api;
+
+/**
+ * Binds JSON values to records, JavaBeans and the generic collections of them,
+ * and Java objects back to JSON values.
+ *
+ * JSON objects are bound to records through their canonical constructor, and to
+ * JavaBeans through their constructor without parameters and their setters,
+ * matching each field to the component or property with its name. Fields that
+ * match none are ignored, and components that no field matches are given null
+ * or zero. Every other value is converted the same as Json.as converts it.
+ * Values with more than 256 records or JavaBeans nested in each other can't be
+ * bound, since each nested one is bound by a call of its own. Objects are made
+ * into JSON values from the components of records and the getters of JavaBeans,
+ * however deep they're nested.
+ *
+ * Records and JavaBeans with a component or property of a concrete class that
+ * JSON values aren't converted to, such as Optional, can't be bound either way,
+ * and are rejected the first time they're bound unless a converter to that
+ * class has been registered with registerConverter.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public interface JsonMapper {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Binds a JSON value to the given class.
+	 *
+	 * @param json
+	 *                        The JSON value to bind.
+	 * @param resultClass
+	 *                        The class to bind the JSON value to.
+	 * @throws ClassCastException
+	 *                                      If the JSON value can't be bound to the
+	 *                                      given class.
+	 * @throws IllegalArgumentException
+	 *                                      If the class of a record or JavaBean to
+	 *                                      bind has a component or property that
+	 *                                      can't be bound.
+	 * @return The JSON value bound to the given class.
+	 */
+	public <T> T fromJson(Json json, Class<T> resultClass);
+
+	/**
+	 * Binds a JSON value to the given generic type, such as List<T> or Map<String,
+	 * T>.
+	 *
+	 * @param json
+	 *                       The JSON value to bind.
+	 * @param resultType
+	 *                       The type to bind the JSON value to.
+	 * @throws ClassCastException
+	 *                                      If the JSON value can't be bound to the
+	 *                                      given type.
+	 * @throws IllegalArgumentException
+	 *                                      If the class of a record or JavaBean to
+	 *                                      bind has a component or property that
+	 *                                      can't be bound.
+	 * @return The JSON value bound to the given type.
+	 */
+	public <T> T fromJson(Json json, JsonTypeToken<T> resultType);
+
+	/**
+	 * Makes a Java object into a JSON value. Maps are made into JSON objects,
+	 * collections and arrays into JSON arrays, and records and JavaBeans into JSON
+	 * objects with a field for each of their components or properties.
+	 *
+	 * @param object
+	 *                   The object to make into a JSON value, which may be null.
+	 * @throws ClassCastException
+	 *                                      If the object can't be made into a JSON
+	 *                                      value.
+	 * @throws IllegalArgumentException
+	 *                                      If the class of a record or JavaBean to
+	 *                                      bind has a component or property that
+	 *                                      can't be bound, or if the object is
+	 *                                      nested in itself.
+	 * @return The object as a JSON value.
+	 */
+	public Json toJson(Object object);
+
+	/**
+	 * Registers a converter that Json.as and every mapper use to convert JSON
+	 * values to the given class, replacing the conversions to it there were before.
+	 * JSON nulls are still converted to null.
+	 *
+	 * @param resultClass
+	 *                        The class the converter converts to.
+	 * @param converter
+	 *                        The converter.
+	 */
+	public <T> void registerConverter(Class<T> resultClass, JsonConverter<? extends T> converter);
+
+}
@@ -0,0 +1,235 @@
+package api;
+
+import java.io.IOException;
+
+/**
+ * Reads JSON data from an input one token at a time, without building JSON
+ * values for it.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public interface JsonParser {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * An enumeration of the different tokens JSON data is made of.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	public static enum JsonToken {
+	/**
+	 * Represents the start of a JSON object, an opening curly bracket.
+	 */
+	START_OBJECT,
+	/**
+	 * Represents the end of a JSON object, a closing curly bracket.
+	 */
+	END_OBJECT,
+	/**
+	 * Represents the start of a JSON array, an opening square bracket.
+	 */
+	START_ARRAY,
+	/**
+	 * Represents the end of a JSON array, a closing square bracket.
+	 */
+	END_ARRAY,
+	/**
+	 * Represents the name of a field of a JSON object, a JSON string followed by a
+	 * colon.
+	 */
+	FIELD_NAME,
+	/**
+	 * Represents a JSON string value.
+	 */
+	STRING,
+	/**
+	 * Represents a JSON number value.
+	 */
+	NUMBER,
+	/**
+	 * Represents a JSON boolean with true value.
+	 */
+	TRUE,
+	/**
+	 * Represents a JSON boolean with false value.
+	 */
+	FALSE,
+	/**
+	 * Represents a JSON null value.
+	 */
+	NULL,
+	/**
+	 * Returned by parsers that are fed their input when the next token hasn't been
+	 * fed completely yet.
+	 */
+	NOT_AVAILABLE
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Advances to the next token. Several JSON values may follow each other in the
+	 * input, separated by whitespace.
+	 *
+	 * @return The next token, or null if the end of the input has been reached
+	 *         outside of any JSON value.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	public JsonToken nextToken() throws IOException;
+
+	/**
+	 * Gets the token the parser is at.
+	 *
+	 * @return The current token, or null if no token has been read yet or the end
+	 *         of the input has been reached.
+	 */
+	public JsonToken currentToken();
+
+	/**
+	 * Gets the name of the current field. This is the name just read if the current
+	 * token is a field name, or the name of the field the current value belongs to
+	 * if the current token is a value or the start of a structure right after a
+	 * field name.
+	 *
+	 * @return The name of the current field, or null if there's none.
+	 */
+	public String currentName();
+
+	/**
+	 * Gets the current number as a long, with the same conversion a JSON number
+	 * value would make.
+	 *
+	 * @throws IllegalStateException
+	 *                                   If the current token is not a number.
+	 * @return The current number as a long.
+	 */
+	public long getLong();
+
+	/**
+	 * Gets the current number as the closest double.
+	 *
+	 * @throws IllegalStateException
+	 *                                   If the current token is not a number.
+	 * @return The current number as a double.
+	 */
+	public double getDouble();
+
+	/**
+	 * Gets the current number in the same representation a JSON number value read
+	 * by this parser would hold.
+	 *
+	 * @throws IllegalStateException
+	 *                                   If the current token is not a number.
+	 * @return The current number.
+	 */
+	public Number getNumber();
+
+	/**
+	 * Gets the current string value or field name.
+	 *
+	 * @throws IllegalStateException
+	 *                                   If the current token is not a string or a
+	 *                                   field name.
+	 * @return The current string value or field name.
+	 */
+	public String getString();
+
+	/**
+	 * Skips the children of the current structure if the current token is the start
+	 * of an object or an array, leaving the parser at the matching end token. Does
+	 * nothing for any other token.
+	 *
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	public void skipChildren() throws IOException;
+
+	/**
+	 * Reads the next JSON value and gets the values the given paths lead to inside
+	 * of it. Only those values are built, and everything else is skipped looking at
+	 * brackets and strings alone. If the parser is inside an object, the field name
+	 * before the value is skipped too. A key repeated in an object leads to its
+	 * last value, the same as in the value read as a whole.
+	 *
+	 * @param paths
+	 *                  The paths to follow, from the value read.
+	 * @return For each path, the value it leads to, or null if there's none or the
+	 *         end of the input or of the current structure is reached instead.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found or a
+	 *                                      path has wildcards or slices.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	public Json[] extract(JsonPath... paths) throws IOException;
+
+	/**
+	 * Reads the next JSON value and reports its tokens to the given handler. If the
+	 * parser is inside an object, the field name before the value is reported too.
+	 * Nothing is reported if the end of the input or of the current structure is
+	 * reached instead, and the parser is left at that end.
+	 *
+	 * @param handler
+	 *                    The handler to report the tokens to.
+	 * @return Whether a value was read.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	public boolean parse(JsonHandler handler) throws IOException;
+
+	/**
+	 * Reads the next JSON value straight into the given class, without building it
+	 * as a JSON value first. Values are bound the same as Json.as binds them, and
+	 * fields of objects that match no component or property of a record or a
+	 * JavaBean are skipped. If the parser is inside an object, the field name
+	 * before the value is skipped too.
+	 *
+	 * @param resultClass
+	 *                        The class to read the value into.
+	 * @return The value read, or null if it's null or the end of the input or of
+	 *         the current structure is reached instead.
+	 * @throws ClassCastException
+	 *                                      If the value can't be bound to the given
+	 *                                      class.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	public <T> T read(Class<T> resultClass) throws IOException;
+
+	/**
+	 * Reads the next JSON value straight into the given generic type, such as
+	 * List<T> or Map<String, T>, the same as read(Class) does.
+	 *
+	 * @param resultType
+	 *                       The type to read the value into.
+	 * @return The value read, or null if it's null or the end of the input or of
+	 *         the current structure is reached instead.
+	 * @throws ClassCastException
+	 *                                      If the value can't be bound to the given
+	 *                                      type.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	public <T> T read(JsonTypeToken<T> resultType) throws IOException;
+
+}
@@ -0,0 +1,61 @@
+package api;
+
+import java.util.function.Consumer;
+
+/**
+ * A path of keys that leads from a JSON value to one of its descendants, the
+ * same keys Json.get takes. Names select a field of an object, and numbers or
+ * numeric strings select an element of an array. Paths may also have wildcards,
+ * which select every field or element, and slices, which select a range of
+ * elements.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public interface JsonPath {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Gets the number of keys of this path.
+	 *
+	 * @return The number of keys of this path.
+	 */
+	public int size();
+
+	/**
+	 * Gets the key at the given position of this path.
+	 *
+	 * @param index
+	 *                  The position of the key, from 0 to size() - 1.
+	 * @return The key at the given position.
+	 * @throws IndexOutOfBoundsException
+	 *                                       If the index is out of range.
+	 */
+	public Object get(int index);
+
+	/**
+	 * Follows this path on the given JSON value.
+	 *
+	 * @param json
+	 *                 The JSON value to follow this path from.
+	 * @return The first value this path leads to, or null if there's none.
+	 */
+	public Json evaluate(Json json);
+
+	/**
+	 * Follows this path on the given JSON value, performing the given action on
+	 * every value it leads to as they're found. Paths with wildcards or slices may
+	 * lead to many values.
+	 *
+	 * @param json
+	 *                   The JSON value to follow this path from.
+	 * @param action
+	 *                   The action to perform on every value this path leads to.
+	 */
+	public void forEach(Json json, Consumer<? super Json> action);
+
+}
@@ -1,6 +1,13 @@
 package api;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Reads a JSON structure from an input.
@@ -18,7 +25,8 @@ public interface JsonReader {
 	/**
 	 * Reads the next JSON structure.
 	 *
-	 * @return The next JSON structure.
+	 * @return The next JSON structure, or null if the end of the input has been
+	 *         reached.
 	 * @throws IllegalArgumentException
 	 *                                      If an unexpected character is found.
 	 * @throws IOException
@@ -26,4 +34,56 @@ public interface JsonReader {
 	 */
 	public Json read() throws IOException;
 
+	/**
+	 * Gets an Iterator over the JSON structures left in the input, each of them
+	 * read when it's reached. I/O errors are thrown as UncheckedIOException.
+	 * Unexpected characters are thrown as IllegalArgumentException, and iterating
+	 * can go on afterwards if the reader is able to resume after them.
+	 *
+	 * @return An Iterator over the JSON structures left in the input.
+	 */
+	public default Iterator<Json> iterator() {
+		return new Iterator<Json>() {
+
+			/**
+			 * The next JSON structure, once it has been read.
+			 */
+			private Json next;
+
+			@Override
+			public boolean hasNext() {
+				if (this.next == null) {
+					try {
+						this.next = JsonReader.this.read();
+					} catch (final IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+				return this.next != null;
+			}
+
+			@Override
+			public Json next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				final Json next = this.next;
+				this.next = null;
+				return next;
+			}
+
+		};
+	}
+
+	/**
+	 * Gets a sequential Stream over the JSON structures left in the input, in the
+	 * same order and with the same errors as iterator.
+	 *
+	 * @return A Stream over the JSON structures left in the input.
+	 */
+	public default Stream<Json> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this.iterator(),
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
 }
@@ -0,0 +1,67 @@
+package api;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Captures a generic type, such as List<String>, so that JSON values can be
+ * bound to it. The type is captured by subclassing this class with the type as
+ * its type argument, usually as an anonymous class:
+ *
+ * <pre>
+ * List<String> names = json.as(new JsonTypeToken<List<String>>() {});
+ * </pre>
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ * @param <T>
+ *                The type captured.
+ */
+public abstract class JsonTypeToken<T> {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The type captured.
+	 */
+	private final Type type;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Captures the type argument of the subclass being constructed.
+	 *
+	 * @throws IllegalStateException
+	 *                                   If the subclass doesn't give a type
+	 *                                   argument.
+	 */
+	protected JsonTypeToken() {
+		final Type superclass = this.getClass().getGenericSuperclass();
+		if (!(superclass instanceof ParameterizedType)) {
+			throw new IllegalStateException("JsonTypeToken constructed without a type argument");
+		}
+		this.type = ((ParameterizedType) superclass).getActualTypeArguments()[0];
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Gets the type captured.
+	 *
+	 * @return The type captured.
+	 */
+	public Type getType() {
+		return this.type;
+	}
+
+	@Override
+	public String toString() {
+		return this.type.getTypeName();
+	}
+
+}
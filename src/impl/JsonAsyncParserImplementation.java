@@ -0,0 +1,471 @@
+package impl;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+
+import api.Json;
+import api.JsonAsyncParser;
+import api.JsonHandler;
+import api.JsonPath;
+import api.JsonTypeToken;
+
+/**
+ * This is an implementation of the JsonAsyncParser interface.
+ *
+ * Fed bytes are scanned once for the ends of their tokens, looking only at
+ * quotes, escapes, brackets and the characters that end numbers and literals.
+ * The lexer is only given the bytes up to the end of the last complete token,
+ * so it never runs out of input in the middle of one, and the structure of the
+ * input is kept by the same state machine every other parser uses.
+ *
+ * @see api.JsonAsyncParser
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class JsonAsyncParserImplementation extends JsonUtf8ReaderImplementation implements JsonAsyncParser {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The chunks fed whose bytes haven't been given to the lexer yet.
+	 */
+	private final Queue<ByteBuffer> chunks;
+	/**
+	 * Number of bytes fed.
+	 */
+	private long fed;
+	/**
+	 * Number of bytes given to the lexer.
+	 */
+	private long given;
+	/**
+	 * Number of bytes up to the end of the last complete token.
+	 */
+	private long complete;
+	/**
+	 * Whether the scan is inside a string.
+	 */
+	private boolean isString;
+	/**
+	 * Whether the scan is right after a backslash inside a string.
+	 */
+	private boolean isEscaped;
+	/**
+	 * Whether the scan is inside a number or a literal.
+	 */
+	private boolean isScalar;
+	/**
+	 * Whether the end of the input has been signaled.
+	 */
+	private boolean isEndOfInput;
+	/**
+	 * Whether the last token handed out was NOT_AVAILABLE.
+	 */
+	private boolean isWaiting;
+	/**
+	 * The depth the structure being skipped ends at, or -1 if none is.
+	 */
+	private int skipDepth;
+	/**
+	 * The depth the value being reported to a handler ends at, or -1 if none is.
+	 */
+	private int parseDepth;
+	/**
+	 * The objects and arrays of the value being read, from the outermost.
+	 */
+	private final List<Object> structures;
+	/**
+	 * For each structure of the value being read, the name of its current field, or
+	 * null if it's an array.
+	 */
+	private final List<String> names;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a JsonAsyncParser with no input fed.
+	 */
+	public JsonAsyncParserImplementation() {
+		this.chunks = new ArrayDeque<>();
+		this.fed = 0;
+		this.given = 0;
+		this.complete = 0;
+		this.skipDepth = -1;
+		this.parseDepth = -1;
+		this.structures = new ArrayList<>();
+		this.names = new ArrayList<>();
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	@Override
+	public void feed(final ByteBuffer bytes) {
+		if (this.isEndOfInput) {
+			throw new IllegalStateException("The end of the input has already been signaled");
+		}
+		final byte[] chunk = new byte[bytes.remaining()];
+		bytes.get(chunk);
+		if (chunk.length == 0) {
+			return;
+		}
+		boolean isString = this.isString;
+		boolean isEscaped = this.isEscaped;
+		boolean isScalar = this.isScalar;
+		long complete = this.complete;
+		for (int index = 0; index < chunk.length; ++index) {
+			final byte current = chunk[index];
+			if (isString) {
+				if (isEscaped) {
+					isEscaped = false;
+				} else if (current == '\\') {
+					isEscaped = true;
+				} else if (current == '\"') {
+					isString = false;
+					complete = this.fed + index + 1;
+				}
+				continue;
+			}
+			final boolean isStructural = (current == '{') || (current == '}') || (current == '[') || (current == ']');
+			if ((current == '\"') || (current == ',') || (current == ':') || isStructural
+					|| Character.isWhitespace(current)) {
+				// Numbers and literals end at the first character that can't be part of them
+				if (isScalar) {
+					isScalar = false;
+					complete = this.fed + index;
+				}
+				if (current == '\"') {
+					isString = true;
+				} else if (isStructural) {
+					complete = this.fed + index + 1;
+				}
+			} else {
+				isScalar = true;
+			}
+		}
+		this.isString = isString;
+		this.isEscaped = isEscaped;
+		this.isScalar = isScalar;
+		this.complete = complete;
+		this.fed += chunk.length;
+		this.chunks.add(ByteBuffer.wrap(chunk));
+	}
+
+	@Override
+	public void endOfInput() {
+		this.isEndOfInput = true;
+		this.complete = this.fed;
+	}
+
+	@Override
+	ByteBuffer nextByteBuffer() {
+		if (this.given == this.complete) {
+			return null;
+		}
+		final ByteBuffer chunk = this.chunks.peek();
+		final int count = (int) Math.min(chunk.remaining(), this.complete - this.given);
+		final ByteBuffer next = chunk.duplicate();
+		next.limit(next.position() + count);
+		chunk.position(chunk.position() + count);
+		if (!chunk.hasRemaining()) {
+			this.chunks.remove();
+		}
+		this.given += count;
+		return next;
+	}
+
+	/**
+	 * Checks whether the next token has been fed completely, or the end of the
+	 * input has been signaled.
+	 *
+	 * @return Whether the next token can be read.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private boolean isAvailable() throws IOException {
+		return (this.skipWhitespace() >= 0) || this.isEndOfInput;
+	}
+
+	/**
+	 * Skips the tokens fed of the structure being skipped.
+	 *
+	 * @return Whether the structure has been skipped completely.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private boolean skipFed() throws IOException {
+		while ((this.skipDepth >= 0) && this.isAvailable()) {
+			this.next();
+			if (this.depth() == this.skipDepth) {
+				this.skipDepth = -1;
+			}
+		}
+		return this.skipDepth < 0;
+	}
+
+	/**
+	 * Reads the next token if it has been fed completely.
+	 *
+	 * @return The token read, NOT_AVAILABLE if it hasn't been fed completely yet,
+	 *         or null if the end of the input has been reached.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@Override
+	public JsonToken nextToken() throws IOException {
+		this.isWaiting = !this.skipFed() || !this.isAvailable();
+		if (this.isWaiting) {
+			return JsonToken.NOT_AVAILABLE;
+		}
+		return super.nextToken();
+	}
+
+	@Override
+	public JsonToken currentToken() {
+		return this.isWaiting ? JsonToken.NOT_AVAILABLE : super.currentToken();
+	}
+
+	/**
+	 * Skips the children of the current structure if the current token is the start
+	 * of an object or an array. If the structure hasn't been fed completely, the
+	 * rest of it is skipped as it's fed, and nextToken returns NOT_AVAILABLE until
+	 * then.
+	 *
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@Override
+	public void skipChildren() throws IOException {
+		final JsonToken token = this.currentToken();
+		if ((token == JsonToken.START_OBJECT) || (token == JsonToken.START_ARRAY)) {
+			this.skipDepth = this.depth() - 1;
+			this.skipFed();
+		}
+	}
+
+	/**
+	 * Reads the next JSON value if it has been fed completely, and gets the values
+	 * the given paths lead to inside of it. The structures of a value that has only
+	 * been fed partially are kept, the same as read keeps them, so that extracting
+	 * goes on from them once more input is fed.
+	 *
+	 * @param paths
+	 *                  The paths to follow, from the value read.
+	 * @return For each path, the value it leads to, or null if there's none or the
+	 *         end of the input or of the current structure is reached instead. If
+	 *         the value hasn't been fed completely yet, null is returned instead of
+	 *         the array and the current token is NOT_AVAILABLE.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found or a
+	 *                                      path has wildcards or slices.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@Override
+	public Json[] extract(final JsonPath... paths) throws IOException {
+		final JsonPathImplementation[] compiled = new JsonPathImplementation[paths.length];
+		for (int index = 0; index < paths.length; ++index) {
+			compiled[index] = JsonPathImplementation.of(paths[index]);
+			if (!compiled[index].isDefinite()) {
+				throw new IllegalArgumentException("Path " + compiled[index] + " may lead to more than one value");
+			}
+		}
+		final Json value = this.readFed();
+		if ((value == null) && this.isWaiting) {
+			return null;
+		}
+		final Json[] results = new Json[paths.length];
+		if (value != null) {
+			for (int index = 0; index < paths.length; ++index) {
+				results[index] = compiled[index].evaluate(value);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Gets an Iterator over the JSON values left in the input. Since read returns
+	 * null both at the end of the input and while the next value hasn't been fed
+	 * completely, the values can only be iterated over once the end of the input
+	 * has been signaled.
+	 *
+	 * @throws IllegalStateException
+	 *                                   If the end of the input hasn't been
+	 *                                   signaled.
+	 */
+	@Override
+	public Iterator<Json> iterator() {
+		if (!this.isEndOfInput) {
+			throw new IllegalStateException("Values can only be iterated over once the end of the input is signaled");
+		}
+		return JsonAsyncParser.super.iterator();
+	}
+
+	/**
+	 * Reads the next JSON value into the given class if it has been fed completely,
+	 * binding it from the tree it's read into. The structures of a value that has
+	 * only been fed partially are kept, the same as read keeps them.
+	 *
+	 * @param resultClass
+	 *                        The class to read the value into.
+	 * @return The value read, or null if it hasn't been fed completely yet, in
+	 *         which case the current token is NOT_AVAILABLE, or if the end of the
+	 *         input or of the current structure has been reached.
+	 * @throws ClassCastException
+	 *                                      If the value can't be bound to the
+	 *                                      class.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@Override
+	public <T> T read(final Class<T> resultClass) throws IOException {
+		return this.readAs(resultClass);
+	}
+
+	/**
+	 * Reads the next JSON value into the given type if it has been fed completely,
+	 * the same way it's read into a class.
+	 *
+	 * @param resultType
+	 *                       The type to read the value into.
+	 * @return The value read, or null if it hasn't been fed completely yet, in
+	 *         which case the current token is NOT_AVAILABLE, or if the end of the
+	 *         input or of the current structure has been reached.
+	 * @throws ClassCastException
+	 *                                      If the value can't be bound to the type.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@Override
+	public <T> T read(final JsonTypeToken<T> resultType) throws IOException {
+		return this.readAs(resultType.getType());
+	}
+
+	/**
+	 * Reads the next JSON value into the given type if it has been fed completely.
+	 * Values can't be read straight into the type, since their tokens may be fed in
+	 * many chunks, so they're read into trees first.
+	 *
+	 * @param type
+	 *                 The type to read the value into.
+	 * @return The value read, or null if it hasn't been fed completely yet or the
+	 *         end of the input or of the current structure has been reached.
+	 * @throws ClassCastException
+	 *                                      If the value can't be bound to the type.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T readAs(final Type type) throws IOException {
+		final Json value = this.readFed();
+		return value != null ? (T) JsonBindings.fromJson(value, type) : null;
+	}
+
+	/**
+	 * Reports the tokens of the next JSON value that have been fed to the given
+	 * handler. If the value hasn't been fed completely, the rest of its tokens are
+	 * reported by the next calls, as they're fed.
+	 *
+	 * @param handler
+	 *                    The handler to report the tokens to.
+	 * @return Whether the value has been reported completely. If it hasn't been fed
+	 *         completely yet, false is returned and the current token is
+	 *         NOT_AVAILABLE, which tells it apart from the end of the input or of
+	 *         the current structure.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@Override
+	public boolean parse(final JsonHandler handler) throws IOException {
+		this.isWaiting = !this.skipFed();
+		while (!this.isWaiting && this.isAvailable()) {
+			final int depth = this.depth();
+			final JsonToken token = this.next();
+			if (this.parseDepth < 0) {
+				if (token == JsonToken.FIELD_NAME) {
+					this.report(token, handler);
+					continue;
+				}
+				if ((token == null) || (this.depth() < depth)) {
+					return false;
+				}
+				this.parseDepth = depth;
+			}
+			this.report(token, handler);
+			if (this.depth() == this.parseDepth) {
+				this.parseDepth = -1;
+				return true;
+			}
+		}
+		this.isWaiting = true;
+		return false;
+	}
+
+	/**
+	 * Reads the next JSON value if it has been fed completely. The structures of a
+	 * value that has only been fed partially are kept, so that reading goes on from
+	 * them once more input is fed.
+	 *
+	 * @return The next JSON value, or null if it hasn't been fed completely yet or
+	 *         the end of the input or of the current structure has been reached.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@Override
+	public Json read() throws IOException {
+		this.checkRoot();
+		return this.readFed();
+	}
+
+	/**
+	 * Reads the next JSON value, which may be of any type outside of a structure,
+	 * if it has been fed completely.
+	 *
+	 * @return The next JSON value, or null if it hasn't been fed completely yet or
+	 *         the end of the input or of the current structure has been reached.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private Json readFed() throws IOException {
+		JsonToken token = this.nextToken();
+		if (this.structures.isEmpty() && (token == JsonToken.FIELD_NAME)) {
+			token = this.nextToken();
+		}
+		if ((token == null) || (token == JsonToken.NOT_AVAILABLE)) {
+			return null;
+		}
+		if (this.structures.isEmpty() && ((token == JsonToken.END_OBJECT) || (token == JsonToken.END_ARRAY))) {
+			return null;
+		}
+		return this.readTree(token, this.structures, this.names);
+	}
+
+}
@@ -0,0 +1,1647 @@
+package impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import api.Json;
+import api.Json.JsonType;
+import api.JsonParser.JsonToken;
+
+/**
+ * The bindings between JSON values and records, JavaBeans and generic types,
+ * shared by every JSON value and mapper.
+ *
+ * The binding of each record or JavaBean class is worked out the first time
+ * that class is bound, as method handles to its constructor and to the
+ * accessors of each of its components or properties along with the decoder of
+ * the type of each, and kept with the class. Binding an object then only calls
+ * those handles, without any reflection. Decoders of generic types are worked
+ * out the same way the first time each type is bound.
+ *
+ * Values can also be read from a parser straight into a type by the reader of
+ * the type, without building them as JSON values first. The readers of records
+ * and JavaBeans match field names against a table of the names of their
+ * components or properties by the characters read, and skip the fields that
+ * match none without making anything of them.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonBindings {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * The lookup the method handles of bindings are made with.
+	 */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	/**
+	 * Largest number of records and JavaBeans nested in each other that are bound
+	 * at once. Binding them calls the binding of each nested one, so the limit
+	 * keeps deeper values from overflowing the call stack.
+	 */
+	static final int MAX_DEPTH = 256;
+	/**
+	 * Number of records and JavaBeans being bound by each thread, nested in each
+	 * other.
+	 */
+	private static final ThreadLocal<int[]> DEPTHS = ThreadLocal.withInitial(() -> new int[1]);
+	/**
+	 * The binding of each class, or null if it isn't a record or a JavaBean.
+	 */
+	private static final ClassValue<Binding> BINDINGS = new ClassValue<Binding>() {
+
+		@Override
+		protected Binding computeValue(final Class<?> type) {
+			return JsonBindings.binding(type);
+		}
+
+	};
+	/**
+	 * The decoders of the generic types bound so far, by type.
+	 */
+	private static final Map<Type, Decoder> DECODERS = new ConcurrentHashMap<>();
+	/**
+	 * The reader of each class.
+	 */
+	private static final ClassValue<Reader> READERS = new ClassValue<Reader>() {
+
+		@Override
+		protected Reader computeValue(final Class<?> type) {
+			return JsonBindings.classReader(type);
+		}
+
+	};
+	/**
+	 * The readers of the generic types read so far, by type.
+	 */
+	private static final Map<Type, Reader> GENERIC_READERS = new ConcurrentHashMap<>();
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * This class is not meant to be instanced.
+	 */
+	private JsonBindings() {
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Gets the binding of the given class.
+	 *
+	 * @param type
+	 *                 A class.
+	 * @return The binding of the class, or null if it isn't a record or a JavaBean.
+	 */
+	static Binding of(final Class<?> type) {
+		return JsonBindings.BINDINGS.get(type);
+	}
+
+	/**
+	 * Binds a JSON value to the given type.
+	 *
+	 * @param json
+	 *                 The JSON value to bind.
+	 * @param type
+	 *                 The type to bind the JSON value to.
+	 * @return The JSON value bound to the given type.
+	 * @throws ClassCastException
+	 *                                If the JSON value can't be bound to the type.
+	 */
+	static Object fromJson(final Json json, final Type type) {
+		if (type instanceof Class) {
+			return json.as((Class<?>) type);
+		}
+		return JsonBindings.decoder(type).decode(json);
+	}
+
+	/**
+	 * Makes a Java object into a JSON value. The maps, collections, arrays, records
+	 * and JavaBeans being made into JSON structures are kept in a stack of their
+	 * own instead of the call stack, so that objects can be nested however deep.
+	 *
+	 * @param object
+	 *                   The object, which may be null.
+	 * @return The object as a JSON value.
+	 * @throws ClassCastException
+	 *                                      If the object can't be made into a JSON
+	 *                                      value.
+	 * @throws IllegalArgumentException
+	 *                                      If the object is a record or a JavaBean
+	 *                                      with a component or property of a type
+	 *                                      that can't be bound, or if it's nested
+	 *                                      in itself.
+	 */
+	static Json toJson(final Object object) {
+		final Object root = JsonBindings.start(object);
+		if (!(root instanceof Structure)) {
+			return (Json) root;
+		}
+		final Deque<Structure> structures = new ArrayDeque<>();
+		// Objects that are being made into structures are tracked by identity, since an
+		// object nested in itself would be made into structures forever
+		final Set<Object> objects = Collections.newSetFromMap(new IdentityHashMap<>());
+		structures.push((Structure) root);
+		objects.add(((Structure) root).object);
+		while (true) {
+			final Structure structure = structures.peek();
+			if (structure.children.hasNext()) {
+				final Object child = JsonBindings.start(structure.next());
+				if (child instanceof Structure) {
+					if (!objects.add(((Structure) child).object)) {
+						throw new IllegalArgumentException(((Structure) child).object.getClass().getName()
+								+ " is nested in itself and can't be made into a JSON value");
+					}
+					structures.push((Structure) child);
+				} else {
+					structure.add((Json) child);
+				}
+				continue;
+			}
+			structures.pop();
+			objects.remove(structure.object);
+			final Json json = structure.finish();
+			if (structures.isEmpty()) {
+				return json;
+			}
+			structures.peek().add(json);
+		}
+	}
+
+	/**
+	 * Starts making a Java object into a JSON value.
+	 *
+	 * @param object
+	 *                   The object, which may be null.
+	 * @return The object as a JSON value, or the structure it's made into if it's a
+	 *         map, a collection, an array of objects, a record or a JavaBean.
+	 * @throws ClassCastException
+	 *                                      If the object can't be made into a JSON
+	 *                                      value.
+	 * @throws IllegalArgumentException
+	 *                                      If the object is a record or a JavaBean
+	 *                                      with a component or property of a type
+	 *                                      that can't be bound.
+	 */
+	private static Object start(final Object object) {
+		if (object instanceof Json) {
+			return object;
+		}
+		switch (JsonImplementation.kindOf(object)) {
+		case JsonImplementation.OBJECT_VALUE:
+		case JsonImplementation.ARRAY_VALUE:
+		case JsonImplementation.OTHER_VALUE:
+			break;
+		default:
+			// Strings, numbers, booleans and null are already internal values
+			return new JsonImplementation(object);
+		}
+		if (object instanceof Map) {
+			return new Structure(object, new JsonCompactMap(), ((Map<?, ?>) object).entrySet().iterator());
+		} else if (object instanceof Iterable) {
+			return new Structure(object, new ArrayList<>(), ((Iterable<?>) object).iterator());
+		} else if (object instanceof long[]) {
+			// Arrays of numbers are packed the same as they would be read
+			final JsonNumberList list = new JsonNumberList();
+			for (final long element : (long[]) object) {
+				list.add(element);
+			}
+			list.trim();
+			return new JsonImplementation(list);
+		} else if (object instanceof int[]) {
+			final JsonNumberList list = new JsonNumberList();
+			for (final int element : (int[]) object) {
+				list.add(element);
+			}
+			list.trim();
+			return new JsonImplementation(list);
+		} else if (object instanceof double[]) {
+			final JsonNumberList list = new JsonNumberList();
+			for (final double element : (double[]) object) {
+				list.add(element);
+			}
+			list.trim();
+			return new JsonImplementation(list);
+		} else if (object instanceof Object[]) {
+			final Object[] array = (Object[]) object;
+			return new Structure(object, new ArrayList<>(array.length), Arrays.asList(array).iterator());
+		} else if (object.getClass().isArray()) {
+			final int length = Array.getLength(object);
+			final List<Json> list = new ArrayList<>(length);
+			for (int index = 0; index < length; ++index) {
+				// Arrays of other primitives only hold numbers, booleans and characters
+				list.add((Json) JsonBindings.start(Array.get(object, index)));
+			}
+			return new JsonImplementation(list);
+		} else if (object instanceof Number) {
+			// Numbers of other classes are kept with every digit
+			return new JsonImplementation(new BigDecimal(object.toString()));
+		} else if (object instanceof Enum) {
+			return new JsonImplementation(((Enum<?>) object).name());
+		} else if ((object instanceof CharSequence) || (object instanceof Character)) {
+			return new JsonImplementation(object.toString());
+		}
+		final Binding binding = JsonBindings.of(object.getClass());
+		if (binding == null) {
+			throw new ClassCastException(object.getClass().getName() + " can't be made into a JSON value");
+		}
+		return new Structure(object, new JsonCompactMap(), binding.fields(object).iterator());
+	}
+
+	/**
+	 * Gets the decoder of the given type.
+	 *
+	 * @param type
+	 *                 A type.
+	 * @return The decoder of the type.
+	 */
+	static Decoder decoder(final Type type) {
+		if (type instanceof Class) {
+			final Class<?> resultClass = (Class<?>) type;
+			return json -> json.as(resultClass);
+		}
+		Decoder decoder = JsonBindings.DECODERS.get(type);
+		if (decoder == null) {
+			// Decoders of the type arguments are gotten while the decoder is made, so
+			// it's made outside of the map
+			decoder = JsonBindings.newDecoder(type);
+			final Decoder previous = JsonBindings.DECODERS.putIfAbsent(type, decoder);
+			if (previous != null) {
+				decoder = previous;
+			}
+		}
+		return decoder;
+	}
+
+	/**
+	 * Makes the decoder of the given generic type.
+	 *
+	 * @param type
+	 *                 A type that isn't a class.
+	 * @return The decoder of the type.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Decoder newDecoder(final Type type) {
+		if (type instanceof ParameterizedType) {
+			final Class<?> rawClass = (Class<?>) ((ParameterizedType) type).getRawType();
+			final Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+			if (Map.class.isAssignableFrom(rawClass)) {
+				final Supplier<Map<Object, Object>> factory = JsonBindings.mapFactory(rawClass);
+				if (factory != null) {
+					final Decoder keys = arguments[0] == String.class ? null : JsonBindings.decoder(arguments[0]);
+					final Decoder values = JsonBindings.decoder(arguments[1]);
+					return json -> {
+						if (json.getType() == JsonType.NULL) {
+							return null;
+						} else if (json.getType() != JsonType.OBJECT) {
+							throw new ClassCastException("JSON value is not an object");
+						}
+						final Map<Object, Object> map = factory.get();
+						json.forEach((key, value) -> map.put(
+								keys == null ? key : keys.decode(new JsonImplementation(key)), values.decode(value)));
+						return map;
+					};
+				}
+			} else if (Collection.class.isAssignableFrom(rawClass) || (rawClass == Iterable.class)) {
+				final Supplier<Collection<Object>> factory = JsonBindings.collectionFactory(rawClass);
+				if (factory != null) {
+					final Decoder elements = JsonBindings.decoder(arguments[0]);
+					return json -> {
+						if (json.getType() == JsonType.NULL) {
+							return null;
+						} else if (json.getType() != JsonType.ARRAY) {
+							throw new ClassCastException("JSON value is not an array");
+						}
+						final Collection<Object> collection = factory.get();
+						for (final Json element : json.values()) {
+							collection.add(elements.decode(element));
+						}
+						return collection;
+					};
+				}
+			}
+			// Other generic classes are bound the same as their raw class
+			return JsonBindings.decoder(rawClass);
+		} else if (type instanceof GenericArrayType) {
+			final Type componentType = ((GenericArrayType) type).getGenericComponentType();
+			final Class<?> componentClass = JsonBindings.rawClass(componentType);
+			final Decoder elements = JsonBindings.decoder(componentType);
+			return json -> {
+				if (json.getType() == JsonType.NULL) {
+					return null;
+				}
+				final Collection<Json> values = json.values();
+				final Object array = Array.newInstance(componentClass, values.size());
+				int index = 0;
+				for (final Json value : values) {
+					Array.set(array, index, elements.decode(value));
+					++index;
+				}
+				return array;
+			};
+		}
+		// Wildcards and type variables are bound the same as their bound
+		return JsonBindings.decoder(JsonBindings.rawClass(type));
+	}
+
+	/**
+	 * Reads the JSON value starting at the given token straight into the given
+	 * type, without building it as a JSON value first.
+	 *
+	 * @param parser
+	 *                   The parser to read from.
+	 * @param token
+	 *                   The token the value starts at.
+	 * @param type
+	 *                   The type to read the value into.
+	 * @return The value read.
+	 * @throws ClassCastException
+	 *                                      If the value can't be bound to the type.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	static Object read(final JsonParserImplementation parser, final JsonToken token, final Type type)
+			throws IOException {
+		if (type instanceof Class) {
+			return JsonBindings.READERS.get((Class<?>) type).read(parser, token);
+		}
+		return JsonBindings.reader(type).read(parser, token);
+	}
+
+	/**
+	 * Forgets the reader of the given class, so that it's worked out again the next
+	 * time it's read. Readers are worked out again when a converter is registered
+	 * for their class.
+	 *
+	 * @param type
+	 *                 A class.
+	 */
+	static void forget(final Class<?> type) {
+		JsonBindings.READERS.remove(type);
+	}
+
+	/**
+	 * Gets the reader of the given type. The reader of a class looks up the current
+	 * reader of that class each time it's used.
+	 *
+	 * @param type
+	 *                 A type.
+	 * @return The reader of the type.
+	 */
+	static Reader reader(final Type type) {
+		if (type instanceof Class) {
+			final Class<?> resultClass = (Class<?>) type;
+			return (parser, token) -> JsonBindings.READERS.get(resultClass).read(parser, token);
+		}
+		Reader reader = JsonBindings.GENERIC_READERS.get(type);
+		if (reader == null) {
+			reader = JsonBindings.genericReader(type);
+			final Reader previous = JsonBindings.GENERIC_READERS.putIfAbsent(type, reader);
+			if (previous != null) {
+				reader = previous;
+			}
+		}
+		return reader;
+	}
+
+	/**
+	 * Works out the reader of the given class. Longs, ints, doubles, booleans and
+	 * strings are taken from the parser without making a JSON value, as are
+	 * records, JavaBeans and arrays, which are read field by field or element by
+	 * element. Any other value is built and converted with Json.as, and so are the
+	 * values these classes are converted from that aren't their usual kind.
+	 *
+	 * @param type
+	 *                 A class.
+	 * @return The reader of the class.
+	 */
+	private static Reader classReader(final Class<?> type) {
+		final Reader converted = (parser, token) -> token == JsonToken.NULL ? null : parser.readTree(token).as(type);
+		if (JsonConverters.isRegistered(type)) {
+			return converted;
+		}
+		switch (type.getName()) {
+		case "long":
+		case "java.lang.Long":
+			return (parser, token) -> token == JsonToken.NUMBER ? (Object) parser.getLong()
+					: converted.read(parser, token);
+		case "int":
+		case "java.lang.Integer":
+			return (parser, token) -> token == JsonToken.NUMBER ? (Object) (int) parser.getLong()
+					: converted.read(parser, token);
+		case "double":
+		case "java.lang.Double":
+			return (parser, token) -> token == JsonToken.NUMBER ? (Object) parser.getDouble()
+					: converted.read(parser, token);
+		case "boolean":
+		case "java.lang.Boolean":
+			return (parser, token) -> token == JsonToken.TRUE ? Boolean.TRUE
+					: token == JsonToken.FALSE ? Boolean.FALSE : converted.read(parser, token);
+		case "java.lang.CharSequence":
+		case "java.lang.String":
+			return (parser, token) -> token == JsonToken.STRING ? parser.getString() : converted.read(parser, token);
+		default:
+			break;
+		}
+		final Binding binding = JsonBindings.of(type);
+		if (binding != null) {
+			return binding::read;
+		} else if (type.isArray()) {
+			final Class<?> componentType = type.getComponentType();
+			final Reader elements = JsonBindings.reader(componentType);
+			return (parser, token) -> {
+				if (token != JsonToken.START_ARRAY) {
+					return converted.read(parser, token);
+				}
+				final List<Object> list = new ArrayList<>();
+				for (JsonToken next = parser.next(); next != JsonToken.END_ARRAY; next = parser.next()) {
+					final Object element = elements.read(parser, next);
+					if ((element == null) && componentType.isPrimitive()) {
+						// Nulls can't be set into arrays of primitives
+						throw JsonConverters.cannotConvert(componentType);
+					}
+					list.add(element);
+				}
+				final Object array = Array.newInstance(componentType, list.size());
+				for (int index = 0; index < list.size(); ++index) {
+					Array.set(array, index, list.get(index));
+				}
+				return array;
+			};
+		}
+		return converted;
+	}
+
+	/**
+	 * Works out the reader of the given generic type, the same way its decoder is
+	 * worked out.
+	 *
+	 * @param type
+	 *                 A type that isn't a class.
+	 * @return The reader of the type.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Reader genericReader(final Type type) {
+		if (type instanceof ParameterizedType) {
+			final Class<?> rawClass = (Class<?>) ((ParameterizedType) type).getRawType();
+			final Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+			if (Map.class.isAssignableFrom(rawClass)) {
+				final Supplier<Map<Object, Object>> factory = JsonBindings.mapFactory(rawClass);
+				if (factory != null) {
+					final Decoder keys = arguments[0] == String.class ? null : JsonBindings.decoder(arguments[0]);
+					final Reader values = JsonBindings.reader(arguments[1]);
+					return (parser, token) -> {
+						if (token == JsonToken.NULL) {
+							return null;
+						} else if (token != JsonToken.START_OBJECT) {
+							throw new ClassCastException("JSON value is not an object");
+						}
+						final Map<Object, Object> map = factory.get();
+						while (parser.nextToken() == JsonToken.FIELD_NAME) {
+							final String key = parser.currentName();
+							map.put(keys == null ? key : keys.decode(new JsonImplementation(key)),
+									values.read(parser, parser.next()));
+						}
+						return map;
+					};
+				}
+			} else if (Collection.class.isAssignableFrom(rawClass) || (rawClass == Iterable.class)) {
+				final Supplier<Collection<Object>> factory = JsonBindings.collectionFactory(rawClass);
+				if (factory != null) {
+					final Reader elements = JsonBindings.reader(arguments[0]);
+					return (parser, token) -> {
+						if (token == JsonToken.NULL) {
+							return null;
+						} else if (token != JsonToken.START_ARRAY) {
+							throw new ClassCastException("JSON value is not an array");
+						}
+						final Collection<Object> collection = factory.get();
+						for (JsonToken next = parser.next(); next != JsonToken.END_ARRAY; next = parser.next()) {
+							collection.add(elements.read(parser, next));
+						}
+						return collection;
+					};
+				}
+			}
+			return JsonBindings.reader(rawClass);
+		} else if (type instanceof GenericArrayType) {
+			final Type componentType = ((GenericArrayType) type).getGenericComponentType();
+			final Class<?> componentClass = JsonBindings.rawClass(componentType);
+			final Reader elements = JsonBindings.reader(componentType);
+			return (parser, token) -> {
+				if (token == JsonToken.NULL) {
+					return null;
+				} else if (token != JsonToken.START_ARRAY) {
+					throw new ClassCastException("JSON value is not an array");
+				}
+				final List<Object> list = new ArrayList<>();
+				for (JsonToken next = parser.next(); next != JsonToken.END_ARRAY; next = parser.next()) {
+					list.add(elements.read(parser, next));
+				}
+				final Object array = Array.newInstance(componentClass, list.size());
+				for (int index = 0; index < list.size(); ++index) {
+					Array.set(array, index, list.get(index));
+				}
+				return array;
+			};
+		}
+		return JsonBindings.reader(JsonBindings.rawClass(type));
+	}
+
+	/**
+	 * Finds the map made for values bound to the given class of map.
+	 *
+	 * @param rawClass
+	 *                     A class of map.
+	 * @return A factory of the map, or null if there's none that is of the class.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Supplier<Map<Object, Object>> mapFactory(final Class<?> rawClass) {
+		return rawClass.isAssignableFrom(LinkedHashMap.class) ? (Supplier) LinkedHashMap::new
+				: rawClass.isAssignableFrom(TreeMap.class) ? (Supplier) TreeMap::new : null;
+	}
+
+	/**
+	 * Finds the collection made for values bound to the given class of collection.
+	 *
+	 * @param rawClass
+	 *                     A class of collection.
+	 * @return A factory of the collection, or null if there's none that is of the
+	 *         class.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Supplier<Collection<Object>> collectionFactory(final Class<?> rawClass) {
+		return rawClass.isAssignableFrom(ArrayList.class) ? (Supplier) ArrayList::new
+				: rawClass.isAssignableFrom(LinkedHashSet.class) ? (Supplier) LinkedHashSet::new
+						: rawClass.isAssignableFrom(TreeSet.class) ? (Supplier) TreeSet::new
+								: rawClass.isAssignableFrom(ArrayDeque.class) ? (Supplier) ArrayDeque::new : null;
+	}
+
+	/**
+	 * Spreads a hash so that its high bits matter too.
+	 *
+	 * @param hash
+	 *                 A hash.
+	 * @return The hash spread.
+	 */
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Finds the class values of the given type are instances of.
+	 *
+	 * @param type
+	 *                 A type.
+	 * @return The class of the type, or the class of its first bound if it's a
+	 *         wildcard or a type variable.
+	 */
+	private static Class<?> rawClass(final Type type) {
+		if (type instanceof Class) {
+			return (Class<?>) type;
+		} else if (type instanceof ParameterizedType) {
+			return (Class<?>) ((ParameterizedType) type).getRawType();
+		} else if (type instanceof GenericArrayType) {
+			final Type componentType = ((GenericArrayType) type).getGenericComponentType();
+			return Array.newInstance(JsonBindings.rawClass(componentType), 0).getClass();
+		} else if (type instanceof WildcardType) {
+			return JsonBindings.rawClass(((WildcardType) type).getUpperBounds()[0]);
+		} else if (type instanceof TypeVariable) {
+			return JsonBindings.rawClass(((TypeVariable<?>) type).getBounds()[0]);
+		}
+		return Object.class;
+	}
+
+	/**
+	 * Works out the binding of the given class.
+	 *
+	 * @param type
+	 *                 A class.
+	 * @return The binding of the class, or null if it isn't a record or a JavaBean,
+	 *         or if its constructor or accessors can't be accessed.
+	 * @throws IllegalArgumentException
+	 *                                      If any of its components or properties
+	 *                                      is of a type that can't be bound.
+	 */
+	private static Binding binding(final Class<?> type) {
+		try {
+			if (type.isRecord()) {
+				return new RecordBinding(type);
+			} else if (JsonBindings.isBean(type)) {
+				return new BeanBinding(type);
+			}
+			return null;
+		} catch (final IllegalArgumentException e) {
+			// Classes with components that can't be bound are rejected rather than left
+			// unbound, and since the exception isn't kept they're checked again once a
+			// converter is registered
+			throw e;
+		} catch (final ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks whether values of the given type can be bound both from and to JSON
+	 * values, which they can unless its class is a concrete class that JSON values
+	 * aren't converted to, such as Optional, and no converter has been registered
+	 * for it. The classes of arrays and the type arguments of maps and collections
+	 * are checked too.
+	 *
+	 * @param type
+	 *                 The type of a component or property.
+	 * @return Whether values of the type can be bound.
+	 */
+	private static boolean isBindable(final Type type) {
+		final Class<?> rawClass = JsonBindings.rawClass(type);
+		if (rawClass.isArray()) {
+			return JsonBindings.isBindable(type instanceof GenericArrayType
+					? ((GenericArrayType) type).getGenericComponentType()
+					: rawClass.getComponentType());
+		} else if ((type instanceof ParameterizedType)
+				&& (Map.class.isAssignableFrom(rawClass) || Iterable.class.isAssignableFrom(rawClass))) {
+			for (final Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+				if (!JsonBindings.isBindable(argument)) {
+					return false;
+				}
+			}
+			return true;
+		} else if (rawClass.isPrimitive() || rawClass.isInterface() || Modifier.isAbstract(rawClass.getModifiers())
+				|| (rawClass == Object.class) || rawClass.isEnum() || rawClass.isRecord()) {
+			// Values of abstract types are bound by the class each of them has
+			return true;
+		}
+		return Number.class.isAssignableFrom(rawClass) || (rawClass == Boolean.class)
+				|| (rawClass == Character.class) || CharSequence.class.isAssignableFrom(rawClass)
+				|| Map.class.isAssignableFrom(rawClass) || Iterable.class.isAssignableFrom(rawClass)
+				|| Json.class.isAssignableFrom(rawClass) || JsonConverters.isRegistered(rawClass)
+				|| JsonBindings.isBean(rawClass);
+	}
+
+	/**
+	 * Checks whether the given class may be a JavaBean, which it is if it's a
+	 * concrete class outside of the Java platform that can be constructed without
+	 * parameters. Whether it has any setter is checked once its properties are
+	 * found.
+	 *
+	 * @param type
+	 *                 A class.
+	 * @return Whether the class may be a JavaBean.
+	 */
+	private static boolean isBean(final Class<?> type) {
+		if (type.isPrimitive() || type.isArray() || type.isInterface() || type.isEnum()
+				|| Modifier.isAbstract(type.getModifiers())) {
+			return false;
+		}
+		final String name = type.getName();
+		if (name.startsWith("java.") || name.startsWith("javax.")) {
+			return false;
+		}
+		for (final Constructor<?> constructor : type.getDeclaredConstructors()) {
+			if (constructor.getParameterCount() == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Makes the given constructor, method or field accessible if it can, so that
+	 * method handles to members of classes that aren't public can be made.
+	 *
+	 * @param member
+	 *                   A constructor, method or field.
+	 */
+	private static void access(final AccessibleObject member) {
+		try {
+			member.setAccessible(true);
+		} catch (final RuntimeException e) {
+			// Members that can't be made accessible are left as they are, and can still be
+			// used if they're public
+		}
+	}
+
+	/**
+	 * Finds the name of the property of a getter or setter, without its prefix and
+	 * with its first letter lowercased unless its first two letters are uppercase.
+	 *
+	 * @param methodName
+	 *                         The name of the getter or setter.
+	 * @param prefixLength
+	 *                         The length of its prefix.
+	 * @return The name of the property.
+	 */
+	private static String propertyName(final String methodName, final int prefixLength) {
+		final String name = methodName.substring(prefixLength);
+		if ((name.length() > 1) && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) {
+			return name;
+		}
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	/**
+	 * Counts a record or JavaBean that starts being bound by the current thread,
+	 * which must be discounted once it's bound.
+	 *
+	 * @return The number of records and JavaBeans being bound by the current
+	 *         thread, in the first element of the array.
+	 * @throws ClassCastException
+	 *                                If MAX_DEPTH records or JavaBeans are already
+	 *                                being bound.
+	 */
+	private static int[] enter() {
+		final int[] depth = JsonBindings.DEPTHS.get();
+		if (depth[0] == JsonBindings.MAX_DEPTH) {
+			throw new ClassCastException(
+					"JSON value has more than " + JsonBindings.MAX_DEPTH + " records or JavaBeans nested to bind");
+		}
+		++depth[0];
+		return depth;
+	}
+
+	/**
+	 * Rethrows an exception thrown by a method handle, wrapping it if it's checked.
+	 *
+	 * @param throwable
+	 *                      The exception thrown.
+	 * @return Never returns, it's only declared so that it can be thrown.
+	 */
+	private static RuntimeException rethrow(final Throwable throwable) {
+		if (throwable instanceof RuntimeException) {
+			throw (RuntimeException) throwable;
+		} else if (throwable instanceof Error) {
+			throw (Error) throwable;
+		}
+		throw new IllegalArgumentException(throwable);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * Binds a JSON value to a type.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	@FunctionalInterface
+	interface Decoder {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		/**
+		 * Binds a JSON value.
+		 *
+		 * @param json
+		 *                 The JSON value to bind.
+		 * @return The JSON value bound.
+		 * @throws ClassCastException
+		 *                                If the JSON value can't be bound.
+		 */
+		Object decode(Json json);
+
+	}
+
+	/**
+	 * Reads a JSON value from a parser straight into a type.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	@FunctionalInterface
+	interface Reader {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		/**
+		 * Reads the JSON value starting at the given token, leaving the parser at its
+		 * last token.
+		 *
+		 * @param parser
+		 *                   The parser to read from.
+		 * @param token
+		 *                   The token the value starts at.
+		 * @return The value read.
+		 * @throws ClassCastException
+		 *                                      If the value can't be read into the
+		 *                                      type.
+		 * @throws IllegalArgumentException
+		 *                                      If an unexpected character is found.
+		 * @throws IOException
+		 *                                      If an I/O error occurs.
+		 */
+		Object read(JsonParserImplementation parser, JsonToken token) throws IOException;
+
+	}
+
+	/**
+	 * The binding of a record or JavaBean class, with the name, type and accessors
+	 * of each of its components or properties.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	abstract static class Binding {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * The names of the components or properties, in the order they're written.
+		 */
+		final String[] names;
+		/**
+		 * Table of the index of each component or property that can be set plus one by
+		 * the hash of its name, with 0 in the slots no name is in.
+		 */
+		private final int[] slots;
+		/**
+		 * The generic type of each component or property.
+		 */
+		final Type[] types;
+		/**
+		 * The decoder of the type of each component or property.
+		 */
+		private final Decoder[] decoders;
+		/**
+		 * The reader of the type of each component or property.
+		 */
+		private final Reader[] readers;
+		/**
+		 * The value given to each component or property of a primitive type that no
+		 * field matches, or null if it isn't primitive.
+		 */
+		final Object[] defaults;
+		/**
+		 * The accessor or getter of each component or property, taking the object and
+		 * returning the value as an Object, or null if it has none.
+		 */
+		final MethodHandle[] getters;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance initializers
+
+		/**
+		 * Constructs a binding with the given components or properties.
+		 *
+		 * @param type
+		 *                    The record or JavaBean class.
+		 * @param names
+		 *                    The names of the components or properties.
+		 * @param types
+		 *                    The generic type of each.
+		 * @param getters
+		 *                    The accessor or getter of each, or null if it has none.
+		 * @param isSet
+		 *                    Whether each can be set from a field.
+		 * @throws IllegalAccessException
+		 *                                      If any accessor can't be accessed.
+		 * @throws IllegalArgumentException
+		 *                                      If any component or property is of a
+		 *                                      type that can't be bound.
+		 */
+		Binding(final Class<?> type, final String[] names, final Type[] types, final Method[] getters,
+				final boolean[] isSet) throws IllegalAccessException {
+			this.names = names;
+			this.slots = new int[Integer.highestOneBit(Math.max(1, names.length)) << 2];
+			this.types = types;
+			this.decoders = new Decoder[names.length];
+			this.readers = new Reader[names.length];
+			this.defaults = new Object[names.length];
+			this.getters = new MethodHandle[names.length];
+			final MethodType getterType = MethodType.methodType(Object.class, Object.class);
+			final int mask = this.slots.length - 1;
+			for (int index = 0; index < names.length; ++index) {
+				if (!JsonBindings.isBindable(types[index])) {
+					throw new IllegalArgumentException(type.getName() + "." + names[index] + " is of "
+							+ types[index].getTypeName() + ", which can't be bound to JSON values");
+				}
+				if (isSet[index]) {
+					int slot = JsonBindings.spread(names[index].hashCode()) & mask;
+					while (this.slots[slot] != 0) {
+						slot = (slot + 1) & mask;
+					}
+					this.slots[slot] = index + 1;
+				}
+				this.decoders[index] = JsonBindings.decoder(types[index]);
+				this.readers[index] = JsonBindings.reader(types[index]);
+				final Class<?> rawClass = JsonBindings.rawClass(types[index]);
+				if (rawClass.isPrimitive()) {
+					this.defaults[index] = Array.get(Array.newInstance(rawClass, 1), 0);
+				}
+				if (getters[index] != null) {
+					JsonBindings.access(getters[index]);
+					this.getters[index] = JsonBindings.LOOKUP.unreflect(getters[index]).asType(getterType);
+				}
+			}
+		}
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		/**
+		 * Finds the index of the component or property with the given name that can be
+		 * set.
+		 *
+		 * @param name
+		 *                 A field name.
+		 * @return The index of the component or property, or -1 if there's none.
+		 */
+		private int indexOf(final String name) {
+			final int mask = this.slots.length - 1;
+			for (int slot = JsonBindings.spread(name.hashCode()) & mask; this.slots[slot] != 0; slot = (slot + 1)
+					& mask) {
+				if (this.names[this.slots[slot] - 1].equals(name)) {
+					return this.slots[slot] - 1;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Finds the index of the component or property that can be set with the name of
+		 * the field name the given parser is at, matching its characters without making
+		 * them into a String.
+		 *
+		 * @param parser
+		 *                   A parser at a field name.
+		 * @return The index of the component or property, or -1 if there's none.
+		 */
+		private int indexOf(final JsonParserImplementation parser) {
+			final int mask = this.slots.length - 1;
+			for (int slot = JsonBindings.spread(parser.fieldNameHash()) & mask; this.slots[slot] != 0; slot = (slot
+					+ 1) & mask) {
+				if (parser.isFieldName(this.names[this.slots[slot] - 1])) {
+					return this.slots[slot] - 1;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Makes an object of the class of this binding from the values of its
+		 * components or properties.
+		 *
+		 * @param values
+		 *                   The value of each component or property, or null if no
+		 *                   field matched it or the field was null.
+		 * @return The object made.
+		 */
+		abstract Object make(Object[] values);
+
+		/**
+		 * Binds a JSON object to the class of this binding.
+		 *
+		 * @param json
+		 *                 The JSON object.
+		 * @return The object bound.
+		 * @throws ClassCastException
+		 *                                If the value of any field can't be bound, or
+		 *                                if it has too many records or JavaBeans nested
+		 *                                in each other.
+		 */
+		Object fromJson(final Json json) {
+			final int[] depth = JsonBindings.enter();
+			try {
+				final Object[] values = new Object[this.names.length];
+				json.forEach((key, value) -> {
+					final int index = this.indexOf(key);
+					if (index >= 0) {
+						values[index] = this.decoders[index].decode(value);
+					}
+				});
+				return this.make(values);
+			} finally {
+				--depth[0];
+			}
+		}
+
+		/**
+		 * Reads the JSON object starting at the given token straight into the class of
+		 * this binding. Fields that match no component or property are skipped.
+		 *
+		 * @param parser
+		 *                   The parser to read from.
+		 * @param token
+		 *                   The token the value starts at.
+		 * @return The object read, or null if the value is null.
+		 * @throws ClassCastException
+		 *                                      If the value isn't a JSON object, the
+		 *                                      value of any field can't be bound or it
+		 *                                      has too many records or JavaBeans nested
+		 *                                      in each other.
+		 * @throws IllegalArgumentException
+		 *                                      If an unexpected character is found.
+		 * @throws IOException
+		 *                                      If an I/O error occurs.
+		 */
+		Object read(final JsonParserImplementation parser, final JsonToken token) throws IOException {
+			if (token == JsonToken.NULL) {
+				return null;
+			} else if (token != JsonToken.START_OBJECT) {
+				throw new ClassCastException("JSON value is not an object");
+			}
+			final int[] depth = JsonBindings.enter();
+			try {
+				final Object[] values = new Object[this.names.length];
+				while (parser.next() == JsonToken.FIELD_NAME) {
+					final int index = this.indexOf(parser);
+					final JsonToken value = parser.next();
+					if (index >= 0) {
+						values[index] = this.readers[index].read(parser, value);
+					} else {
+						parser.skipChildren();
+					}
+				}
+				return this.make(values);
+			} finally {
+				--depth[0];
+			}
+		}
+
+		/**
+		 * Gets the fields an object of the class of this binding is made into a JSON
+		 * object with, one for each component or property that has an accessor.
+		 *
+		 * @param object
+		 *                   The object.
+		 * @return The name and value of each field.
+		 */
+		List<Map.Entry<String, Object>> fields(final Object object) {
+			final List<Map.Entry<String, Object>> fields = new ArrayList<>(this.names.length);
+			for (int index = 0; index < this.names.length; ++index) {
+				if (this.getters[index] != null) {
+					final Object value;
+					try {
+						value = (Object) this.getters[index].invokeExact(object);
+					} catch (final Throwable e) {
+						throw JsonBindings.rethrow(e);
+					}
+					fields.add(new AbstractMap.SimpleImmutableEntry<>(this.names[index], value));
+				}
+			}
+			return fields;
+		}
+
+	}
+
+	/**
+	 * The binding of a record class, which is constructed through its canonical
+	 * constructor.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	private static final class RecordBinding extends Binding {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * The canonical constructor, taking the components in an array of Objects and
+		 * returning the record as an Object.
+		 */
+		private final MethodHandle constructor;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance initializers
+
+		/**
+		 * Constructs the binding of the given record class.
+		 *
+		 * @param type
+		 *                 A record class.
+		 * @throws ReflectiveOperationException
+		 *                                          If its canonical constructor or
+		 *                                          accessors can't be accessed.
+		 */
+		RecordBinding(final Class<?> type) throws ReflectiveOperationException {
+			this(type, type.getRecordComponents(), RecordBinding.constructor(type));
+		}
+
+		/**
+		 * Constructs the binding of a record class with the given components and
+		 * canonical constructor.
+		 *
+		 * @param type
+		 *                        The record class.
+		 * @param components
+		 *                        The components of the record class.
+		 * @param constructor
+		 *                        The canonical constructor, taking the components in an
+		 *                        array of Objects.
+		 * @throws IllegalAccessException
+		 *                                    If any accessor can't be accessed.
+		 */
+		private RecordBinding(final Class<?> type, final RecordComponent[] components,
+				final MethodHandle constructor) throws IllegalAccessException {
+			super(type, RecordBinding.names(components), RecordBinding.types(components),
+					RecordBinding.accessors(components), RecordBinding.all(components.length));
+			this.constructor = constructor;
+		}
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Class methods
+
+		/**
+		 * Makes a method handle to the canonical constructor of the given record class.
+		 *
+		 * @param type
+		 *                 A record class.
+		 * @return The canonical constructor, taking the components in an array of
+		 *         Objects and returning the record as an Object.
+		 * @throws ReflectiveOperationException
+		 *                                          If the constructor can't be
+		 *                                          accessed.
+		 */
+		private static MethodHandle constructor(final Class<?> type) throws ReflectiveOperationException {
+			final RecordComponent[] components = type.getRecordComponents();
+			final Class<?>[] parameterTypes = new Class<?>[components.length];
+			for (int index = 0; index < components.length; ++index) {
+				parameterTypes[index] = components[index].getType();
+			}
+			final Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+			JsonBindings.access(constructor);
+			final MethodHandle handle = JsonBindings.LOOKUP.unreflectConstructor(constructor);
+			return handle.asType(handle.type().generic()).asSpreader(Object[].class, parameterTypes.length);
+		}
+
+		/**
+		 * Gets the names of the given record components.
+		 *
+		 * @param components
+		 *                       Record components.
+		 * @return The names of the components.
+		 */
+		private static String[] names(final RecordComponent[] components) {
+			final String[] names = new String[components.length];
+			for (int index = 0; index < components.length; ++index) {
+				names[index] = components[index].getName();
+			}
+			return names;
+		}
+
+		/**
+		 * Gets the generic types of the given record components.
+		 *
+		 * @param components
+		 *                       Record components.
+		 * @return The generic types of the components.
+		 */
+		private static Type[] types(final RecordComponent[] components) {
+			final Type[] types = new Type[components.length];
+			for (int index = 0; index < components.length; ++index) {
+				types[index] = components[index].getGenericType();
+			}
+			return types;
+		}
+
+		/**
+		 * Makes an array of the given length where every element is true.
+		 *
+		 * @param length
+		 *                   The length of the array.
+		 * @return The array.
+		 */
+		private static boolean[] all(final int length) {
+			final boolean[] all = new boolean[length];
+			Arrays.fill(all, true);
+			return all;
+		}
+
+		/**
+		 * Gets the accessors of the given record components.
+		 *
+		 * @param components
+		 *                       Record components.
+		 * @return The accessors of the components.
+		 */
+		private static Method[] accessors(final RecordComponent[] components) {
+			final Method[] accessors = new Method[components.length];
+			for (int index = 0; index < components.length; ++index) {
+				accessors[index] = components[index].getAccessor();
+			}
+			return accessors;
+		}
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		@Override
+		Object make(final Object[] values) {
+			for (int index = 0; index < values.length; ++index) {
+				if (values[index] == null) {
+					values[index] = this.defaults[index];
+				}
+			}
+			try {
+				return (Object) this.constructor.invokeExact(values);
+			} catch (final Throwable e) {
+				throw JsonBindings.rethrow(e);
+			}
+		}
+
+	}
+
+	/**
+	 * The binding of a JavaBean class, which is constructed through its constructor
+	 * without parameters and then given the value of each field through its
+	 * setters.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	private static final class BeanBinding extends Binding {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * The constructor without parameters, returning the JavaBean as an Object.
+		 */
+		private final MethodHandle constructor;
+		/**
+		 * The setter of each property, taking the JavaBean and the value as Objects, or
+		 * null if it has none.
+		 */
+		private final MethodHandle[] setters;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance initializers
+
+		/**
+		 * Constructs the binding of the given JavaBean class.
+		 *
+		 * @param type
+		 *                 A JavaBean class.
+		 * @throws ReflectiveOperationException
+		 *                                          If its constructor or accessors
+		 *                                          can't be accessed.
+		 */
+		BeanBinding(final Class<?> type) throws ReflectiveOperationException {
+			this(type, BeanBinding.properties(type), BeanBinding.constructor(type));
+		}
+
+		/**
+		 * Constructs the binding of a JavaBean class with the given properties and
+		 * constructor.
+		 *
+		 * @param type
+		 *                        The JavaBean class.
+		 * @param properties
+		 *                        The getter and setter of each property, by its name.
+		 * @param constructor
+		 *                        The constructor without parameters.
+		 * @throws ReflectiveOperationException
+		 *                                          If any accessor can't be accessed,
+		 *                                          or if there are no setters.
+		 */
+		private BeanBinding(final Class<?> type, final Map<String, Method[]> properties,
+				final MethodHandle constructor) throws ReflectiveOperationException {
+			super(type, properties.keySet().toArray(new String[0]), BeanBinding.types(properties),
+					BeanBinding.accessors(properties, 0), BeanBinding.hasSetters(properties));
+			this.constructor = constructor;
+			this.setters = new MethodHandle[this.names.length];
+			final Method[] setters = BeanBinding.accessors(properties, 1);
+			final MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+			boolean hasSetters = false;
+			for (int index = 0; index < setters.length; ++index) {
+				if (setters[index] != null) {
+					JsonBindings.access(setters[index]);
+					this.setters[index] = JsonBindings.LOOKUP.unreflect(setters[index]).asType(setterType);
+					hasSetters = true;
+				}
+			}
+			if (!hasSetters) {
+				throw new NoSuchMethodException("JavaBean without setters");
+			}
+		}
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Class methods
+
+		/**
+		 * Makes a method handle to the constructor without parameters of the given
+		 * JavaBean class.
+		 *
+		 * @param type
+		 *                 A JavaBean class.
+		 * @return The constructor, returning the JavaBean as an Object.
+		 * @throws ReflectiveOperationException
+		 *                                          If the constructor can't be
+		 *                                          accessed.
+		 */
+		private static MethodHandle constructor(final Class<?> type) throws ReflectiveOperationException {
+			final Constructor<?> constructor = type.getDeclaredConstructor();
+			JsonBindings.access(constructor);
+			return JsonBindings.LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+		}
+
+		/**
+		 * Finds the properties of the given class from its public getters and setters.
+		 * Properties that have a field with their name are in the order their fields
+		 * are declared in, from the topmost superclass, and other properties follow
+		 * them in the order of their names.
+		 *
+		 * @param type
+		 *                 A class.
+		 * @return The getter and setter of each property, by its name, either of which
+		 *         may be null.
+		 */
+		private static Map<String, Method[]> properties(final Class<?> type) {
+			final Map<String, Method[]> found = new TreeMap<>();
+			for (final Method method : type.getMethods()) {
+				final String name = method.getName();
+				if (Modifier.isStatic(method.getModifiers()) || method.isBridge()
+						|| (method.getParameterCount() != 0) || (method.getReturnType() == void.class)) {
+					continue;
+				}
+				if (name.startsWith("get") && (name.length() > 3) && !name.equals("getClass")) {
+					found.computeIfAbsent(JsonBindings.propertyName(name, 3), key -> new Method[2])[0] = method;
+				} else if (name.startsWith("is") && (name.length() > 2) && (method.getReturnType() == boolean.class)) {
+					found.computeIfAbsent(JsonBindings.propertyName(name, 2), key -> new Method[2])[0] = method;
+				}
+			}
+			for (final Method method : type.getMethods()) {
+				final String name = method.getName();
+				if (Modifier.isStatic(method.getModifiers()) || method.isBridge()
+						|| (method.getParameterCount() != 1) || !name.startsWith("set") || (name.length() <= 3)) {
+					continue;
+				}
+				final Method[] accessors = found.computeIfAbsent(JsonBindings.propertyName(name, 3),
+						key -> new Method[2]);
+				// Overloaded setters are chosen by the type of the getter
+				if ((accessors[1] == null) || ((accessors[0] != null)
+						&& (method.getParameterTypes()[0] == accessors[0].getReturnType()))) {
+					accessors[1] = method;
+				}
+			}
+			final List<Class<?>> hierarchy = new ArrayList<>();
+			for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+				hierarchy.add(0, current);
+			}
+			final Map<String, Method[]> properties = new LinkedHashMap<>();
+			for (final Class<?> current : hierarchy) {
+				for (final Field field : current.getDeclaredFields()) {
+					final Method[] accessors = found.remove(field.getName());
+					if (accessors != null) {
+						properties.put(field.getName(), accessors);
+					}
+				}
+			}
+			properties.putAll(found);
+			return properties;
+		}
+
+		/**
+		 * Gets the generic types of the given properties, from their setters or, if
+		 * they have none, their getters.
+		 *
+		 * @param properties
+		 *                       The getter and setter of each property.
+		 * @return The generic type of each property.
+		 */
+		private static Type[] types(final Map<String, Method[]> properties) {
+			final Type[] types = new Type[properties.size()];
+			int index = 0;
+			for (final Method[] accessors : properties.values()) {
+				types[index] = accessors[1] != null ? accessors[1].getGenericParameterTypes()[0]
+						: accessors[0].getGenericReturnType();
+				++index;
+			}
+			return types;
+		}
+
+		/**
+		 * Checks which of the given properties have setters.
+		 *
+		 * @param properties
+		 *                       The getter and setter of each property.
+		 * @return Whether each property has a setter.
+		 */
+		private static boolean[] hasSetters(final Map<String, Method[]> properties) {
+			final boolean[] hasSetters = new boolean[properties.size()];
+			int index = 0;
+			for (final Method[] accessors : properties.values()) {
+				hasSetters[index] = accessors[1] != null;
+				++index;
+			}
+			return hasSetters;
+		}
+
+		/**
+		 * Gets either the getters or the setters of the given properties.
+		 *
+		 * @param properties
+		 *                       The getter and setter of each property.
+		 * @param which
+		 *                       0 for the getters, 1 for the setters.
+		 * @return The getter or setter of each property, or null if it has none.
+		 */
+		private static Method[] accessors(final Map<String, Method[]> properties, final int which) {
+			final Method[] accessors = new Method[properties.size()];
+			int index = 0;
+			for (final Method[] both : properties.values()) {
+				accessors[index] = both[which];
+				++index;
+			}
+			return accessors;
+		}
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		@Override
+		Object make(final Object[] values) {
+			try {
+				final Object bean = (Object) this.constructor.invokeExact();
+				for (int index = 0; index < values.length; ++index) {
+					// Properties are left as the constructor made them when no field matches them
+					// or the field is null
+					if (values[index] != null) {
+						this.setters[index].invokeExact(bean, values[index]);
+					}
+				}
+				return bean;
+			} catch (final Throwable e) {
+				throw JsonBindings.rethrow(e);
+			}
+		}
+
+	}
+
+	/**
+	 * A JSON structure being made from a Java object, with the children of the
+	 * object that are left to make into its fields or elements.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	private static final class Structure {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * The object the structure is made from.
+		 */
+		private final Object object;
+		/**
+		 * The fields made so far if the structure is an object, or null.
+		 */
+		private final JsonCompactMap map;
+		/**
+		 * The elements made so far if the structure is an array, or null.
+		 */
+		private final List<Json> list;
+		/**
+		 * The children left, which are entries by the field names of objects and the
+		 * elements of arrays.
+		 */
+		private final Iterator<?> children;
+		/**
+		 * The name of the field whose value is being made.
+		 */
+		private String name;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance initializers
+
+		/**
+		 * Constructs a JSON object being made.
+		 *
+		 * @param object
+		 *                     The object it's made from.
+		 * @param map
+		 *                     The map the fields are added to.
+		 * @param children
+		 *                     The entries left, by the names of their fields.
+		 */
+		private Structure(final Object object, final JsonCompactMap map, final Iterator<?> children) {
+			this.object = object;
+			this.map = map;
+			this.list = null;
+			this.children = children;
+		}
+
+		/**
+		 * Constructs a JSON array being made.
+		 *
+		 * @param object
+		 *                     The object it's made from.
+		 * @param list
+		 *                     The list the elements are added to.
+		 * @param children
+		 *                     The elements left.
+		 */
+		private Structure(final Object object, final List<Json> list, final Iterator<?> children) {
+			this.object = object;
+			this.map = null;
+			this.list = list;
+			this.children = children;
+		}
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		/**
+		 * Gets the next child left, keeping the name of its field if the structure is
+		 * an object.
+		 *
+		 * @return The next child, or the value of the next field.
+		 */
+		private Object next() {
+			final Object child = this.children.next();
+			if (this.map == null) {
+				return child;
+			}
+			final Object key = ((Map.Entry<?, ?>) child).getKey();
+			this.name = key instanceof Enum ? ((Enum<?>) key).name() : String.valueOf(key);
+			return ((Map.Entry<?, ?>) child).getValue();
+		}
+
+		/**
+		 * Adds the JSON value made from the last child gotten.
+		 *
+		 * @param json
+		 *                 The JSON value.
+		 */
+		private void add(final Json json) {
+			if (this.map != null) {
+				this.map.add(this.name, json);
+			} else {
+				this.list.add(json);
+			}
+		}
+
+		/**
+		 * Finishes the structure once every child has been made into a JSON value.
+		 *
+		 * @return The structure as a JSON value.
+		 */
+		private Json finish() {
+			if (this.map != null) {
+				this.map.trim();
+				return new JsonImplementation(this.map);
+			}
+			return new JsonImplementation(this.list);
+		}
+
+	}
+
+}
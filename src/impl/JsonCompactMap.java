@@ -0,0 +1,214 @@
+package impl;
+
+import java.util.Arrays;
+
+import api.Json;
+
+/**
+ * The fields of a JSON object, kept as an array of keys and an array of values
+ * in the order they were read. Keys are searched one by one while there are few
+ * of them, and through a table of indexes once there are more.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonCompactMap extends JsonObjectMap {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Number of fields there's room for once the first one is added.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+	/**
+	 * Largest number of fields whose keys are searched one by one.
+	 */
+	private static final int MAX_LINEAR_SIZE = 8;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The keys of the fields, followed by room for more keys.
+	 */
+	private String[] keys;
+	/**
+	 * The values of the fields, followed by room for more values.
+	 */
+	private Json[] values;
+	/**
+	 * Number of fields.
+	 */
+	private int size;
+	/**
+	 * Table of the index of each key plus one by the hash of the key, with 0 in the
+	 * slots no key is in, or null while the keys are searched one by one.
+	 */
+	private int[] slots;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a map with no fields.
+	 */
+	JsonCompactMap() {
+		this.keys = new String[0];
+		this.values = new Json[0];
+		this.size = 0;
+		this.slots = null;
+	}
+
+	/**
+	 * Constructs a map with the fields of another map, in the same order.
+	 *
+	 * @param map
+	 *                The map whose fields are copied.
+	 */
+	JsonCompactMap(final JsonObjectMap map) {
+		final int size = map.size();
+		this.keys = new String[Math.max(JsonCompactMap.INITIAL_CAPACITY, 2 * size)];
+		this.values = new Json[this.keys.length];
+		this.size = 0;
+		this.slots = null;
+		for (int index = 0; index < size; ++index) {
+			this.add(map.key(index), map.value(index));
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Gets the hash of a key, spread so that its high bits matter too.
+	 *
+	 * @param key
+	 *                A key.
+	 * @return The hash of the key.
+	 */
+	private static int hash(final Object key) {
+		final int hash = key.hashCode();
+		return hash ^ (hash >>> 16);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Adds a field while the object is being read. The value of a key that's
+	 * already in the map is replaced.
+	 *
+	 * @param key
+	 *                  The key of the field.
+	 * @param value
+	 *                  The value of the field.
+	 */
+	void add(final String key, final Json value) {
+		final int index = this.indexOf(key);
+		if (index >= 0) {
+			this.values[index] = value;
+			return;
+		}
+		if (this.size == this.keys.length) {
+			final int capacity = Math.max(JsonCompactMap.INITIAL_CAPACITY, 2 * this.size);
+			this.keys = Arrays.copyOf(this.keys, capacity);
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+		this.keys[this.size] = key;
+		this.values[this.size] = value;
+		++this.size;
+		if (this.slots != null) {
+			if ((2 * this.size) > this.slots.length) {
+				this.index();
+			} else {
+				this.place(this.size - 1);
+			}
+		} else if (this.size > JsonCompactMap.MAX_LINEAR_SIZE) {
+			this.index();
+		}
+	}
+
+	/**
+	 * Builds the table of indexes again, with room for twice as many keys as there
+	 * are.
+	 */
+	private void index() {
+		this.slots = new int[Integer.highestOneBit(this.size) << 2];
+		for (int index = 0; index < this.size; ++index) {
+			this.place(index);
+		}
+	}
+
+	/**
+	 * Puts the key at the given index in the first free slot of the table of
+	 * indexes from its hash.
+	 *
+	 * @param index
+	 *                  The index of the key.
+	 */
+	private void place(final int index) {
+		final int mask = this.slots.length - 1;
+		int slot = JsonCompactMap.hash(this.keys[index]) & mask;
+		while (this.slots[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		this.slots[slot] = index + 1;
+	}
+
+	/**
+	 * Drops the room left for more fields once the object has been read.
+	 */
+	void trim() {
+		if (this.keys.length != this.size) {
+			this.keys = Arrays.copyOf(this.keys, this.size);
+			this.values = Arrays.copyOf(this.values, this.size);
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	String key(final int index) {
+		return this.keys[index];
+	}
+
+	@Override
+	Json value(final int index) {
+		return this.values[index];
+	}
+
+	@Override
+	int indexOf(final Object key) {
+		if (key == null) {
+			return -1;
+		}
+		if (this.slots == null) {
+			for (int index = 0; index < this.size; ++index) {
+				if (this.keys[index] == key) {
+					return index;
+				}
+			}
+			for (int index = 0; index < this.size; ++index) {
+				if (this.keys[index].equals(key)) {
+					return index;
+				}
+			}
+			return -1;
+		}
+		final int mask = this.slots.length - 1;
+		for (int slot = JsonCompactMap.hash(key) & mask; this.slots[slot] != 0; slot = (slot + 1) & mask) {
+			final String candidate = this.keys[this.slots[slot] - 1];
+			if ((candidate == key) || candidate.equals(key)) {
+				return this.slots[slot] - 1;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,329 @@
+package impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import api.Json;
+import api.JsonConverter;
+
+/**
+ * The conversions Json.as makes from internal values to the classes asked for,
+ * shared by every JSON value.
+ *
+ * The conversions to each class are worked out the first time that class is
+ * asked for, as a table with the conversion from each kind of internal value,
+ * and kept with the class. Converting a value takes the table of the class and
+ * calls the conversion for the kind of the value. Conversions to the classes
+ * that have a converter registered call the converter for every kind of value.
+ * Conversions of JSON objects to records and JavaBeans go through the binding
+ * of their class.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonConverters {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Number of kinds of internal values.
+	 */
+	private static final int KINDS = JsonImplementation.OTHER_VALUE + 1;
+	/**
+	 * The kinds of internal values of JSON numbers.
+	 */
+	private static final byte[] NUMBER_KINDS = { JsonImplementation.INTEGER_VALUE, JsonImplementation.DECIMAL_VALUE,
+			JsonImplementation.BIG_INTEGER_VALUE, JsonImplementation.BIG_DECIMAL_VALUE };
+	/**
+	 * The converters registered, by the class they convert to.
+	 */
+	private static final Map<Class<?>, JsonConverter<?>> CONVERTERS = new ConcurrentHashMap<>();
+	/**
+	 * The conversions to each class, by the kind of the internal value converted.
+	 */
+	private static final ClassValue<Conversion[]> CONVERSIONS = new ClassValue<Conversion[]>() {
+
+		@Override
+		protected Conversion[] computeValue(final Class<?> resultClass) {
+			return JsonConverters.conversions(resultClass);
+		}
+
+	};
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * This class is not meant to be instanced.
+	 */
+	private JsonConverters() {
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Registers a converter to the given class, replacing the conversions to it
+	 * there were before.
+	 *
+	 * @param resultClass
+	 *                        The class the converter converts to.
+	 * @param converter
+	 *                        The converter.
+	 */
+	static <T> void register(final Class<T> resultClass, final JsonConverter<? extends T> converter) {
+		JsonConverters.CONVERTERS.put(resultClass, converter);
+		JsonConverters.CONVERSIONS.remove(resultClass);
+		JsonBindings.forget(resultClass);
+	}
+
+	/**
+	 * Checks whether a converter to the given class has been registered.
+	 *
+	 * @param resultClass
+	 *                        A class.
+	 * @return Whether a converter to the class has been registered.
+	 */
+	static boolean isRegistered(final Class<?> resultClass) {
+		return JsonConverters.CONVERTERS.containsKey(resultClass);
+	}
+
+	/**
+	 * Gets the conversions to the given class.
+	 *
+	 * @param resultClass
+	 *                        The class to convert to.
+	 * @return The conversion to the given class from each kind of internal value.
+	 */
+	static Conversion[] of(final Class<?> resultClass) {
+		return JsonConverters.CONVERSIONS.get(resultClass);
+	}
+
+	/**
+	 * Works out the conversions to the given class.
+	 *
+	 * @param resultClass
+	 *                        The class to convert to.
+	 * @return The conversion to the given class from each kind of internal value.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Conversion[] conversions(final Class<?> resultClass) {
+		final JsonConverter<?> converter = JsonConverters.CONVERTERS.get(resultClass);
+		if (converter != null) {
+			final Conversion[] conversions = new Conversion[JsonConverters.KINDS];
+			Arrays.fill(conversions, (Conversion) (json, value) -> converter.convert(json));
+			return conversions;
+		}
+		switch (resultClass.getName()) {
+		case "boolean":
+		case "java.lang.Boolean":
+			return JsonConverters.conversions(Boolean.class, (json, value) -> Boolean.parseBoolean((String) value),
+					(json, value) -> ((Number) value).doubleValue() == 0.0d, (json, value) -> value);
+		case "byte":
+		case "java.lang.Byte":
+			return JsonConverters.conversions(Byte.class, (json, value) -> Byte.parseByte((String) value),
+					(json, value) -> ((Number) value).byteValue(),
+					(json, value) -> ((Boolean) value) ? Byte.valueOf((byte) 1) : Byte.valueOf((byte) 0));
+		case "short":
+		case "java.lang.Short":
+			return JsonConverters.conversions(Short.class, (json, value) -> Short.parseShort((String) value),
+					(json, value) -> ((Number) value).shortValue(),
+					(json, value) -> ((Boolean) value) ? Short.valueOf((short) 1) : Short.valueOf((short) 0));
+		case "int":
+		case "java.lang.Integer":
+			return JsonConverters.conversions(Integer.class, (json, value) -> Integer.parseInt((String) value),
+					(json, value) -> ((Number) value).intValue(),
+					(json, value) -> ((Boolean) value) ? Integer.valueOf(1) : Integer.valueOf(0));
+		case "long":
+		case "java.lang.Long":
+			return JsonConverters.conversions(Long.class, (json, value) -> Long.parseLong((String) value),
+					(json, value) -> ((Number) value).longValue(),
+					(json, value) -> ((Boolean) value) ? Long.valueOf(1L) : Long.valueOf(0L));
+		case "float":
+		case "java.lang.Float":
+			return JsonConverters.conversions(Float.class, (json, value) -> Float.parseFloat((String) value),
+					(json, value) -> ((Number) value).floatValue(),
+					(json, value) -> ((Boolean) value) ? Float.valueOf(1.0f) : Float.valueOf(0.0f));
+		case "double":
+		case "java.lang.Double":
+			return JsonConverters.conversions(Double.class, (json, value) -> Double.parseDouble((String) value),
+					(json, value) -> ((Number) value).doubleValue(),
+					(json, value) -> ((Boolean) value) ? Double.valueOf(1.0d) : Double.valueOf(0.0d));
+		case "java.util.concurrent.atomic.AtomicInteger":
+			return JsonConverters.conversions(AtomicInteger.class,
+					(json, value) -> new AtomicInteger(Integer.parseInt((String) value)),
+					(json, value) -> new AtomicInteger(((Number) value).intValue()),
+					(json, value) -> ((Boolean) value) ? new AtomicInteger(1) : new AtomicInteger(0));
+		case "java.util.concurrent.atomic.AtomicLong":
+			return JsonConverters.conversions(AtomicLong.class,
+					(json, value) -> new AtomicLong(Long.parseLong((String) value)),
+					(json, value) -> new AtomicLong(((Number) value).longValue()),
+					(json, value) -> ((Boolean) value) ? new AtomicLong(1L) : new AtomicLong(0L));
+		case "java.math.BigInteger": {
+			final Conversion[] conversions = JsonConverters.conversions(BigInteger.class,
+					(json, value) -> new BigInteger((String) value),
+					(json, value) -> BigInteger.valueOf(((Number) value).longValue()),
+					(json, value) -> ((Boolean) value) ? BigInteger.ONE : BigInteger.ZERO);
+			conversions[JsonImplementation.DECIMAL_VALUE] = (json, value) -> BigDecimal
+					.valueOf(((Number) value).doubleValue()).toBigInteger();
+			conversions[JsonImplementation.BIG_INTEGER_VALUE] = (json, value) -> value;
+			conversions[JsonImplementation.BIG_DECIMAL_VALUE] = (json, value) -> ((BigDecimal) value).toBigInteger();
+			return conversions;
+		}
+		case "java.math.BigDecimal": {
+			final Conversion[] conversions = JsonConverters.conversions(BigDecimal.class,
+					(json, value) -> new BigDecimal((String) value),
+					(json, value) -> BigDecimal.valueOf(((Number) value).doubleValue()),
+					(json, value) -> ((Boolean) value) ? BigDecimal.ONE : BigDecimal.ZERO);
+			// Whole numbers are converted without going through a double
+			conversions[JsonImplementation.INTEGER_VALUE] = (json, value) -> BigDecimal
+					.valueOf(((Number) value).longValue());
+			conversions[JsonImplementation.BIG_INTEGER_VALUE] = (json, value) -> new BigDecimal((BigInteger) value);
+			conversions[JsonImplementation.BIG_DECIMAL_VALUE] = (json, value) -> value;
+			return conversions;
+		}
+		case "java.lang.Number":
+			return JsonConverters.conversions(Number.class, (json, value) -> new BigDecimal((String) value),
+					(json, value) -> value, (json, value) -> ((Boolean) value) ? BigDecimal.ONE : BigDecimal.ZERO);
+		case "char":
+		case "java.lang.Character":
+			return JsonConverters.conversions(Character.class, (json, value) -> ((String) value).charAt(0), null,
+					(json, value) -> ((Boolean) value) ? Character.valueOf('t') : Character.valueOf('f'));
+		case "java.lang.CharSequence":
+			// If the class is CharSequence, use String
+		case "java.lang.String":
+			return JsonConverters.conversions(String.class, (json, value) -> value,
+					(json, value) -> ((Number) value).toString(),
+					(json, value) -> ((Boolean) value) ? "true" : "false");
+		case "void":
+			// If the class is void, return null
+		case "java.lang.Void": {
+			final Conversion[] conversions = new Conversion[JsonConverters.KINDS];
+			Arrays.fill(conversions, (Conversion) (json, value) -> null);
+			return conversions;
+		}
+		default:
+			if (resultClass.isEnum()) {
+				// Enum constants are converted from their names
+				final Class<? extends Enum> enumClass = (Class<? extends Enum>) resultClass;
+				return JsonConverters.conversions(resultClass, (json, value) -> Enum.valueOf(enumClass, (String) value),
+						null, null);
+			}
+			final JsonBindings.Binding binding = JsonBindings.of(resultClass);
+			if (binding != null) {
+				// Records and JavaBeans are bound from the fields of JSON objects
+				final Conversion[] conversions = JsonConverters.conversions(resultClass, null, null, null);
+				conversions[JsonImplementation.OBJECT_VALUE] = (json, value) -> binding.fromJson(json);
+				return conversions;
+			}
+			return JsonConverters.conversions(resultClass, null, null, null);
+		}
+	}
+
+	/**
+	 * Makes the conversions to the given class from the given conversions from
+	 * strings, numbers and booleans. JSON objects and arrays are converted to
+	 * unmodifiable views of their maps and lists if the class is Map, List or one
+	 * of their superinterfaces, so that their internal classes aren't given out.
+	 * Any other kind of internal value is cast to the class.
+	 *
+	 * @param resultClass
+	 *                        The class to convert to, which mustn't be primitive.
+	 * @param fromString
+	 *                        The conversion from strings, or null to cast them.
+	 * @param fromNumber
+	 *                        The conversion from every kind of number, or null to
+	 *                        cast them.
+	 * @param fromBoolean
+	 *                        The conversion from booleans, or null to cast them.
+	 * @return The conversion to the given class from each kind of internal value.
+	 */
+	private static Conversion[] conversions(final Class<?> resultClass, final Conversion fromString,
+			final Conversion fromNumber, final Conversion fromBoolean) {
+		final Conversion cast = (json, value) -> {
+			if (!resultClass.isInstance(value)) {
+				throw JsonConverters.cannotConvert(resultClass);
+			}
+			return value;
+		};
+		final Conversion[] conversions = new Conversion[JsonConverters.KINDS];
+		Arrays.fill(conversions, cast);
+		conversions[JsonImplementation.OBJECT_VALUE] = resultClass.isAssignableFrom(Map.class)
+				? (json, value) -> Collections.unmodifiableMap((Map<?, ?>) value)
+				: (json, value) -> {
+					throw JsonConverters.cannotConvert(resultClass);
+				};
+		conversions[JsonImplementation.ARRAY_VALUE] = resultClass.isAssignableFrom(List.class)
+				? (json, value) -> Collections.unmodifiableList((List<?>) value)
+				: (json, value) -> {
+					throw JsonConverters.cannotConvert(resultClass);
+				};
+		if (fromString != null) {
+			conversions[JsonImplementation.STRING_VALUE] = fromString;
+		}
+		if (fromNumber != null) {
+			for (final byte kind : JsonConverters.NUMBER_KINDS) {
+				conversions[kind] = fromNumber;
+			}
+		}
+		if (fromBoolean != null) {
+			conversions[JsonImplementation.BOOLEAN_VALUE] = fromBoolean;
+		}
+		return conversions;
+	}
+
+	/**
+	 * Makes the exception thrown when a JSON value can't be converted to the given
+	 * class.
+	 *
+	 * @param resultClass
+	 *                        The class that can't be converted to.
+	 * @return The exception.
+	 */
+	static ClassCastException cannotConvert(final Class<?> resultClass) {
+		return new ClassCastException("JSON value can't be converted to " + resultClass.getName());
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * A conversion from a kind of internal value to a class.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	@FunctionalInterface
+	interface Conversion {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		/**
+		 * Converts an internal value.
+		 *
+		 * @param json
+		 *                  The JSON value the internal value is of.
+		 * @param value
+		 *                  The internal value, which isn't null.
+		 * @return The internal value converted.
+		 * @throws ClassCastException
+		 *                                If the value can't be converted.
+		 */
+		Object convert(Json json, Object value);
+
+	}
+
+}
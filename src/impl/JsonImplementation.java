@@ -4,15 +4,18 @@ import java.io.IOException;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.AbstractSet;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
 
 import api.Json;
+import api.JsonTypeToken;
 
 /**
  * This is an implementation of the JSON interface.
@@ -25,16 +28,85 @@ import api.Json;
  */
 public class JsonImplementation implements Json {
 
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Kind of the internal value of a JSON object.
+	 */
+	static final byte OBJECT_VALUE = 0;
+	/**
+	 * Kind of the internal value of a JSON array.
+	 */
+	static final byte ARRAY_VALUE = 1;
+	/**
+	 * Kind of the internal value of a JSON string.
+	 */
+	static final byte STRING_VALUE = 2;
+	/**
+	 * Kind of the internal value of a JSON number held by a Byte, a Short, an
+	 * Integer or a Long.
+	 */
+	static final byte INTEGER_VALUE = 3;
+	/**
+	 * Kind of the internal value of a JSON number held by a Float or a Double.
+	 */
+	static final byte DECIMAL_VALUE = 4;
+	/**
+	 * Kind of the internal value of a JSON number held by a BigInteger.
+	 */
+	static final byte BIG_INTEGER_VALUE = 5;
+	/**
+	 * Kind of the internal value of a JSON number held by a BigDecimal.
+	 */
+	static final byte BIG_DECIMAL_VALUE = 6;
+	/**
+	 * Kind of the internal value of a JSON boolean.
+	 */
+	static final byte BOOLEAN_VALUE = 7;
+	/**
+	 * Kind of the internal value of a JSON null.
+	 */
+	static final byte NULL_VALUE = 8;
+	/**
+	 * Kind of an internal value that isn't any JSON value.
+	 */
+	static final byte OTHER_VALUE = 9;
+	/**
+	 * The type of JSON value of each kind of internal value, or null if it isn't
+	 * any.
+	 */
+	static final JsonType[] TYPES = { JsonType.OBJECT, JsonType.ARRAY, JsonType.STRING, JsonType.NUMBER,
+			JsonType.NUMBER, JsonType.NUMBER, JsonType.NUMBER, JsonType.BOOLEAN, JsonType.NULL, null };
+
+	/**
+	 * The keys of the first elements of JSON arrays, so that walking small arrays
+	 * by their keys doesn't make a string for each element.
+	 */
+	private static final String[] INDEX_KEYS = new String[1024];
+
+	static {
+		for (int index = 0; index < JsonImplementation.INDEX_KEYS.length; ++index) {
+			JsonImplementation.INDEX_KEYS[index] = Integer.toString(index);
+		}
+	}
+
 	////////////////////////////////////////////////////////////////////////////////
 	// Instance fields
 
 	/**
-	 * Internal value of this JSON value. It may be a HashMap if it's a JSON object,
-	 * an ArrayList if it's a JSON array, a String if it's a JSON string, a
-	 * BigInteger or a BigDecimal if it's a JSON number, a Boolean if it's a JSON
-	 * boolean or null if it's a JSON null.
+	 * Internal value of this JSON value. It may be a JsonShapedMap or a
+	 * JsonCompactMap if it's a JSON object, an ArrayList if it's a JSON array, a
+	 * String if it's a JSON string, a BigInteger or a BigDecimal if it's a JSON
+	 * number, a Boolean if it's a JSON boolean or null if it's a JSON null.
 	 */
 	private final Object value;
+	/**
+	 * Kind of the internal value, found once when this JSON value is constructed so
+	 * that it doesn't have to be found from the class of the value each time it's
+	 * used.
+	 */
+	private final byte kind;
 
 	////////////////////////////////////////////////////////////////////////////////
 	// Instance initializers
@@ -44,6 +116,7 @@ public class JsonImplementation implements Json {
 	 */
 	protected JsonImplementation(final Object value) {
 		this.value = value;
+		this.kind = JsonImplementation.kindOf(value);
 	}
 
 	////////////////////////////////////////////////////////////////////////////////
@@ -67,9 +140,79 @@ public class JsonImplementation implements Json {
 		}
 	}
 
+	/**
+	 * Gets the key of the element at the given index of a JSON array.
+	 *
+	 * @param index
+	 *                  The index of the element.
+	 * @return The index as a string.
+	 */
+	static String indexKey(final int index) {
+		return index < JsonImplementation.INDEX_KEYS.length ? JsonImplementation.INDEX_KEYS[index]
+				: Integer.toString(index);
+	}
+
+	/**
+	 * Finds the kind of the given internal value.
+	 *
+	 * @param value
+	 *                  An internal value.
+	 * @return The kind of the internal value.
+	 */
+	static byte kindOf(final Object value) {
+		if (value == null) {
+			return JsonImplementation.NULL_VALUE;
+		} else if (value instanceof Map) {
+			return JsonImplementation.OBJECT_VALUE;
+		} else if (value instanceof List) {
+			return JsonImplementation.ARRAY_VALUE;
+		} else if (value instanceof String) {
+			return JsonImplementation.STRING_VALUE;
+		} else if ((value instanceof Integer) || (value instanceof Long) || (value instanceof Byte)
+				|| (value instanceof Short)) {
+			return JsonImplementation.INTEGER_VALUE;
+		} else if ((value instanceof Double) || (value instanceof Float)) {
+			return JsonImplementation.DECIMAL_VALUE;
+		} else if (value instanceof BigInteger) {
+			return JsonImplementation.BIG_INTEGER_VALUE;
+		} else if (value instanceof BigDecimal) {
+			return JsonImplementation.BIG_DECIMAL_VALUE;
+		} else if (value instanceof Boolean) {
+			return JsonImplementation.BOOLEAN_VALUE;
+		}
+		return JsonImplementation.OTHER_VALUE;
+	}
+
+	/**
+	 * Finds the entry at the given position of a map that doesn't keep its fields
+	 * by their index.
+	 *
+	 * @param map
+	 *                  A map.
+	 * @param index
+	 *                  The position of the entry, from 0 to map.size() - 1.
+	 * @return The entry at the given position.
+	 */
+	private static Map.Entry<String, Json> entry(final Map<String, Json> map, final int index) {
+		final Iterator<Map.Entry<String, Json>> iterator = map.entrySet().iterator();
+		for (int skipped = 0; skipped < index; ++skipped) {
+			iterator.next();
+		}
+		return iterator.next();
+	}
+
 	////////////////////////////////////////////////////////////////////////////////
 	// Instance methods
 
+	/**
+	 * Gets the internal value of this JSON value.
+	 *
+	 * @return The internal value of this JSON value.
+	 */
+	Object getValue() {
+		return this.value;
+	}
+
 	/**
 	 * Obtain this JSON value in its String form without any formatting.
 	 */
@@ -78,340 +221,62 @@ public class JsonImplementation implements Json {
 		return JsonWriterImplementation.toString(this);
 	}
 
+	/**
+	 * Gets the kind of the internal value of this JSON value.
+	 *
+	 * @return The kind of the internal value of this JSON value.
+	 */
+	byte kind() {
+		return this.kind;
+	}
+
 	@Override
 	public JsonType getType() {
-		// Check for null first to avoid null pointer exceptions
-		if (this.value == null) {
-			return JsonType.NULL;
-		}
-		switch (this.value.getClass().getName()) {
-		case "java.util.HashMap":
-			return JsonType.OBJECT;
-		case "java.util.ArrayList":
-			return JsonType.ARRAY;
-		case "java.lang.String":
-			return JsonType.STRING;
-		case "java.lang.Byte":
-		case "java.lang.Short":
-		case "java.lang.Integer":
-		case "java.lang.Long":
-		case "java.lang.Float":
-		case "java.lang.Double":
-		case "java.math.BigInteger":
-		case "java.math.BigDecimal":
-			return JsonType.NUMBER;
-		case "java.lang.Boolean":
-			return JsonType.BOOLEAN;
-		default:
+		final JsonType type = JsonImplementation.TYPES[this.kind()];
+		if (type == null) {
 			throw new ClassCastException();
 		}
+		return type;
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> T as(Class<T> resultClass) {
 		if (resultClass.isArray()) {
-			final Collection<Json> values = this.values();
 			final Class<?> componentType = resultClass.getComponentType();
-			final int size = values.size();
-			final Object[] array = new Object[size];
-			final T newArray = (T) Array.newInstance(componentType, size);
+			if (this.getValue() instanceof JsonNumberList) {
+				// Packed numbers are copied without boxing them when they can be
+				final Object array = ((JsonNumberList) this.getValue()).toArray(componentType);
+				if (array != null) {
+					return resultClass.cast(array);
+				}
+			}
+			final Collection<Json> values = values();
+			final Object newArray = Array.newInstance(componentType, values.size());
 			int index = 0;
 			for (final Json value : values) {
-				array[index] = value.as(componentType);
+				final Object element = value.as(componentType);
+				if ((element == null) && componentType.isPrimitive()) {
+					// Nulls can't be set into arrays of primitives
+					throw JsonConverters.cannotConvert(componentType);
+				}
+				Array.set(newArray, index, element);
 				++index;
 			}
-			System.arraycopy(array, 0, newArray, 0, size);
 			return resultClass.cast(newArray);
 		}
+		final Object value = this.getValue();
 		// Check for null first to avoid null pointer exceptions
-		if (this.value == null) {
+		if (value == null) {
 			return null;
 		}
-		switch (resultClass.getName()) {
-		case "boolean":
-			// Avoids errors when dealing with primitives
-			resultClass = (Class<T>) Boolean.class;
-		case "java.lang.Boolean":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(Boolean.parseBoolean((String) this.value));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-			case "java.math.BigInteger":
-			case "java.math.BigDecimal":
-				return resultClass.cast(((Number) this.value).doubleValue() == 0.0d);
-			case "java.lang.Boolean":
-				return resultClass.cast((Boolean) this.value);
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "byte":
-			// Avoids errors when dealing with primitives
-			resultClass = (Class<T>) Byte.class;
-		case "java.lang.Byte":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(Byte.parseByte((String) this.value));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-			case "java.math.BigInteger":
-			case "java.math.BigDecimal":
-				return resultClass.cast(((Number) this.value).byteValue());
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? Byte.valueOf((byte) 1) : Byte.valueOf((byte) 0));
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "short":
-			// Avoids errors when dealing with primitives
-			resultClass = (Class<T>) Short.class;
-		case "java.lang.Short":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(Short.parseShort((String) this.value));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-			case "java.math.BigInteger":
-			case "java.math.BigDecimal":
-				return resultClass.cast(((Number) this.value).shortValue());
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? Short.valueOf((short) 1) : Short.valueOf((short) 0));
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "int":
-			// Avoids errors when dealing with primitives
-			resultClass = (Class<T>) Integer.class;
-		case "java.lang.Integer":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(Integer.parseInt((String) this.value));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-			case "java.math.BigInteger":
-			case "java.math.BigDecimal":
-				return resultClass.cast(((Number) this.value).intValue());
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? Integer.valueOf(1) : Integer.valueOf(0));
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "long":
-			// Avoids errors when dealing with primitives
-			resultClass = (Class<T>) Long.class;
-		case "java.lang.Long":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(Long.parseLong((String) this.value));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-			case "java.math.BigInteger":
-			case "java.math.BigDecimal":
-				return resultClass.cast(((Number) this.value).longValue());
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? Long.valueOf(1L) : Long.valueOf(0L));
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "float":
-			// Avoids errors when dealing with primitives
-			resultClass = (Class<T>) Float.class;
-		case "java.lang.Float":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(Float.parseFloat((String) this.value));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-			case "java.math.BigInteger":
-			case "java.math.BigDecimal":
-				return resultClass.cast(((Number) this.value).floatValue());
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? Float.valueOf(1.0f) : Float.valueOf(0.0f));
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "double":
-			// Avoids errors when dealing with primitives
-			resultClass = (Class<T>) Double.class;
-		case "java.lang.Double":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(Double.parseDouble((String) this.value));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-			case "java.math.BigInteger":
-			case "java.math.BigDecimal":
-				return resultClass.cast(((Number) this.value).doubleValue());
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? Double.valueOf(1.0d) : Double.valueOf(0.0d));
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "java.util.concurrent.atomic.AtomicInteger":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(new AtomicInteger(Integer.parseInt((String) this.value)));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-			case "java.math.BigInteger":
-			case "java.math.BigDecimal":
-				return resultClass.cast(new AtomicInteger(((Number) this.value).intValue()));
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? new AtomicInteger(1) : new AtomicInteger(0));
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "java.util.concurrent.atomic.AtomicLong":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(new AtomicLong(Long.parseLong((String) this.value)));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-			case "java.math.BigInteger":
-			case "java.math.BigDecimal":
-				return resultClass.cast(new AtomicLong(((Number) this.value).longValue()));
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? new AtomicLong(1L) : new AtomicLong(0L));
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "java.math.BigInteger":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(new BigInteger((String) this.value));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-				return resultClass.cast(BigInteger.valueOf((((Number) this.value).longValue())));
-			case "java.lang.Float":
-			case "java.lang.Double":
-				return resultClass.cast(BigDecimal.valueOf((((Number) this.value).doubleValue())).toBigInteger());
-			case "java.math.BigInteger":
-				return resultClass.cast((BigInteger) this.value);
-			case "java.math.BigDecimal":
-				return resultClass.cast(((BigDecimal) this.value).toBigInteger());
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? BigInteger.ONE : BigInteger.ZERO);
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "java.math.BigDecimal":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(new BigDecimal((String) this.value));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-				return resultClass.cast(BigDecimal.valueOf((((Number) this.value).doubleValue())));
-			case "java.math.BigInteger":
-				return resultClass.cast(new BigDecimal((BigInteger) this.value));
-			case "java.math.BigDecimal":
-				return resultClass.cast((BigDecimal) this.value);
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? BigDecimal.ONE : BigDecimal.ZERO);
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "java.lang.Number":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(new BigDecimal((String) this.value));
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-			case "java.math.BigInteger":
-			case "java.math.BigDecimal":
-				return resultClass.cast((Number) this.value);
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? BigDecimal.ONE : BigDecimal.ZERO);
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "char":
-			// Avoids errors when dealing with primitives
-			resultClass = (Class<T>) Character.class;
-		case "java.lang.Character":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast(((String) this.value).charAt(0));
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? Character.valueOf('t') : Character.valueOf('f'));
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "java.lang.CharSequence":
-			// If the class is CharSequence, use String
-		case "java.lang.String":
-			switch (this.value.getClass().getName()) {
-			case "java.lang.String":
-				return resultClass.cast((String) this.value);
-			case "java.lang.Byte":
-			case "java.lang.Short":
-			case "java.lang.Integer":
-			case "java.lang.Long":
-			case "java.lang.Float":
-			case "java.lang.Double":
-			case "java.math.BigInteger":
-			case "java.math.BigDecimal":
-				return resultClass.cast(((Number) this.value).toString());
-			case "java.lang.Boolean":
-				return resultClass.cast(((Boolean) this.value) ? "true" : "false");
-			default:
-				return resultClass.cast(this.value);
-			}
-		case "void":
-			// If the class is void, return null
-		case "java.lang.Void":
-		case "null":
-			// If the class is null, return null
-			return null;
-		default:
-			return resultClass.cast(this.value);
-		}
+		return (T) JsonConverters.of(resultClass)[this.kind()].convert(this, value);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T as(final JsonTypeToken<T> resultType) {
+		return (T) JsonBindings.fromJson(this, resultType.getType());
 	}
 
 	@SuppressWarnings("unchecked")
@@ -420,10 +285,11 @@ public class JsonImplementation implements Json {
 		JsonImplementation current = this;
 		for (int index = 0; index < keys.length; ++index) {
 			final Object key = keys[index];
-			if (current.value instanceof Map) {
-				final Map<String, JsonImplementation> map = (Map<String, JsonImplementation>) current.value;
+			final Object value = current.getValue();
+			if (current.kind() == JsonImplementation.OBJECT_VALUE) {
+				final Map<String, JsonImplementation> map = (Map<String, JsonImplementation>) value;
 				current = map.get(key.toString());
-			} else if (current.value instanceof List) {
+			} else if (current.kind() == JsonImplementation.ARRAY_VALUE) {
 				Integer valueIndex = null;
 				if (key instanceof Number) {
 					valueIndex = ((Number) key).intValue();
@@ -432,7 +298,7 @@ public class JsonImplementation implements Json {
 				} else {
 					throw new IllegalArgumentException("Key is not a Number or a String.");
 				}
-				final List<JsonImplementation> list = (List<JsonImplementation>) current.value;
+				final List<JsonImplementation> list = (List<JsonImplementation>) value;
 				current = list.get(valueIndex);
 			} else {
 				throw new ClassCastException("JSON value is not an object or an array");
@@ -441,19 +307,80 @@ public class JsonImplementation implements Json {
 		return current;
 	}
 
+	/**
+	 * Gets the value of the field with the given name of this JSON object, without
+	 * the array of keys get(Object...) takes.
+	 *
+	 * @param name
+	 *                 The name of the field.
+	 * @return The value of the field, or null if there's none.
+	 * @throws ClassCastException
+	 *                                If this JSON value is not a JSON object.
+	 */
+	@SuppressWarnings("unchecked")
+	Json field(final String name) {
+		if (this.kind() != JsonImplementation.OBJECT_VALUE) {
+			throw new ClassCastException("JSON value is not an object");
+		}
+		return ((Map<String, Json>) this.getValue()).get(name);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public Set<String> keys() {
-		if (this.value instanceof Map) {
-			final Map<String, Json> map = (Map<String, Json>) this.value;
+		final Object value = this.getValue();
+		if (this.kind() == JsonImplementation.OBJECT_VALUE) {
+			final Map<String, Json> map = (Map<String, Json>) value;
 			return map.keySet();
-		} else if (this.value instanceof List) {
-			final List<Json> list = (List<Json>) this.value;
-			final Set<String> keySet = new HashSet<String>();
-			for (int i = 0; i < list.size(); ++i) {
-				keySet.add(Integer.toString(i));
-			}
-			return keySet;
+		} else if (this.kind() == JsonImplementation.ARRAY_VALUE) {
+			// The indexes are given as they're iterated over instead of being stored
+			final List<Json> list = (List<Json>) value;
+			return new AbstractSet<String>() {
+
+				@Override
+				public int size() {
+					return list.size();
+				}
+
+				@Override
+				public boolean contains(final Object key) {
+					if (!(key instanceof String)) {
+						return false;
+					}
+					try {
+						final int index = Integer.parseInt((String) key);
+						return (0 <= index) && (index < list.size()) && key.equals(JsonImplementation.indexKey(index));
+					} catch (final NumberFormatException e) {
+						return false;
+					}
+				}
+
+				@Override
+				public Iterator<String> iterator() {
+					return new Iterator<String>() {
+
+						/**
+						 * Index of the next key.
+						 */
+						private int index = 0;
+
+						@Override
+						public boolean hasNext() {
+							return this.index < list.size();
+						}
+
+						@Override
+						public String next() {
+							if (!this.hasNext()) {
+								throw new NoSuchElementException();
+							}
+							return JsonImplementation.indexKey(this.index++);
+						}
+
+					};
+				}
+
+			};
 		} else {
 			throw new ClassCastException("JSON value is not an object or an array");
 		}
@@ -462,15 +389,132 @@ public class JsonImplementation implements Json {
 	@SuppressWarnings("unchecked")
 	@Override
 	public Collection<Json> values() {
-		if (this.value instanceof Map) {
-			final Map<String, Json> map = (Map<String, Json>) this.value;
+		final Object value = this.getValue();
+		if (this.kind() == JsonImplementation.OBJECT_VALUE) {
+			final Map<String, Json> map = (Map<String, Json>) value;
 			return map.values();
-		} else if (this.value instanceof List) {
-			final List<Json> list = (List<Json>) this.value;
+		} else if (this.kind() == JsonImplementation.ARRAY_VALUE) {
+			final List<Json> list = (List<Json>) value;
 			return list;
 		} else {
 			throw new ClassCastException("JSON value is not an object or an array");
 		}
 	}
 
+	@Override
+	public int size() {
+		final Object value = this.getValue();
+		if (this.kind() == JsonImplementation.OBJECT_VALUE) {
+			return ((Map<?, ?>) value).size();
+		} else if (this.kind() == JsonImplementation.ARRAY_VALUE) {
+			return ((List<?>) value).size();
+		} else {
+			throw new ClassCastException("JSON value is not an object or an array");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Json get(final int index) {
+		final Object value = this.getValue();
+		if (this.kind() == JsonImplementation.OBJECT_VALUE) {
+			final Map<String, Json> map = (Map<String, Json>) value;
+			return map.get(Integer.toString(index));
+		} else if (this.kind() == JsonImplementation.ARRAY_VALUE) {
+			final List<Json> list = (List<Json>) value;
+			return list.get(index);
+		} else {
+			throw new ClassCastException("JSON value is not an object or an array");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public String keyAt(final int index) {
+		final Object value = this.getValue();
+		if (this.kind() == JsonImplementation.OBJECT_VALUE) {
+			if ((index < 0) || (((Map<?, ?>) value).size() <= index)) {
+				throw new IndexOutOfBoundsException();
+			} else if (value instanceof JsonObjectMap) {
+				return ((JsonObjectMap) value).key(index);
+			}
+			return JsonImplementation.entry((Map<String, Json>) value, index).getKey();
+		} else if (this.kind() == JsonImplementation.ARRAY_VALUE) {
+			if ((index < 0) || (((List<?>) value).size() <= index)) {
+				throw new IndexOutOfBoundsException();
+			}
+			return JsonImplementation.indexKey(index);
+		} else {
+			throw new ClassCastException("JSON value is not an object or an array");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Json valueAt(final int index) {
+		final Object value = this.getValue();
+		if (this.kind() == JsonImplementation.OBJECT_VALUE) {
+			if ((index < 0) || (((Map<?, ?>) value).size() <= index)) {
+				throw new IndexOutOfBoundsException();
+			} else if (value instanceof JsonObjectMap) {
+				return ((JsonObjectMap) value).value(index);
+			}
+			return JsonImplementation.entry((Map<String, Json>) value, index).getValue();
+		} else if (this.kind() == JsonImplementation.ARRAY_VALUE) {
+			final List<Json> list = (List<Json>) value;
+			return list.get(index);
+		} else {
+			throw new ClassCastException("JSON value is not an object or an array");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEach(final BiConsumer<? super String, ? super Json> action) {
+		final Object value = this.getValue();
+		if (this.kind() == JsonImplementation.OBJECT_VALUE) {
+			if (value instanceof JsonObjectMap) {
+				final JsonObjectMap map = (JsonObjectMap) value;
+				for (int index = 0; index < map.size(); ++index) {
+					action.accept(map.key(index), map.value(index));
+				}
+			} else {
+				((Map<String, Json>) value).forEach(action);
+			}
+		} else if (this.kind() == JsonImplementation.ARRAY_VALUE) {
+			final List<Json> list = (List<Json>) value;
+			for (int index = 0; index < list.size(); ++index) {
+				action.accept(JsonImplementation.indexKey(index), list.get(index));
+			}
+		} else {
+			throw new ClassCastException("JSON value is not an object or an array");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void forEachValue(final ObjIntConsumer<? super Json> action) {
+		final Object value = this.getValue();
+		if (this.kind() == JsonImplementation.OBJECT_VALUE) {
+			if (value instanceof JsonObjectMap) {
+				final JsonObjectMap map = (JsonObjectMap) value;
+				for (int index = 0; index < map.size(); ++index) {
+					action.accept(map.value(index), index);
+				}
+			} else {
+				int index = 0;
+				for (final Json element : ((Map<String, Json>) value).values()) {
+					action.accept(element, index++);
+				}
+			}
+		} else if (this.kind() == JsonImplementation.ARRAY_VALUE) {
+			final List<Json> list = (List<Json>) value;
+			for (int index = 0; index < list.size(); ++index) {
+				action.accept(list.get(index), index);
+			}
+		} else {
+			throw new ClassCastException("JSON value is not an object or an array");
+		}
+	}
+
 }
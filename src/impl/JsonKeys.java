@@ -0,0 +1,154 @@
+package impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The field names and object shapes seen by a reader, so that values read with
+ * the same keys share their Strings and their layout. Both are bounded, and the
+ * same instance may be shared by readers running on different threads.
+ *
+ * Field names are looked up by their characters in a cache with one slot per
+ * hash, so that a name already in the cache is found without making a String
+ * from it. Shapes are made as the keys of objects are read, each one from the
+ * shape before its last key, and are only shared while there are few enough of
+ * them.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonKeys {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Number of slots of the cache of field names. It must be a power of two.
+	 */
+	private static final int CACHE_SIZE = 512;
+	/**
+	 * Maximum number of characters of a field name to cache.
+	 */
+	private static final int MAX_CACHED_LENGTH = 64;
+	/**
+	 * Maximum number of keys of a shape.
+	 */
+	private static final int MAX_KEYS = 64;
+	/**
+	 * Maximum number of shapes made from the same shape.
+	 */
+	private static final int MAX_TRANSITIONS = 16;
+	/**
+	 * Maximum number of shapes.
+	 */
+	private static final int MAX_SHAPES = 4096;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The cache of field names, by the hash of their characters, or null until a
+	 * field name is cached.
+	 */
+	private String[] names;
+	/**
+	 * The shape of objects with no keys, which every other shape is made from.
+	 */
+	private final JsonShape empty;
+	/**
+	 * Number of shapes made.
+	 */
+	private final AtomicInteger shapes;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs empty caches of field names and shapes.
+	 */
+	JsonKeys() {
+		this.empty = new JsonShape(new String[0]);
+		this.shapes = new AtomicInteger(1);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Gets the String with the given characters, taking it from the cache if it's
+	 * there, or making it and putting it in the cache otherwise.
+	 *
+	 * @param text
+	 *                 The characters of a field name.
+	 * @return A String with the given characters.
+	 */
+	String name(final CharSequence text) {
+		final int length = text.length();
+		if (length > JsonKeys.MAX_CACHED_LENGTH) {
+			return text.toString();
+		}
+		int hash = 0;
+		for (int index = 0; index < length; ++index) {
+			hash = (31 * hash) + text.charAt(index);
+		}
+		String[] names = this.names;
+		if (names == null) {
+			names = new String[JsonKeys.CACHE_SIZE];
+			this.names = names;
+		}
+		final int slot = (hash ^ (hash >>> 16)) & (JsonKeys.CACHE_SIZE - 1);
+		final String cached = names[slot];
+		if ((cached != null) && cached.contentEquals(text)) {
+			return cached;
+		}
+		// Strings can be shared between threads without synchronization, so a slot
+		// written by another thread at the same time is at worst missed
+		final String name = text.toString();
+		names[slot] = name;
+		return name;
+	}
+
+	/**
+	 * Gets the shape of objects with no keys.
+	 *
+	 * @return The shape of objects with no keys.
+	 */
+	JsonShape empty() {
+		return this.empty;
+	}
+
+	/**
+	 * Gets the shape made from the given one by adding a key after its keys.
+	 *
+	 * @param shape
+	 *                  A shape that doesn't have the key.
+	 * @param key
+	 *                  The key to add.
+	 * @return The shape with the key added, or null if there are too many shapes to
+	 *         make a new one.
+	 */
+	JsonShape next(final JsonShape shape, final String key) {
+		final JsonShape next = shape.transitions.get(key);
+		if (next != null) {
+			return next;
+		}
+		if ((shape.size() >= JsonKeys.MAX_KEYS) || (shape.transitions.size() >= JsonKeys.MAX_TRANSITIONS)
+				|| (this.shapes.get() >= JsonKeys.MAX_SHAPES)) {
+			return null;
+		}
+		final String[] keys = new String[shape.size() + 1];
+		for (int index = 0; index < shape.size(); ++index) {
+			keys[index] = shape.key(index);
+		}
+		keys[shape.size()] = key;
+		final JsonShape made = new JsonShape(keys);
+		final JsonShape previous = shape.transitions.putIfAbsent(key, made);
+		if (previous != null) {
+			return previous;
+		}
+		this.shapes.incrementAndGet();
+		return made;
+	}
+
+}
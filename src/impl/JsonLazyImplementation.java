@@ -0,0 +1,114 @@
+package impl;
+
+import api.Json;
+
+/**
+ * A JSON value read by a JsonLazyReaderImplementation, which is decoded from
+ * the array it was read from the first time it's accessed.
+ *
+ * @see impl.JsonLazyReaderImplementation
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonLazyImplementation extends JsonImplementation {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Placeholder for the internal value of a JSON value that hasn't been decoded
+	 * yet.
+	 */
+	private static final Object UNDECODED = new Object();
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The reader this JSON value was read by.
+	 */
+	private final JsonLazyReaderImplementation reader;
+	/**
+	 * The index in the offsets of the reader of the opening bracket of this value
+	 * if it's a structure, or of the comma or closing bracket after it otherwise.
+	 */
+	private final int index;
+	/**
+	 * The index in the array of the reader where this value starts if it's not a
+	 * structure, or -1.
+	 */
+	private final int start;
+	/**
+	 * The index in the offsets of the reader of the opening bracket of the
+	 * structure this value is in, or -1.
+	 */
+	private final int parent;
+	/**
+	 * Internal value of this JSON value once it has been decoded.
+	 */
+	private volatile Object value;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs an undecoded JsonLazyImplementation.
+	 *
+	 * @param reader
+	 *                   The reader the value is read by.
+	 * @param index
+	 *                   The index in the offsets of the reader of the opening
+	 *                   bracket of the value if it's a structure, or of the comma
+	 *                   or closing bracket after it otherwise.
+	 * @param start
+	 *                   The index in the array of the reader where the value starts
+	 *                   if it's not a structure, or -1.
+	 * @param parent
+	 *                   The index in the offsets of the reader of the opening
+	 *                   bracket of the structure the value is in, or -1.
+	 */
+	JsonLazyImplementation(final JsonLazyReaderImplementation reader, final int index, final int start,
+			final int parent) {
+		super(null);
+		this.reader = reader;
+		this.index = index;
+		this.start = start;
+		this.parent = parent;
+		this.value = JsonLazyImplementation.UNDECODED;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	@Override
+	Object getValue() {
+		Object value = this.value;
+		if (value == JsonLazyImplementation.UNDECODED) {
+			synchronized (this.reader) {
+				value = this.value;
+				if (value == JsonLazyImplementation.UNDECODED) {
+					value = this.reader.decode(this.index, this.start, this.parent);
+					this.value = value;
+				}
+			}
+		}
+		return value;
+	}
+
+	@Override
+	byte kind() {
+		return JsonImplementation.kindOf(this.getValue());
+	}
+
+	@Override
+	public JsonType getType() {
+		if ((this.start < 0) && (this.value == JsonLazyImplementation.UNDECODED)) {
+			// The type of a structure is known without decoding it
+			return this.reader.isObject(this.index) ? JsonType.OBJECT : JsonType.ARRAY;
+		}
+		return super.getType();
+	}
+
+}
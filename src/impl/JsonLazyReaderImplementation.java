@@ -0,0 +1,519 @@
+package impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import api.Json;
+import api.JsonReader;
+
+/**
+ * A Reader to read JSON values lazily from an array held in memory. Reading a
+ * structure only finds the positions of its brackets, colons and commas. Each
+ * JSON value decodes its own children, strings and numbers the first time it's
+ * accessed, so the parts of a document that are never accessed are never
+ * decoded.
+ *
+ * The values read keep the array they were read from, which must not be
+ * modified while they are in use. Syntax errors inside a value are only found
+ * when the value is decoded.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class JsonLazyReaderImplementation implements JsonReader {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The array of UTF-8 encoded bytes being read, or null if characters are being
+	 * read.
+	 */
+	private final byte[] bytes;
+	/**
+	 * The array of characters being read, or null if bytes are being read.
+	 */
+	private final char[] characters;
+	/**
+	 * Index in the array after the last character to read.
+	 */
+	private final int limit;
+	/**
+	 * The parser used to decode values from the array.
+	 */
+	private final JsonParserImplementation parser;
+	/**
+	 * Index in the array where the next structure starts.
+	 */
+	private int position;
+	/**
+	 * Indexes in the array of the brackets, colons and commas of the structures
+	 * read.
+	 */
+	private int[] offsets;
+	/**
+	 * For each opening bracket in the offsets, the index in the offsets of its
+	 * closing bracket.
+	 */
+	private int[] ends;
+	/**
+	 * Number of offsets found.
+	 */
+	private int count;
+	/**
+	 * Index in the offsets of the first offset after the last child decoded.
+	 */
+	private int next;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a JsonReader from the given array of UTF-8 encoded bytes.
+	 *
+	 * @param bytes
+	 *                  A byte array to parse JSON data from.
+	 */
+	public JsonLazyReaderImplementation(final byte[] bytes) {
+		this(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Constructs a JsonReader from the given range of an array of UTF-8 encoded
+	 * bytes.
+	 *
+	 * @param bytes
+	 *                   A byte array to parse JSON data from.
+	 * @param offset
+	 *                   Index of the first byte to read.
+	 * @param length
+	 *                   Number of bytes to read.
+	 * @throws IndexOutOfBoundsException
+	 *                                       If the range is out of the bounds of
+	 *                                       the array.
+	 */
+	public JsonLazyReaderImplementation(final byte[] bytes, final int offset, final int length) {
+		this(bytes, null, offset, length, new JsonUtf8ReaderImplementation(bytes, offset, length));
+	}
+
+	/**
+	 * Constructs a JsonReader from the given String. The characters of the String
+	 * are copied into an array.
+	 *
+	 * @param string
+	 *                   A String to parse JSON data from.
+	 */
+	public JsonLazyReaderImplementation(final String string) {
+		this(string.toCharArray());
+	}
+
+	/**
+	 * Constructs a JsonReader from the given character array.
+	 *
+	 * @param characters
+	 *                       A character array to parse JSON data from.
+	 */
+	public JsonLazyReaderImplementation(final char[] characters) {
+		this(characters, 0, characters.length);
+	}
+
+	/**
+	 * Constructs a JsonReader from the given range of a character array.
+	 *
+	 * @param characters
+	 *                       A character array to parse JSON data from.
+	 * @param offset
+	 *                       Index of the first character to read.
+	 * @param length
+	 *                       Number of characters to read.
+	 * @throws IndexOutOfBoundsException
+	 *                                       If the range is out of the bounds of
+	 *                                       the array.
+	 */
+	public JsonLazyReaderImplementation(final char[] characters, final int offset, final int length) {
+		this(null, characters, offset, length, new JsonReaderImplementation(characters, offset, length));
+	}
+
+	/**
+	 * Constructs a JsonReader from the array to read and a parser on it.
+	 *
+	 * @param bytes
+	 *                       The byte array to read, or null.
+	 * @param characters
+	 *                       The character array to read, or null.
+	 * @param offset
+	 *                       Index of the first element to read.
+	 * @param length
+	 *                       Number of elements to read.
+	 * @param parser
+	 *                       A parser that reads the same range of the array in
+	 *                       place.
+	 */
+	private JsonLazyReaderImplementation(final byte[] bytes, final char[] characters, final int offset,
+			final int length, final JsonParserImplementation parser) {
+		this.bytes = bytes;
+		this.characters = characters;
+		this.limit = offset + length;
+		this.parser = parser;
+		this.position = offset;
+		this.offsets = new int[64];
+		this.ends = new int[64];
+		this.count = 0;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Gets the character at the given index of the offsets.
+	 *
+	 * @param index
+	 *                  An index of the offsets.
+	 * @return The bracket, colon or comma at that offset.
+	 */
+	private char character(final int index) {
+		if (this.bytes != null) {
+			return (char) this.bytes[this.offsets[index]];
+		}
+		return this.characters[this.offsets[index]];
+	}
+
+	/**
+	 * Adds an offset.
+	 *
+	 * @param offset
+	 *                   The index in the array of a bracket, colon or comma.
+	 */
+	private void add(final int offset) {
+		if (this.count == this.offsets.length) {
+			this.offsets = Arrays.copyOf(this.offsets, 2 * this.count);
+			this.ends = Arrays.copyOf(this.ends, 2 * this.count);
+		}
+		this.offsets[this.count++] = offset;
+	}
+
+	/**
+	 * Finds the offsets of the structure starting at the given index of the array,
+	 * matching its brackets.
+	 *
+	 * @param first
+	 *                  The index of the opening bracket of the structure.
+	 * @return Whether the brackets of the structure match and it ends before the
+	 *         end of the input.
+	 */
+	private boolean index(final int first) {
+		int[] open = new int[16];
+		int depth = 0;
+		for (int position = first; position < this.limit; ++position) {
+			final char current = this.bytes != null ? (char) this.bytes[position] : this.characters[position];
+			switch (current) {
+			case '\"':
+				// Strings are skipped without looking at their contents, a word at a time if
+				// they're bytes
+				if (this.bytes != null) {
+					position = JsonScanner.skipString(this.bytes, position + 1, this.limit);
+					break;
+				}
+				for (++position; position < this.limit; ++position) {
+					final char inner = this.bytes != null ? (char) this.bytes[position] : this.characters[position];
+					if (inner == '\"') {
+						break;
+					} else if (inner == '\\') {
+						++position;
+					}
+				}
+				break;
+			case '{':
+			case '[':
+				if (depth == open.length) {
+					open = Arrays.copyOf(open, 2 * depth);
+				}
+				open[depth++] = this.count;
+				this.add(position);
+				break;
+			case '}':
+			case ']':
+				if ((depth == 0) || (this.character(open[depth - 1]) != (current == '}' ? '{' : '['))) {
+					return false;
+				}
+				this.ends[open[--depth]] = this.count;
+				this.add(position);
+				if (depth == 0) {
+					this.position = position + 1;
+					return true;
+				}
+				break;
+			case ':':
+			case ',':
+				this.add(position);
+				break;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether there are only whitespace characters in the given range of the
+	 * array.
+	 *
+	 * @param from
+	 *                 Index of the first character of the range.
+	 * @param to
+	 *                 Index after the last character of the range.
+	 * @return Whether the range is blank.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private boolean isBlank(final int from, final int to) throws IOException {
+		this.parser.seek(from);
+		this.parser.skipWhitespace();
+		return this.parser.position() >= to;
+	}
+
+	/**
+	 * Creates the value that follows the given offset, which is left undecoded. The
+	 * index of the first offset after the value is left in the next field.
+	 *
+	 * @param parent
+	 *                   The index in the offsets of the opening bracket of the
+	 *                   structure the value is in.
+	 * @param before
+	 *                   The index in the offsets of the bracket, colon or comma
+	 *                   before the value.
+	 * @return The value.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private Json child(final int parent, final int before) throws IOException {
+		final int after = before + 1;
+		final char current = this.character(after);
+		if (((current == '{') || (current == '[')) && this.isBlank(this.offsets[before] + 1, this.offsets[after])) {
+			final int end = this.ends[after];
+			this.next = end + 1;
+			if (!this.isBlank(this.offsets[end] + 1, this.offsets[this.next])) {
+				throw this.parser.unexpectedCharacter(this.character(parent) == '{' ? "\',\' or \'}\'" : "\',\' or \']\'");
+			}
+			return new JsonLazyImplementation(this, after, -1, parent);
+		}
+		if (this.isBlank(this.offsets[before] + 1, this.offsets[after])) {
+			throw this.parser.unexpectedCharacter("\'{\', \'[\', \'t\', \'f\', \'n\', \'-\' or DIGIT");
+		}
+		this.next = after;
+		return new JsonLazyImplementation(this, after, this.offsets[before] + 1, parent);
+	}
+
+	/**
+	 * Decodes the JSON object whose opening bracket is at the given index of the
+	 * offsets. Its values are left undecoded.
+	 *
+	 * @param open
+	 *                 The index in the offsets of the opening bracket.
+	 * @return The fields of the object.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private Map<String, Json> decodeObject(final int open) throws IOException {
+		final JsonCompactMap map = new JsonCompactMap();
+		final int close = this.ends[open];
+		if (((open + 1) == close) && this.isBlank(this.offsets[open] + 1, this.offsets[close])) {
+			return map;
+		}
+		int before = open;
+		Json value;
+		while (true) {
+			final int colon = before + 1;
+			this.parser.seek(this.offsets[before] + 1);
+			if (this.parser.skipWhitespace() != '\"') {
+				throw this.parser.unexpectedCharacter("\'\"\'");
+			}
+			this.parser.nextToken();
+			final String key = this.parser.getString();
+			this.parser.skipWhitespace();
+			if ((this.character(colon) != ':') || (this.parser.position() != this.offsets[colon])) {
+				throw this.parser.unexpectedCharacter("\':\'");
+			}
+			value = this.child(open, colon);
+			map.add(key, value);
+			if ((this.next == close) || (this.character(this.next) != ',')) {
+				break;
+			}
+			before = this.next;
+		}
+		if (this.next != close) {
+			// The last value may hold the actual error
+			((JsonLazyImplementation) value).getValue();
+			this.parser.seek(this.offsets[this.next]);
+			throw this.parser.unexpectedCharacter("\',\' or \'}\'");
+		}
+		map.trim();
+		return map;
+	}
+
+	/**
+	 * Decodes the JSON array whose opening bracket is at the given index of the
+	 * offsets. Its elements are left undecoded.
+	 *
+	 * @param open
+	 *                 The index in the offsets of the opening bracket.
+	 * @return The elements of the array.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private List<Json> decodeArray(final int open) throws IOException {
+		final List<Json> list = new ArrayList<>();
+		final int close = this.ends[open];
+		if (((open + 1) == close) && this.isBlank(this.offsets[open] + 1, this.offsets[close])) {
+			return list;
+		}
+		int before = open;
+		Json value;
+		while (true) {
+			value = this.child(open, before);
+			list.add(value);
+			if ((this.next == close) || (this.character(this.next) != ',')) {
+				break;
+			}
+			before = this.next;
+		}
+		if (this.next != close) {
+			// The last value may hold the actual error
+			((JsonLazyImplementation) value).getValue();
+			this.parser.seek(this.offsets[this.next]);
+			throw this.parser.unexpectedCharacter("\',\' or \']\'");
+		}
+		return list;
+	}
+
+	/**
+	 * Decodes the string, number, boolean or null between the given index of the
+	 * array and the given index of the offsets.
+	 *
+	 * @param start
+	 *                   The index in the array where the value starts.
+	 * @param end
+	 *                   The index in the offsets of the comma or closing bracket
+	 *                   after the value.
+	 * @param parent
+	 *                   The index in the offsets of the opening bracket of the
+	 *                   structure the value is in.
+	 * @return The internal value of the JSON value.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private Object decodeScalar(final int start, final int end, final int parent) throws IOException {
+		this.parser.seek(start);
+		Object value;
+		switch (this.parser.nextToken()) {
+		case STRING:
+			value = this.parser.getString();
+			break;
+		case NUMBER:
+			value = this.parser.getNumber();
+			break;
+		case TRUE:
+			value = Boolean.TRUE;
+			break;
+		case FALSE:
+			value = Boolean.FALSE;
+			break;
+		default:
+			value = null;
+			break;
+		}
+		this.parser.skipWhitespace();
+		if (this.parser.position() != this.offsets[end]) {
+			throw this.parser.unexpectedCharacter(this.character(parent) == '{' ? "\',\' or \'}\'" : "\',\' or \']\'");
+		}
+		return value;
+	}
+
+	/**
+	 * Decodes the internal value of a lazy JSON value.
+	 *
+	 * @param index
+	 *                   The index in the offsets of the opening bracket of the
+	 *                   value if it's a structure, or of the comma or closing
+	 *                   bracket after it otherwise.
+	 * @param start
+	 *                   The index in the array where the value starts if it's not a
+	 *                   structure, or -1.
+	 * @param parent
+	 *                   The index in the offsets of the opening bracket of the
+	 *                   structure the value is in, or -1.
+	 * @return The internal value of the JSON value.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 */
+	Object decode(final int index, final int start, final int parent) {
+		try {
+			if (start >= 0) {
+				return this.decodeScalar(start, index, parent);
+			} else if (this.character(index) == '{') {
+				return this.decodeObject(index);
+			}
+			return this.decodeArray(index);
+		} catch (final IOException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/**
+	 * Checks whether the structure at the given index of the offsets is an object.
+	 *
+	 * @param index
+	 *                  The index in the offsets of the opening bracket of a
+	 *                  structure.
+	 * @return Whether the structure is an object instead of an array.
+	 */
+	boolean isObject(final int index) {
+		return this.character(index) == '{';
+	}
+
+	/**
+	 * Sets whether numbers with a fraction or an exponent are read as BigDecimal,
+	 * keeping every digit, instead of as the closest Double. Disabled by default.
+	 *
+	 * @param preciseDecimals
+	 *                            Whether to read numbers with a fraction or an
+	 *                            exponent as BigDecimal.
+	 */
+	public void setPreciseDecimals(final boolean preciseDecimals) {
+		this.parser.setPreciseDecimals(preciseDecimals);
+	}
+
+	@Override
+	public Json read() throws IOException {
+		synchronized (this) {
+			this.parser.seek(this.position);
+			final int current = this.parser.skipWhitespace();
+			if (current < 0) {
+				return null;
+			}
+			if ((current != '{') && (current != '[')) {
+				throw this.parser.unexpectedCharacter("not \'{\' or \'[\'");
+			}
+			final int first = this.count;
+			if (!this.index(this.parser.position())) {
+				// The structure is malformed, let the parser find the error
+				this.parser.seek(this.offsets[first]);
+				this.parser.read();
+				throw this.parser.unexpectedCharacter("matching brackets");
+			}
+			return new JsonLazyImplementation(this, first, -1, -1);
+		}
+	}
+
+}
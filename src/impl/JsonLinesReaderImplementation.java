@@ -0,0 +1,416 @@
+package impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import api.Json;
+import api.JsonReader;
+
+/**
+ * A Reader to read newline delimited JSON, where every line of UTF-8 encoded
+ * bytes holds a JSON value of any type. Blank lines are ignored.
+ *
+ * Lines are read in chunks, and each line is parsed on its own, so a malformed
+ * line doesn't keep the lines after it from being read. Chunks may be parsed in
+ * parallel on a ForkJoinPool, and their values are still returned in the order
+ * of the input.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class JsonLinesReaderImplementation implements JsonReader {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Minimum size of the chunks of lines that are parsed at once. Chunks are
+	 * extended to the end of their last line.
+	 */
+	private static final int CHUNK_SIZE = 65536;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The InputStream lines are read from, or null if they are read from an array.
+	 */
+	private final InputStream inputStream;
+	/**
+	 * The buffer the bytes of the input are in. If the input is an array this is
+	 * that array, otherwise it holds the bytes read that aren't in a chunk yet.
+	 */
+	private byte[] buffer;
+	/**
+	 * Index in the buffer of the first byte that isn't in a chunk yet.
+	 */
+	private int position;
+	/**
+	 * Index in the buffer after the last byte available.
+	 */
+	private int limit;
+	/**
+	 * Whether the end of the InputStream has been reached.
+	 */
+	private boolean isEndOfInput;
+	/**
+	 * Number of lines in the chunks made so far.
+	 */
+	private long lines;
+	/**
+	 * Whether numbers with a fraction or an exponent are read as BigDecimal instead
+	 * of as Double.
+	 */
+	private boolean preciseDecimals;
+	/**
+	 * The field names and object shapes seen by the parsers of every line.
+	 */
+	private final JsonKeys keys;
+	/**
+	 * The pool chunks are parsed on, or null if they are parsed when they are
+	 * needed.
+	 */
+	private ForkJoinPool pool;
+	/**
+	 * The action malformed lines are passed to, or null if they are thrown.
+	 */
+	private Consumer<IllegalArgumentException> errorHandler;
+	/**
+	 * The chunks being parsed on the pool, in the order of the input.
+	 */
+	private final Queue<ForkJoinTask<Object[]>> tasks;
+	/**
+	 * The values of the current chunk, or the exceptions for the lines that are
+	 * malformed.
+	 */
+	private Object[] records;
+	/**
+	 * Index of the next record of the current chunk.
+	 */
+	private int recordIndex;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a JsonLinesReader from the given InputStream of UTF-8 encoded
+	 * bytes.
+	 *
+	 * @param inputStream
+	 *                        An InputStream to read lines from.
+	 */
+	public JsonLinesReaderImplementation(final InputStream inputStream) {
+		this(inputStream, new byte[JsonLinesReaderImplementation.CHUNK_SIZE], 0, 0);
+	}
+
+	/**
+	 * Constructs a JsonLinesReader from the given array of UTF-8 encoded bytes. The
+	 * array is read in place and must not be modified while it's being read.
+	 *
+	 * @param bytes
+	 *                  A byte array to read lines from.
+	 */
+	public JsonLinesReaderImplementation(final byte[] bytes) {
+		this(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Constructs a JsonLinesReader from the given range of an array of UTF-8
+	 * encoded bytes. The array is read in place and must not be modified while it's
+	 * being read.
+	 *
+	 * @param bytes
+	 *                   A byte array to read lines from.
+	 * @param offset
+	 *                   Index of the first byte to read.
+	 * @param length
+	 *                   Number of bytes to read.
+	 * @throws IndexOutOfBoundsException
+	 *                                       If the range is out of the bounds of
+	 *                                       the array.
+	 */
+	public JsonLinesReaderImplementation(final byte[] bytes, final int offset, final int length) {
+		this(null, bytes, offset, offset + length);
+		if ((offset < 0) || (length < 0) || (length > (bytes.length - offset))) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	/**
+	 * Constructs a JsonLinesReader from its source and its buffer.
+	 *
+	 * @param inputStream
+	 *                        An InputStream to read lines from, or null.
+	 * @param buffer
+	 *                        The buffer the bytes of the input are in.
+	 * @param position
+	 *                        Index in the buffer of the first byte.
+	 * @param limit
+	 *                        Index in the buffer after the last byte available.
+	 */
+	private JsonLinesReaderImplementation(final InputStream inputStream, final byte[] buffer, final int position,
+			final int limit) {
+		this.inputStream = inputStream;
+		this.buffer = buffer;
+		this.position = position;
+		this.limit = limit;
+		this.isEndOfInput = inputStream == null;
+		this.lines = 0;
+		this.preciseDecimals = false;
+		this.keys = new JsonKeys();
+		this.tasks = new ArrayDeque<>();
+		this.records = new Object[0];
+		this.recordIndex = 0;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Parses every line of a chunk.
+	 *
+	 * @param chunk
+	 *                            The array the chunk is in.
+	 * @param offset
+	 *                            Index of the first byte of the chunk.
+	 * @param length
+	 *                            Number of bytes of the chunk.
+	 * @param firstLine
+	 *                            Number of the first line of the chunk, starting
+	 *                            from 1.
+	 * @param preciseDecimals
+	 *                            Whether to read numbers with a fraction or an
+	 *                            exponent as BigDecimal.
+	 * @param keys
+	 *                            The field names and object shapes to share between
+	 *                            the parsers of the lines.
+	 * @return For each line that isn't blank, its value, or an
+	 *         IllegalArgumentException if it's malformed.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private static Object[] parse(final byte[] chunk, final int offset, final int length, final long firstLine,
+			final boolean preciseDecimals, final JsonKeys keys) throws IOException {
+		final List<Object> records = new ArrayList<>();
+		final int end = offset + length;
+		long line = firstLine;
+		for (int first = offset; first < end; ++line) {
+			int last = first;
+			while ((last < end) && (chunk[last] != '\n')) {
+				++last;
+			}
+			final JsonUtf8ReaderImplementation parser = new JsonUtf8ReaderImplementation(chunk, first, last - first);
+			parser.setPreciseDecimals(preciseDecimals);
+			parser.setKeys(keys);
+			try {
+				final Json value = parser.readValue();
+				if (value != null) {
+					if (parser.skipWhitespace() >= 0) {
+						throw parser.unexpectedCharacter("end of line");
+					}
+					records.add(value);
+				}
+			} catch (final IllegalArgumentException e) {
+				records.add(new IllegalArgumentException("Malformed JSON in line " + line + ": " + e.getMessage(), e));
+			}
+			first = last + 1;
+		}
+		return records.toArray();
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Sets whether numbers with a fraction or an exponent are read as BigDecimal,
+	 * keeping every digit, instead of as the closest Double. Disabled by default.
+	 * Chunks already being parsed aren't affected.
+	 *
+	 * @param preciseDecimals
+	 *                            Whether to read numbers with a fraction or an
+	 *                            exponent as BigDecimal.
+	 */
+	public void setPreciseDecimals(final boolean preciseDecimals) {
+		this.preciseDecimals = preciseDecimals;
+	}
+
+	/**
+	 * Sets the pool chunks of lines are parsed on. While a pool is set, a few
+	 * chunks per thread of the pool are read and parsed ahead of the values
+	 * returned. By default, no pool is set and each chunk is parsed by the thread
+	 * that reaches it.
+	 *
+	 * @param pool
+	 *                 The pool to parse chunks on, for example
+	 *                 ForkJoinPool.commonPool(), or null to parse them when they
+	 *                 are reached.
+	 */
+	public void setPool(final ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Sets the action malformed lines are passed to. By default, the exception for
+	 * a malformed line is thrown by read, and reading can go on from the next line
+	 * afterwards.
+	 *
+	 * @param errorHandler
+	 *                         The action to pass the exceptions for malformed lines
+	 *                         to, which are then skipped, or null to throw them.
+	 */
+	public void setErrorHandler(final Consumer<IllegalArgumentException> errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Gets the next chunk of lines out of the input and parses it, or submits it to
+	 * be parsed.
+	 *
+	 * @return The task parsing the chunk if there's a pool, or the records of the
+	 *         chunk otherwise, or null if the end of the input has been reached.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private Object nextChunk() throws IOException {
+		int end = Math.min(this.limit, this.position + JsonLinesReaderImplementation.CHUNK_SIZE);
+		if (this.inputStream != null) {
+			// Read until the chunk is full and ends in a line break, or the input ends
+			while (!this.isEndOfInput) {
+				if (this.limit == this.buffer.length) {
+					this.buffer = Arrays.copyOf(this.buffer, 2 * this.buffer.length);
+				}
+				final int count = this.inputStream.read(this.buffer, this.limit, this.buffer.length - this.limit);
+				if (count < 0) {
+					this.isEndOfInput = true;
+				} else {
+					this.limit += count;
+				}
+				end = this.limit;
+				while ((end > 0) && (this.buffer[end - 1] != '\n')) {
+					--end;
+				}
+				// Without a pool, lines are handed out as soon as they are complete
+				if ((end > 0) && ((this.pool == null) || (this.limit == this.buffer.length))) {
+					break;
+				}
+			}
+			if (this.isEndOfInput) {
+				end = this.limit;
+			}
+		} else {
+			while ((end < this.limit) && (this.buffer[end - 1] != '\n')) {
+				++end;
+			}
+		}
+		if (end == this.position) {
+			return null;
+		}
+		final byte[] chunk;
+		final int offset;
+		final int length = end - this.position;
+		if (this.inputStream != null) {
+			// The chunk is copied out so that the buffer can be reused while it's parsed
+			chunk = Arrays.copyOf(this.buffer, end);
+			offset = 0;
+			System.arraycopy(this.buffer, end, this.buffer, 0, this.limit - end);
+			this.limit -= end;
+		} else {
+			chunk = this.buffer;
+			offset = this.position;
+			this.position = end;
+		}
+		final long firstLine = this.lines + 1;
+		for (int index = offset; index < (offset + length); ++index) {
+			if (chunk[index] == '\n') {
+				++this.lines;
+			}
+		}
+		if (chunk[(offset + length) - 1] != '\n') {
+			++this.lines;
+		}
+		final boolean preciseDecimals = this.preciseDecimals;
+		final JsonKeys keys = this.keys;
+		if (this.pool == null) {
+			return JsonLinesReaderImplementation.parse(chunk, offset, length, firstLine, preciseDecimals, keys);
+		}
+		return this.pool.submit(
+				() -> JsonLinesReaderImplementation.parse(chunk, offset, length, firstLine, preciseDecimals, keys));
+	}
+
+	/**
+	 * Moves to the records of the next chunk of lines.
+	 *
+	 * @return Whether there is a next chunk, false if the end of the input has been
+	 *         reached.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean nextRecords() throws IOException {
+		if ((this.pool == null) && this.tasks.isEmpty()) {
+			final Object records = this.nextChunk();
+			if (records == null) {
+				return false;
+			}
+			this.records = (Object[]) records;
+		} else {
+			if (this.pool != null) {
+				final int ahead = 2 * this.pool.getParallelism();
+				while (this.tasks.size() < ahead) {
+					final Object task = this.nextChunk();
+					if (task == null) {
+						break;
+					}
+					this.tasks.add((ForkJoinTask<Object[]>) task);
+				}
+			}
+			if (this.tasks.isEmpty()) {
+				return false;
+			}
+			this.records = this.tasks.remove().join();
+		}
+		this.recordIndex = 0;
+		return true;
+	}
+
+	/**
+	 * Reads the value of the next line that isn't blank.
+	 *
+	 * @return The value of the next line, or null if the end of the input has been
+	 *         reached.
+	 * @throws IllegalArgumentException
+	 *                                      If the next line is malformed and no
+	 *                                      error handler is set.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@Override
+	public Json read() throws IOException {
+		while (true) {
+			while (this.recordIndex == this.records.length) {
+				if (!this.nextRecords()) {
+					return null;
+				}
+			}
+			final Object record = this.records[this.recordIndex++];
+			if (!(record instanceof IllegalArgumentException)) {
+				return (Json) record;
+			}
+			if (this.errorHandler == null) {
+				throw (IllegalArgumentException) record;
+			}
+			this.errorHandler.accept((IllegalArgumentException) record);
+		}
+	}
+
+}
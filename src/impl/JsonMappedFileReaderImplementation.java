@@ -0,0 +1,159 @@
+package impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A Reader to read JSON values from a UTF-8 encoded file by mapping it into
+ * memory. The file is read straight from the mapping, without going through an
+ * InputStream, and files larger than a single mapping can hold are mapped in
+ * consecutive windows as they are read.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class JsonMappedFileReaderImplementation extends JsonUtf8ReaderImplementation implements Closeable {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Default size of the windows the file is mapped in.
+	 */
+	private static final long WINDOW_SIZE = 1L << 30;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The channel of the file being read.
+	 */
+	private final FileChannel channel;
+	/**
+	 * Size of the windows the file is mapped in.
+	 */
+	private final long windowSize;
+	/**
+	 * Position in the file after the last byte mapped.
+	 */
+	private long mapped;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a JsonReader from the file at the given path.
+	 *
+	 * @param path
+	 *                 The path of a UTF-8 encoded file to read JSON data from.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	public JsonMappedFileReaderImplementation(final Path path) throws IOException {
+		this(path, JsonMappedFileReaderImplementation.WINDOW_SIZE);
+	}
+
+	/**
+	 * Constructs a JsonReader from the file at the given path, mapping it in
+	 * windows of the given size.
+	 *
+	 * @param path
+	 *                       The path of a UTF-8 encoded file to read JSON data
+	 *                       from.
+	 * @param windowSize
+	 *                       The size of the windows the file is mapped in, which
+	 *                       must be between 1 and Integer.MAX_VALUE.
+	 * @throws IllegalArgumentException
+	 *                                      If the window size is not valid.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	public JsonMappedFileReaderImplementation(final Path path, final long windowSize) throws IOException {
+		this(FileChannel.open(path, StandardOpenOption.READ), windowSize);
+	}
+
+	/**
+	 * Constructs a JsonReader from the given file channel, mapping it in windows of
+	 * the given size.
+	 *
+	 * @param channel
+	 *                       The channel of the file to read JSON data from.
+	 * @param windowSize
+	 *                       The size of the windows the file is mapped in.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private JsonMappedFileReaderImplementation(final FileChannel channel, final long windowSize)
+			throws IOException {
+		super(JsonMappedFileReaderImplementation.map(channel, 0L, windowSize));
+		this.channel = channel;
+		this.windowSize = windowSize;
+		this.mapped = Math.min(windowSize, channel.size());
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Maps the window of the given file starting at the given position. The channel
+	 * is closed if it can't be mapped.
+	 *
+	 * @param channel
+	 *                       The channel of the file to map.
+	 * @param position
+	 *                       The position in the file the window starts at.
+	 * @param windowSize
+	 *                       The maximum size of the window.
+	 * @return A read-only mapping of the window.
+	 * @throws IllegalArgumentException
+	 *                                      If the window size is not valid.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private static ByteBuffer map(final FileChannel channel, final long position, final long windowSize)
+			throws IOException {
+		try {
+			if ((windowSize < 1) || (Integer.MAX_VALUE < windowSize)) {
+				throw new IllegalArgumentException("Window size must be between 1 and " + Integer.MAX_VALUE);
+			}
+			final long size = Math.min(windowSize, channel.size() - position);
+			return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	@Override
+	ByteBuffer nextByteBuffer() throws IOException {
+		final long size = this.channel.size();
+		if (this.mapped >= size) {
+			return null;
+		}
+		final ByteBuffer window = JsonMappedFileReaderImplementation.map(this.channel, this.mapped, this.windowSize);
+		this.mapped += window.remaining();
+		return window;
+	}
+
+	/**
+	 * Closes the file being read. Mappings already made remain valid until they are
+	 * garbage collected.
+	 *
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+}
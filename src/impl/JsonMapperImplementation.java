@@ -0,0 +1,53 @@
+package impl;
+
+import api.Json;
+import api.JsonConverter;
+import api.JsonMapper;
+import api.JsonTypeToken;
+
+/**
+ * This is an implementation of the JsonMapper interface. The bindings of
+ * classes and types and the converters registered are shared by every mapper
+ * and by Json.as, so mappers hold no state of their own.
+ *
+ * @see api.JsonMapper
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class JsonMapperImplementation implements JsonMapper {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a JsonMapperImplementation.
+	 */
+	public JsonMapperImplementation() {
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	@Override
+	public <T> T fromJson(final Json json, final Class<T> resultClass) {
+		return json.as(resultClass);
+	}
+
+	@Override
+	public <T> T fromJson(final Json json, final JsonTypeToken<T> resultType) {
+		return json.as(resultType);
+	}
+
+	@Override
+	public Json toJson(final Object object) {
+		return JsonBindings.toJson(object);
+	}
+
+	@Override
+	public <T> void registerConverter(final Class<T> resultClass, final JsonConverter<? extends T> converter) {
+		JsonConverters.register(resultClass, converter);
+	}
+
+}
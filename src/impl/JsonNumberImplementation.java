@@ -0,0 +1,251 @@
+package impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JSON number read from an array read in place, which keeps the span of the
+ * array it was read from along with its significand and exponent. The number is
+ * only made into a Number the first time one is needed, and whole numbers and
+ * doubles are converted from the significand and exponent without one.
+ * BigDecimals, BigIntegers and Strings are made from the span itself, so that
+ * they keep every digit as it was read.
+ *
+ * @see impl.JsonParserImplementation#setRawNumbers(boolean)
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonNumberImplementation extends JsonImplementation {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The array of characters the number was read from, or null if it was read from
+	 * bytes.
+	 */
+	private final char[] characters;
+	/**
+	 * The array of bytes the number was read from, or null if it was read from
+	 * characters.
+	 */
+	private final byte[] bytes;
+	/**
+	 * Index in the array of the first character of the number.
+	 */
+	private final int offset;
+	/**
+	 * Number of characters or bytes of the number.
+	 */
+	private final int length;
+	/**
+	 * Whether the number has a minus sign.
+	 */
+	private final boolean negative;
+	/**
+	 * The first 19 significant digits of the number, as an unsigned long.
+	 */
+	private final long significand;
+	/**
+	 * The number of significant digits of the number.
+	 */
+	private final int significantDigits;
+	/**
+	 * The decimal exponent the significand is multiplied by.
+	 */
+	private final int exponent;
+	/**
+	 * Whether the number has neither a fraction nor an exponent.
+	 */
+	private final boolean isWhole;
+	/**
+	 * Whether the number is exactly its significand and exponent, which it isn't if
+	 * it has too many digits or a huge exponent.
+	 */
+	private final boolean isExact;
+	/**
+	 * Whether numbers with a fraction or an exponent are made into BigDecimal
+	 * instead of Double.
+	 */
+	private final boolean preciseDecimals;
+	/**
+	 * The number once it has been made into a Number.
+	 */
+	private volatile Number value;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a JSON number from the number a parser has just read from a span
+	 * of a character array.
+	 *
+	 * @param characters
+	 *                       The array the number was read from.
+	 * @param offset
+	 *                       Index of the first character of the number.
+	 * @param length
+	 *                       Number of characters of the number.
+	 * @param parser
+	 *                       The parser that has just read the number.
+	 */
+	JsonNumberImplementation(final char[] characters, final int offset, final int length,
+			final JsonParserImplementation parser) {
+		this(characters, null, offset, length, parser);
+	}
+
+	/**
+	 * Constructs a JSON number from the number a parser has just read from a span
+	 * of a byte array.
+	 *
+	 * @param bytes
+	 *                   The array the number was read from.
+	 * @param offset
+	 *                   Index of the first byte of the number.
+	 * @param length
+	 *                   Number of bytes of the number.
+	 * @param parser
+	 *                   The parser that has just read the number.
+	 */
+	JsonNumberImplementation(final byte[] bytes, final int offset, final int length,
+			final JsonParserImplementation parser) {
+		this(null, bytes, offset, length, parser);
+	}
+
+	/**
+	 * Constructs a JSON number from the number a parser has just read from a span
+	 * of either array.
+	 *
+	 * @param characters
+	 *                       The array of characters the number was read from, or
+	 *                       null.
+	 * @param bytes
+	 *                       The array of bytes the number was read from, or null.
+	 * @param offset
+	 *                       Index of the first character of the number.
+	 * @param length
+	 *                       Number of characters or bytes of the number.
+	 * @param parser
+	 *                       The parser that has just read the number.
+	 */
+	private JsonNumberImplementation(final char[] characters, final byte[] bytes, final int offset,
+			final int length, final JsonParserImplementation parser) {
+		super(null);
+		this.characters = characters;
+		this.bytes = bytes;
+		this.offset = offset;
+		this.length = length;
+		this.negative = parser.negative;
+		this.significand = parser.significand;
+		this.significantDigits = parser.significantDigits;
+		this.exponent = parser.exponent;
+		this.isWhole = parser.isWhole;
+		this.isExact = parser.numberText == null;
+		this.preciseDecimals = parser.preciseDecimals;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Gets the text of this number as it was read.
+	 *
+	 * @return The text of this number.
+	 */
+	private String text() {
+		return this.characters != null ? new String(this.characters, this.offset, this.length)
+				: new String(this.bytes, this.offset, this.length, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Checks whether this number is whole and fits in a long.
+	 *
+	 * @return Whether this number is whole and fits in a long.
+	 */
+	private boolean isLong() {
+		return this.isExact && this.isWhole
+				&& JsonNumbers.fitsLong(this.negative, this.significand, this.significantDigits);
+	}
+
+	/**
+	 * Writes this number as it was read to the given Writer.
+	 *
+	 * @param writer
+	 *                   The Writer to write to.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	void write(final Writer writer) throws IOException {
+		if (this.characters != null) {
+			writer.write(this.characters, this.offset, this.length);
+		} else {
+			writer.write(this.text());
+		}
+	}
+
+	@Override
+	Object getValue() {
+		Number value = this.value;
+		if (value == null) {
+			value = this.isExact
+					? JsonNumbers.toNumber(this.negative, this.significand, this.significantDigits, this.exponent,
+							this.isWhole, this.preciseDecimals)
+					: JsonNumbers.toNumber(this.text(), this.isWhole, this.preciseDecimals);
+			this.value = value;
+		}
+		return value;
+	}
+
+	@Override
+	byte kind() {
+		if (this.isLong()) {
+			return JsonImplementation.INTEGER_VALUE;
+		}
+		return JsonImplementation.kindOf(this.getValue());
+	}
+
+	@Override
+	public JsonType getType() {
+		return JsonType.NUMBER;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T as(final Class<T> resultClass) {
+		// The most common conversions are made from the significand without a Number
+		if (this.isLong()) {
+			final long value = this.negative ? -this.significand : this.significand;
+			if ((resultClass == long.class) || (resultClass == Long.class)) {
+				return (T) Long.valueOf(value);
+			} else if ((resultClass == int.class) || (resultClass == Integer.class)) {
+				return (T) Integer.valueOf((int) value);
+			} else if ((resultClass == double.class) || (resultClass == Double.class)) {
+				return (T) Double.valueOf(value);
+			}
+		} else if (this.isExact && !this.isWhole && !this.preciseDecimals
+				&& ((resultClass == double.class) || (resultClass == Double.class))) {
+			final double value = JsonNumbers.toDouble(this.negative, this.significand, this.exponent);
+			if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+				return (T) Double.valueOf(value);
+			}
+		}
+		if (!JsonConverters.isRegistered(resultClass)) {
+			// Precise representations are made from the digits read instead of from a
+			// double
+			if (resultClass == BigDecimal.class) {
+				return (T) new BigDecimal(this.text());
+			} else if (resultClass == BigInteger.class) {
+				return (T) (this.isWhole ? new BigInteger(this.text()) : new BigDecimal(this.text()).toBigInteger());
+			} else if ((resultClass == String.class) || (resultClass == CharSequence.class)) {
+				return (T) this.text();
+			}
+		}
+		return super.as(resultClass);
+	}
+
+}
@@ -0,0 +1,262 @@
+package impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import api.Json;
+
+/**
+ * The elements of a JSON array made only of numbers, packed into an array of
+ * longs while they are all whole numbers that fit in a long, and into an array
+ * of doubles once any of them isn't. Whole numbers in an array of doubles are
+ * marked, so that they're still given as the same Byte, Short, Integer or Long
+ * they would be read as. Elements are made into JSON values the first time
+ * they're gotten, and kept so that iterating again doesn't make them again.
+ * Once read, the list can't be modified.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonNumberList extends AbstractList<Json> implements RandomAccess {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Number of elements there's room for once the first one is added.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+	/**
+	 * Largest magnitude up to which every whole number is exactly a double.
+	 */
+	private static final long MAX_EXACT = 1L << 53;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The elements while they are all whole, or null once they aren't.
+	 */
+	private long[] longs;
+	/**
+	 * The elements once any of them isn't whole, or null until then.
+	 */
+	private double[] doubles;
+	/**
+	 * Bits set for the elements of the array of doubles that are whole numbers.
+	 */
+	private long[] wholes;
+	/**
+	 * Number of elements.
+	 */
+	private int size;
+	/**
+	 * The elements that have been gotten, as JSON values, or null until any has.
+	 */
+	private Json[] elements;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a list with no elements.
+	 */
+	JsonNumberList() {
+		this.longs = new long[0];
+		this.doubles = null;
+		this.wholes = null;
+		this.size = 0;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Gets the number of elements there's room for after growing from the given
+	 * number.
+	 *
+	 * @param capacity
+	 *                     The number of elements there's room for.
+	 * @return The number of elements there's room for after growing.
+	 */
+	private static int grow(final int capacity) {
+		return Math.max(JsonNumberList.INITIAL_CAPACITY, 2 * capacity);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Adds a whole number while the array is being read.
+	 *
+	 * @param value
+	 *                  The number.
+	 * @return Whether the number could be added, which it can't if the elements are
+	 *         doubles and the number isn't exactly a double.
+	 */
+	boolean add(final long value) {
+		if (this.doubles == null) {
+			if (this.size == this.longs.length) {
+				this.longs = Arrays.copyOf(this.longs, JsonNumberList.grow(this.size));
+			}
+			this.longs[this.size++] = value;
+			return true;
+		}
+		if ((value < -JsonNumberList.MAX_EXACT) || (JsonNumberList.MAX_EXACT < value)) {
+			return false;
+		}
+		this.addDouble(value);
+		this.wholes[(this.size - 1) >>> 6] |= 1L << (this.size - 1);
+		return true;
+	}
+
+	/**
+	 * Adds a number that isn't whole while the array is being read. The elements
+	 * become doubles if they weren't.
+	 *
+	 * @param value
+	 *                  The number.
+	 * @return Whether the number could be added, which it can't if any of the
+	 *         elements is a whole number that isn't exactly a double.
+	 */
+	boolean add(final double value) {
+		if (this.doubles == null) {
+			final double[] doubles = new double[this.longs.length];
+			final long[] wholes = new long[(doubles.length + 63) >>> 6];
+			for (int index = 0; index < this.size; ++index) {
+				final long element = this.longs[index];
+				if ((element < -JsonNumberList.MAX_EXACT) || (JsonNumberList.MAX_EXACT < element)) {
+					return false;
+				}
+				doubles[index] = element;
+				wholes[index >>> 6] |= 1L << index;
+			}
+			this.doubles = doubles;
+			this.wholes = wholes;
+			this.longs = null;
+		}
+		this.addDouble(value);
+		return true;
+	}
+
+	/**
+	 * Adds a double to the array of doubles.
+	 *
+	 * @param value
+	 *                  The double.
+	 */
+	private void addDouble(final double value) {
+		if (this.size == this.doubles.length) {
+			this.doubles = Arrays.copyOf(this.doubles, JsonNumberList.grow(this.size));
+			this.wholes = Arrays.copyOf(this.wholes, (this.doubles.length + 63) >>> 6);
+		}
+		this.doubles[this.size++] = value;
+	}
+
+	/**
+	 * Drops the room left for more elements once the array has been read.
+	 */
+	void trim() {
+		if (this.doubles == null) {
+			if (this.longs.length != this.size) {
+				this.longs = Arrays.copyOf(this.longs, this.size);
+			}
+		} else if (this.doubles.length != this.size) {
+			this.doubles = Arrays.copyOf(this.doubles, this.size);
+			this.wholes = Arrays.copyOf(this.wholes, (this.size + 63) >>> 6);
+		}
+	}
+
+	/**
+	 * Checks whether the element at the given index is a whole number.
+	 *
+	 * @param index
+	 *                  The index of the element.
+	 * @return Whether the element is a whole number.
+	 */
+	private boolean isWhole(final int index) {
+		return (this.doubles == null) || ((this.wholes[index >>> 6] & (1L << index)) != 0);
+	}
+
+	/**
+	 * Gets the number at the given index, boxed the same way it would be if it
+	 * wasn't packed.
+	 *
+	 * @param index
+	 *                  The index of the element.
+	 * @return The number.
+	 */
+	Number number(final int index) {
+		if (this.doubles == null) {
+			return JsonNumbers.valueOf(this.longs[index]);
+		} else if (this.isWhole(index)) {
+			return JsonNumbers.valueOf((long) this.doubles[index]);
+		}
+		return Double.valueOf(this.doubles[index]);
+	}
+
+	/**
+	 * Copies the elements into a new array of the given primitive type, without
+	 * boxing them. Elements are narrowed the same way Json.as narrows them.
+	 *
+	 * @param componentType
+	 *                          The type of the elements of the array.
+	 * @return The new array, or null if the type isn't int, long or double.
+	 */
+	Object toArray(final Class<?> componentType) {
+		if (componentType == double.class) {
+			if (this.doubles != null) {
+				return Arrays.copyOf(this.doubles, this.size);
+			}
+			final double[] array = new double[this.size];
+			for (int index = 0; index < this.size; ++index) {
+				array[index] = this.longs[index];
+			}
+			return array;
+		} else if (componentType == long.class) {
+			if (this.doubles == null) {
+				return Arrays.copyOf(this.longs, this.size);
+			}
+			final long[] array = new long[this.size];
+			for (int index = 0; index < this.size; ++index) {
+				array[index] = (long) this.doubles[index];
+			}
+			return array;
+		} else if (componentType == int.class) {
+			final int[] array = new int[this.size];
+			for (int index = 0; index < this.size; ++index) {
+				array[index] = this.doubles == null ? (int) this.longs[index] : (int) this.doubles[index];
+			}
+			return array;
+		}
+		return null;
+	}
+
+	@Override
+	public Json get(final int index) {
+		if ((index < 0) || (this.size <= index)) {
+			throw new IndexOutOfBoundsException();
+		}
+		Json[] elements = this.elements;
+		if (elements == null) {
+			elements = new Json[this.size];
+			this.elements = elements;
+		}
+		// JSON values are immutable, so racing to make the same element is harmless
+		Json element = elements[index];
+		if (element == null) {
+			element = new JsonImplementation(this.number(index));
+			elements[index] = element;
+		}
+		return element;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+}
@@ -0,0 +1,317 @@
+package impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Conversions from the parts of a JSON number to the Number it represents,
+ * shared by the JSON readers.
+ *
+ * Numbers are read into a decimal significand of up to 19 digits and a decimal
+ * exponent. Whole numbers that fit in a long are boxed into the smallest of
+ * Byte, Short, Integer or Long and other numbers into the closest Double, which
+ * is computed with the Eisel-Lemire algorithm. Only numbers with more digits
+ * than the significand holds are parsed from their text.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonNumbers {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Maximum number of decimal digits that always fit in an unsigned long.
+	 */
+	static final int MAX_DIGITS = 19;
+	/**
+	 * Smallest decimal exponent whose power of ten is in the table. Any smaller
+	 * exponent applied to a significand of up to 19 digits rounds to zero.
+	 */
+	private static final int MIN_EXPONENT = -342;
+	/**
+	 * Largest decimal exponent whose power of ten is in the table. Any larger
+	 * exponent applied to a non-zero significand rounds to infinity.
+	 */
+	private static final int MAX_EXPONENT = 308;
+	/**
+	 * Powers of ten that can be represented exactly by a double.
+	 */
+	private static final double[] EXACT_POWERS = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	/**
+	 * High 64 bits of the 128-bit approximations, rounded down, of the powers of
+	 * ten from MIN_EXPONENT to MAX_EXPONENT, normalized so that their highest bit
+	 * is set.
+	 */
+	private static final long[] POWERS_HIGH = new long[(JsonNumbers.MAX_EXPONENT - JsonNumbers.MIN_EXPONENT) + 1];
+	/**
+	 * Low 64 bits of the 128-bit approximations of the powers of ten.
+	 */
+	private static final long[] POWERS_LOW = new long[(JsonNumbers.MAX_EXPONENT - JsonNumbers.MIN_EXPONENT) + 1];
+
+	static {
+		for (int exponent = JsonNumbers.MIN_EXPONENT; exponent <= JsonNumbers.MAX_EXPONENT; ++exponent) {
+			BigInteger power;
+			if (exponent >= 0) {
+				power = BigInteger.TEN.pow(exponent);
+				final int excess = power.bitLength() - 128;
+				power = excess > 0 ? power.shiftRight(excess) : power.shiftLeft(-excess);
+			} else {
+				final BigInteger divisor = BigInteger.TEN.pow(-exponent);
+				power = BigInteger.ONE.shiftLeft(127 + divisor.bitLength()).divide(divisor);
+			}
+			JsonNumbers.POWERS_HIGH[exponent - JsonNumbers.MIN_EXPONENT] = power.shiftRight(64).longValue();
+			JsonNumbers.POWERS_LOW[exponent - JsonNumbers.MIN_EXPONENT] = power.longValue();
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * This class is not meant to be instanced.
+	 */
+	private JsonNumbers() {
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Boxes the given long into the smallest of Byte, Short, Integer or Long that
+	 * can hold it.
+	 *
+	 * @param value
+	 *                  A long.
+	 * @return The given long, boxed.
+	 */
+	static Number valueOf(final long value) {
+		if ((Byte.MIN_VALUE <= value) && (value <= Byte.MAX_VALUE)) {
+			return Byte.valueOf((byte) value);
+		} else if ((Short.MIN_VALUE <= value) && (value <= Short.MAX_VALUE)) {
+			return Short.valueOf((short) value);
+		} else if ((Integer.MIN_VALUE <= value) && (value <= Integer.MAX_VALUE)) {
+			return Integer.valueOf((int) value);
+		}
+		return Long.valueOf(value);
+	}
+
+	/**
+	 * Checks whether a whole number with at most 19 significant digits fits in a
+	 * long.
+	 *
+	 * @param negative
+	 *                        Whether the number has a minus sign.
+	 * @param significand
+	 *                        The digits of the number as an unsigned long.
+	 * @param digits
+	 *                        The number of significant digits of the number.
+	 * @return Whether the number fits in a long.
+	 */
+	static boolean fitsLong(final boolean negative, final long significand, final int digits) {
+		return (digits < JsonNumbers.MAX_DIGITS)
+				|| ((digits == JsonNumbers.MAX_DIGITS)
+						&& (Long.compareUnsigned(significand, negative ? Long.MIN_VALUE : Long.MAX_VALUE) <= 0));
+	}
+
+	/**
+	 * Converts the parts of a JSON number with at most 19 significant digits into a
+	 * Number without looking at its text. The representation is the same toNumber
+	 * would give for the text of the number.
+	 *
+	 * @param negative
+	 *                            Whether the number has a minus sign.
+	 * @param significand
+	 *                            The significant digits of the number as an
+	 *                            unsigned long.
+	 * @param digits
+	 *                            The number of significant digits of the number,
+	 *                            which must be at most 19.
+	 * @param exponent
+	 *                            The decimal exponent the significand is multiplied
+	 *                            by.
+	 * @param isWhole
+	 *                            Whether the number has neither a fraction nor an
+	 *                            exponent.
+	 * @param preciseDecimals
+	 *                            Whether numbers that aren't whole must be
+	 *                            represented by a BigDecimal.
+	 * @return The number.
+	 */
+	static Number toNumber(final boolean negative, final long significand, final int digits, final int exponent,
+			final boolean isWhole, final boolean preciseDecimals) {
+		if (isWhole) {
+			if (JsonNumbers.fitsLong(negative, significand, digits)) {
+				return JsonNumbers.valueOf(negative ? -significand : significand);
+			}
+			return JsonNumbers.toBigInteger(negative, significand);
+		}
+		if (!preciseDecimals) {
+			double value = JsonNumbers.toDouble(negative, significand, exponent);
+			if (Double.isNaN(value)) {
+				value = Double.parseDouble(JsonNumbers.toText(negative, significand, exponent));
+			}
+			if (!Double.isInfinite(value)) {
+				return Double.valueOf(value);
+			}
+		}
+		return new BigDecimal(JsonNumbers.toBigInteger(negative, significand), -exponent);
+	}
+
+	/**
+	 * Converts the significand of a number into a BigInteger.
+	 *
+	 * @param negative
+	 *                        Whether the number has a minus sign.
+	 * @param significand
+	 *                        The significand as an unsigned long.
+	 * @return The significand with its sign as a BigInteger.
+	 */
+	private static BigInteger toBigInteger(final boolean negative, final long significand) {
+		BigInteger result = BigInteger.valueOf(significand & Long.MAX_VALUE);
+		if (significand < 0L) {
+			result = result.setBit(63);
+		}
+		return negative ? result.negate() : result;
+	}
+
+	/**
+	 * Writes the parts of a number as text in scientific notation.
+	 *
+	 * @param negative
+	 *                        Whether the number has a minus sign.
+	 * @param significand
+	 *                        The significand as an unsigned long.
+	 * @param exponent
+	 *                        The decimal exponent.
+	 * @return The text of the number.
+	 */
+	static String toText(final boolean negative, final long significand, final int exponent) {
+		return (negative ? "-" : "") + Long.toUnsignedString(significand) + "E" + exponent;
+	}
+
+	/**
+	 * Converts the text of a JSON number into a Number. Whole numbers are
+	 * represented by the smallest of Byte, Short, Integer, Long or BigInteger that
+	 * can hold them. Other numbers are represented by a Double or, if precise
+	 * decimals are requested or they're too large for a double, by a BigDecimal.
+	 *
+	 * @param text
+	 *                            The text of a JSON number.
+	 * @param isWhole
+	 *                            Whether the number has neither a fraction nor an
+	 *                            exponent.
+	 * @param preciseDecimals
+	 *                            Whether numbers that aren't whole must be
+	 *                            represented by a BigDecimal.
+	 * @return The number.
+	 */
+	static Number toNumber(final String text, final boolean isWhole, final boolean preciseDecimals) {
+		if (isWhole) {
+			final BigInteger result = new BigInteger(text);
+			if (result.bitLength() < 64) {
+				return JsonNumbers.valueOf(result.longValue());
+			}
+			return result;
+		}
+		if (!preciseDecimals) {
+			final double value = Double.parseDouble(text);
+			if (!Double.isInfinite(value)) {
+				return Double.valueOf(value);
+			}
+		}
+		return new BigDecimal(text);
+	}
+
+	/**
+	 * Computes the double closest to the given decimal number. Returns NaN in the
+	 * rare cases where the result can't be decided without the full decimal
+	 * expansion of the number, or where it's subnormal.
+	 *
+	 * @param negative
+	 *                        Whether the number is negative.
+	 * @param significand
+	 *                        The decimal significand as an unsigned long.
+	 * @param exponent
+	 *                        The decimal exponent.
+	 * @return The double closest to the given number, or NaN if it couldn't be
+	 *         computed.
+	 */
+	static double toDouble(final boolean negative, final long significand, final int exponent) {
+		if ((significand == 0L) || (exponent < JsonNumbers.MIN_EXPONENT)) {
+			return negative ? -0.0d : 0.0d;
+		}
+		if (JsonNumbers.MAX_EXPONENT < exponent) {
+			return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		}
+		if ((0L <= significand) && (significand <= (1L << 53)) && (-22 <= exponent) && (exponent <= 22)) {
+			// Both operands are exact so a single rounding gives the correct result
+			double value = significand;
+			value = exponent < 0 ? value / JsonNumbers.EXACT_POWERS[-exponent]
+					: value * JsonNumbers.EXACT_POWERS[exponent];
+			return negative ? -value : value;
+		}
+		final int leadingZeros = Long.numberOfLeadingZeros(significand);
+		final long normalized = significand << leadingZeros;
+		long binaryExponent = (((217706L * exponent) >> 16) + 64 + 1023) - leadingZeros;
+		final int index = exponent - JsonNumbers.MIN_EXPONENT;
+		long high = JsonNumbers.multiplyHigh(normalized, JsonNumbers.POWERS_HIGH[index]);
+		long low = normalized * JsonNumbers.POWERS_HIGH[index];
+		if (((high & 0x1FFL) == 0x1FFL) && (Long.compareUnsigned(low + normalized, normalized) < 0)) {
+			// The truncated product may be off by one, refine it with the low half of the
+			// power of ten
+			final long lowHigh = JsonNumbers.multiplyHigh(normalized, JsonNumbers.POWERS_LOW[index]);
+			final long lowLow = normalized * JsonNumbers.POWERS_LOW[index];
+			long mergedHigh = high;
+			final long mergedLow = low + lowHigh;
+			if (Long.compareUnsigned(mergedLow, low) < 0) {
+				++mergedHigh;
+			}
+			if (((mergedHigh & 0x1FFL) == 0x1FFL) && ((mergedLow + 1L) == 0L)
+					&& (Long.compareUnsigned(lowLow + normalized, normalized) < 0)) {
+				return Double.NaN;
+			}
+			high = mergedHigh;
+			low = mergedLow;
+		}
+		final long mostSignificantBit = high >>> 63;
+		long mantissa = high >>> (mostSignificantBit + 9);
+		binaryExponent -= 1L ^ mostSignificantBit;
+		if ((low == 0L) && ((high & 0x1FFL) == 0L) && ((mantissa & 3L) == 1L)) {
+			// Exactly halfway between two doubles
+			return Double.NaN;
+		}
+		mantissa += mantissa & 1L;
+		mantissa >>>= 1;
+		if ((mantissa >>> 53) > 0L) {
+			mantissa >>>= 1;
+			++binaryExponent;
+		}
+		if ((binaryExponent <= 0L) || (0x7FFL <= binaryExponent)) {
+			return Double.NaN;
+		}
+		long bits = (binaryExponent << 52) | (mantissa & 0x000FFFFFFFFFFFFFL);
+		if (negative) {
+			bits |= Long.MIN_VALUE;
+		}
+		return Double.longBitsToDouble(bits);
+	}
+
+	/**
+	 * Computes the high 64 bits of the unsigned 128-bit product of two longs.
+	 *
+	 * @param first
+	 *                   A long, taken as unsigned.
+	 * @param second
+	 *                   A long, taken as unsigned.
+	 * @return The high 64 bits of the product.
+	 */
+	private static long multiplyHigh(final long first, final long second) {
+		return Math.multiplyHigh(first, second) + ((first >> 63) & second) + ((second >> 63) & first);
+	}
+
+}
@@ -0,0 +1,194 @@
+package impl;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import api.Json;
+
+/**
+ * Base of the maps the fields of JSON objects are kept in. Fields are kept in
+ * the order they were read and found by their index, and every view of the map
+ * is served from them in that order. Once read, the map can't be modified.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+abstract class JsonObjectMap extends AbstractMap<String, Json> {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Gets the key of the field at the given index.
+	 *
+	 * @param index
+	 *                  The index of the field, from 0 to size() - 1.
+	 * @return The key of the field.
+	 */
+	abstract String key(int index);
+
+	/**
+	 * Gets the value of the field at the given index.
+	 *
+	 * @param index
+	 *                  The index of the field, from 0 to size() - 1.
+	 * @return The value of the field.
+	 */
+	abstract Json value(int index);
+
+	/**
+	 * Finds the index of the field with the given key.
+	 *
+	 * @param key
+	 *                A key.
+	 * @return The index of the field, or -1 if there's no field with that key.
+	 */
+	abstract int indexOf(Object key);
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return this.indexOf(key) >= 0;
+	}
+
+	@Override
+	public Json get(final Object key) {
+		final int index = this.indexOf(key);
+		return index >= 0 ? this.value(index) : null;
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return new AbstractSet<String>() {
+
+			@Override
+			public int size() {
+				return JsonObjectMap.this.size();
+			}
+
+			@Override
+			public boolean contains(final Object key) {
+				return JsonObjectMap.this.containsKey(key);
+			}
+
+			@Override
+			public Iterator<String> iterator() {
+				return new Fields<String>() {
+
+					@Override
+					String field(final int index) {
+						return JsonObjectMap.this.key(index);
+					}
+
+				};
+			}
+
+		};
+	}
+
+	@Override
+	public Collection<Json> values() {
+		return new AbstractCollection<Json>() {
+
+			@Override
+			public int size() {
+				return JsonObjectMap.this.size();
+			}
+
+			@Override
+			public Iterator<Json> iterator() {
+				return new Fields<Json>() {
+
+					@Override
+					Json field(final int index) {
+						return JsonObjectMap.this.value(index);
+					}
+
+				};
+			}
+
+		};
+	}
+
+	@Override
+	public Set<Entry<String, Json>> entrySet() {
+		return new AbstractSet<Entry<String, Json>>() {
+
+			@Override
+			public int size() {
+				return JsonObjectMap.this.size();
+			}
+
+			@Override
+			public Iterator<Entry<String, Json>> iterator() {
+				return new Fields<Entry<String, Json>>() {
+
+					@Override
+					Entry<String, Json> field(final int index) {
+						return new SimpleImmutableEntry<>(JsonObjectMap.this.key(index),
+								JsonObjectMap.this.value(index));
+					}
+
+				};
+			}
+
+		};
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * An iterator over the fields of the map, in the order they were read.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 * @param <T>
+	 *                The part of the fields iterated over.
+	 */
+	private abstract class Fields<T> implements Iterator<T> {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * Index of the next field.
+		 */
+		private int index;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		/**
+		 * Gets the part of the field at the given index iterated over.
+		 *
+		 * @param index
+		 *                  The index of the field.
+		 * @return The part of the field.
+		 */
+		abstract T field(int index);
+
+		@Override
+		public boolean hasNext() {
+			return this.index < JsonObjectMap.this.size();
+		}
+
+		@Override
+		public T next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return this.field(this.index++);
+		}
+
+	}
+
+}
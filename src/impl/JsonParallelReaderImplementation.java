@@ -0,0 +1,497 @@
+package impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import api.Json;
+import api.JsonReader;
+
+/**
+ * A Reader to read JSON arrays held in memory in parallel. The elements of an
+ * array are found by a scan that only looks at quotes, escapes and brackets,
+ * and are then parsed on a ForkJoinPool and put together in order. Any other
+ * JSON structure is read on the calling thread.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class JsonParallelReaderImplementation implements JsonReader {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Size below which a range of elements is parsed by a single task.
+	 */
+	private static final int TASK_SIZE = 32768;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The array of UTF-8 encoded bytes being read, or null if characters are being
+	 * read.
+	 */
+	private final byte[] bytes;
+	/**
+	 * The array of characters being read, or null if bytes are being read.
+	 */
+	private final char[] characters;
+	/**
+	 * Index in the array of the first character to read.
+	 */
+	private final int offset;
+	/**
+	 * Index in the array after the last character to read.
+	 */
+	private final int limit;
+	/**
+	 * The parser used to read the array on the calling thread.
+	 */
+	private final JsonParserImplementation parser;
+	/**
+	 * Whether numbers with a fraction or an exponent are read as BigDecimal instead
+	 * of as Double.
+	 */
+	private boolean preciseDecimals;
+	/**
+	 * Whether string values are read as spans of the array instead of being
+	 * decoded.
+	 */
+	private boolean rawStrings;
+	/**
+	 * Whether numbers are kept as spans of the array instead of being converted.
+	 */
+	private boolean rawNumbers;
+	/**
+	 * The pool the elements of arrays are parsed on.
+	 */
+	private ForkJoinPool pool;
+	/**
+	 * Index in the array where the next structure starts.
+	 */
+	private int position;
+	/**
+	 * For each element of the array being read, the index in the array of the comma
+	 * or bracket after it.
+	 */
+	private int[] ends;
+	/**
+	 * Number of elements of the array being read.
+	 */
+	private int count;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a JsonReader from the given array of UTF-8 encoded bytes.
+	 *
+	 * @param bytes
+	 *                  A byte array to parse JSON data from.
+	 */
+	public JsonParallelReaderImplementation(final byte[] bytes) {
+		this(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Constructs a JsonReader from the given range of an array of UTF-8 encoded
+	 * bytes.
+	 *
+	 * @param bytes
+	 *                   A byte array to parse JSON data from.
+	 * @param offset
+	 *                   Index of the first byte to read.
+	 * @param length
+	 *                   Number of bytes to read.
+	 * @throws IndexOutOfBoundsException
+	 *                                       If the range is out of the bounds of
+	 *                                       the array.
+	 */
+	public JsonParallelReaderImplementation(final byte[] bytes, final int offset, final int length) {
+		this(bytes, null, offset, length, new JsonUtf8ReaderImplementation(bytes, offset, length));
+	}
+
+	/**
+	 * Constructs a JsonReader from the given String. The characters of the String
+	 * are copied into an array.
+	 *
+	 * @param string
+	 *                   A String to parse JSON data from.
+	 */
+	public JsonParallelReaderImplementation(final String string) {
+		this(string.toCharArray());
+	}
+
+	/**
+	 * Constructs a JsonReader from the given character array.
+	 *
+	 * @param characters
+	 *                       A character array to parse JSON data from.
+	 */
+	public JsonParallelReaderImplementation(final char[] characters) {
+		this(characters, 0, characters.length);
+	}
+
+	/**
+	 * Constructs a JsonReader from the given range of a character array.
+	 *
+	 * @param characters
+	 *                       A character array to parse JSON data from.
+	 * @param offset
+	 *                       Index of the first character to read.
+	 * @param length
+	 *                       Number of characters to read.
+	 * @throws IndexOutOfBoundsException
+	 *                                       If the range is out of the bounds of
+	 *                                       the array.
+	 */
+	public JsonParallelReaderImplementation(final char[] characters, final int offset, final int length) {
+		this(null, characters, offset, length, new JsonReaderImplementation(characters, offset, length));
+	}
+
+	/**
+	 * Constructs a JsonReader from the array to read and a parser on it.
+	 *
+	 * @param bytes
+	 *                       The byte array to read, or null.
+	 * @param characters
+	 *                       The character array to read, or null.
+	 * @param offset
+	 *                       Index of the first element to read.
+	 * @param length
+	 *                       Number of elements to read.
+	 * @param parser
+	 *                       A parser that reads the same range of the array in
+	 *                       place.
+	 */
+	private JsonParallelReaderImplementation(final byte[] bytes, final char[] characters, final int offset,
+			final int length, final JsonParserImplementation parser) {
+		this.bytes = bytes;
+		this.characters = characters;
+		this.offset = offset;
+		this.limit = offset + length;
+		this.parser = parser;
+		this.preciseDecimals = false;
+		this.rawStrings = false;
+		this.rawNumbers = false;
+		this.pool = ForkJoinPool.commonPool();
+		this.position = offset;
+		this.ends = new int[64];
+		this.count = 0;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Sets whether numbers with a fraction or an exponent are read as BigDecimal,
+	 * keeping every digit, instead of as the closest Double. Disabled by default.
+	 *
+	 * @param preciseDecimals
+	 *                            Whether to read numbers with a fraction or an
+	 *                            exponent as BigDecimal.
+	 */
+	public void setPreciseDecimals(final boolean preciseDecimals) {
+		this.preciseDecimals = preciseDecimals;
+		this.parser.setPreciseDecimals(preciseDecimals);
+	}
+
+	/**
+	 * Sets whether string values are read as spans of the array, which are only
+	 * decoded the first time they're accessed and are written back as they were
+	 * read. Disabled by default.
+	 *
+	 * @param rawStrings
+	 *                       Whether to read string values as spans of the array.
+	 */
+	public void setRawStrings(final boolean rawStrings) {
+		this.rawStrings = rawStrings;
+		this.parser.setRawStrings(rawStrings);
+	}
+
+	/**
+	 * Sets whether numbers are kept as spans of the array, which are only converted
+	 * to the type they're accessed as and are written back as they were read.
+	 * Disabled by default.
+	 *
+	 * @param rawNumbers
+	 *                       Whether to keep numbers as spans of the array.
+	 */
+	public void setRawNumbers(final boolean rawNumbers) {
+		this.rawNumbers = rawNumbers;
+		this.parser.setRawNumbers(rawNumbers);
+	}
+
+	/**
+	 * Sets the pool the elements of arrays are parsed on. By default, this is
+	 * ForkJoinPool.commonPool().
+	 *
+	 * @param pool
+	 *                 The pool to parse elements on.
+	 */
+	public void setPool(final ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Creates a new parser that reads the same range of the array in place.
+	 *
+	 * @return A new parser.
+	 */
+	private JsonParserImplementation newParser() {
+		final JsonParserImplementation parser = this.bytes != null
+				? new JsonUtf8ReaderImplementation(this.bytes, this.offset, this.limit - this.offset)
+				: new JsonReaderImplementation(this.characters, this.offset, this.limit - this.offset);
+		parser.setPreciseDecimals(this.preciseDecimals);
+		parser.setRawStrings(this.rawStrings);
+		parser.setRawNumbers(this.rawNumbers);
+		parser.setKeys(this.parser.getKeys());
+		return parser;
+	}
+
+	/**
+	 * Gets the character at the given index of the array.
+	 *
+	 * @param index
+	 *                  An index of the array.
+	 * @return The character at that index.
+	 */
+	private char characterAt(final int index) {
+		return this.bytes != null ? (char) this.bytes[index] : this.characters[index];
+	}
+
+	/**
+	 * Finds the comma or bracket after each element of the array starting at the
+	 * given index. Only quotes, escapes and brackets are looked at, so the elements
+	 * are left to be validated when they are parsed.
+	 *
+	 * @param first
+	 *                  The index of the opening bracket of the array.
+	 * @return The index of the bracket that closes the array, or -1 if the end of
+	 *         the input is reached first.
+	 */
+	private int scan(final int first) {
+		this.count = 0;
+		int depth = 0;
+		for (int position = first; position < this.limit; ++position) {
+			final char current = this.characterAt(position);
+			switch (current) {
+			case '\"':
+				// Strings are skipped without looking at their contents, a word at a time if
+				// they're bytes
+				if (this.bytes != null) {
+					position = JsonScanner.skipString(this.bytes, position + 1, this.limit);
+					break;
+				}
+				for (++position; position < this.limit; ++position) {
+					final char inner = this.characterAt(position);
+					if (inner == '\"') {
+						break;
+					} else if (inner == '\\') {
+						++position;
+					}
+				}
+				break;
+			case '{':
+			case '[':
+				++depth;
+				break;
+			case '}':
+			case ']':
+				if (--depth == 0) {
+					this.add(position);
+					return position;
+				}
+				break;
+			case ',':
+				if (depth == 1) {
+					this.add(position);
+				}
+				break;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Adds the end of an element.
+	 *
+	 * @param end
+	 *                The index in the array of the comma or bracket after the
+	 *                element.
+	 */
+	private void add(final int end) {
+		if (this.count == this.ends.length) {
+			this.ends = Arrays.copyOf(this.ends, 2 * this.count);
+		}
+		this.ends[this.count++] = end;
+	}
+
+	/**
+	 * Gets the index in the array where an element starts, which may be whitespace.
+	 *
+	 * @param first
+	 *                    The index of the opening bracket of the array.
+	 * @param element
+	 *                    The index of the element.
+	 * @return The index of the first character after the comma or bracket before
+	 *         the element.
+	 */
+	private int start(final int first, final int element) {
+		return (element == 0 ? first : this.ends[element - 1]) + 1;
+	}
+
+	/**
+	 * Reads the next JSON structure. The elements of an array are parsed in
+	 * parallel, and any other structure is read on the calling thread.
+	 *
+	 * @return The next JSON structure, or null if the end of the input has been
+	 *         reached.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@Override
+	public Json read() throws IOException {
+		this.parser.seek(this.position);
+		final int current = this.parser.skipWhitespace();
+		if (current != '[') {
+			final Json value = this.parser.read();
+			this.position = this.parser.position();
+			return value;
+		}
+		final int first = this.parser.position();
+		final int last = this.scan(first);
+		if ((last < 0) || (this.characterAt(last) != ']')) {
+			// The array is malformed, let the parser find the error
+			this.parser.seek(first);
+			this.parser.read();
+			throw this.parser.unexpectedCharacter("matching brackets");
+		}
+		this.position = last + 1;
+		this.parser.seek(first + 1);
+		if ((this.count == 1) && (this.parser.skipWhitespace() == ']')) {
+			return new JsonImplementation(new ArrayList<>());
+		}
+		final Object[] elements = new Object[this.count];
+		this.pool.invoke(new ElementsTask(first, 0, this.count, elements));
+		final List<Json> list = new ArrayList<>(this.count);
+		for (final Object element : elements) {
+			if (element instanceof IllegalArgumentException) {
+				throw (IllegalArgumentException) element;
+			}
+			list.add((Json) element);
+		}
+		return new JsonImplementation(list);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * A task that parses a range of the elements of an array, splitting it while
+	 * it's large.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	private final class ElementsTask extends RecursiveAction {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Class fields
+
+		/**
+		 * Serial version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * The index of the opening bracket of the array.
+		 */
+		private final int first;
+		/**
+		 * The index of the first element to parse.
+		 */
+		private final int from;
+		/**
+		 * The index after the last element to parse.
+		 */
+		private final int to;
+		/**
+		 * The elements parsed, or the exception for the first element that's malformed.
+		 */
+		private final Object[] elements;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance initializers
+
+		/**
+		 * Constructs a task that parses the given range of elements.
+		 *
+		 * @param first
+		 *                     The index of the opening bracket of the array.
+		 * @param from
+		 *                     The index of the first element to parse.
+		 * @param to
+		 *                     The index after the last element to parse.
+		 * @param elements
+		 *                     The array to put the elements parsed into.
+		 */
+		private ElementsTask(final int first, final int from, final int to, final Object[] elements) {
+			this.first = first;
+			this.from = from;
+			this.to = to;
+			this.elements = elements;
+		}
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		@Override
+		protected void compute() {
+			final JsonParallelReaderImplementation reader = JsonParallelReaderImplementation.this;
+			if (((this.to - this.from) > 1) && ((reader.ends[this.to - 1]
+					- reader.start(this.first, this.from)) > JsonParallelReaderImplementation.TASK_SIZE)) {
+				final int middle = (this.from + this.to) >>> 1;
+				ForkJoinTask.invokeAll(new ElementsTask(this.first, this.from, middle, this.elements),
+						new ElementsTask(this.first, middle, this.to, this.elements));
+				return;
+			}
+			final JsonParserImplementation parser = reader.newParser();
+			for (int element = this.from; element < this.to; ++element) {
+				try {
+					parser.seek(reader.start(this.first, element));
+					final Json value = parser.readValue();
+					parser.skipWhitespace();
+					if (parser.position() != reader.ends[element]) {
+						throw parser.unexpectedCharacter("\',\' or \']\'");
+					}
+					this.elements[element] = value;
+				} catch (final IllegalArgumentException e) {
+					// Errors are thrown by the reading thread, in the order of the input
+					this.elements[element] = e;
+					return;
+				} catch (final IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+
+	}
+
+}
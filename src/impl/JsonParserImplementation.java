@@ -0,0 +1,1354 @@
+package impl;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import api.Json;
+import api.JsonHandler;
+import api.JsonParser;
+import api.JsonPath;
+import api.JsonReader;
+import api.JsonTypeToken;
+
+/**
+ * Base of the readers of JSON data. The structure of the input is followed one
+ * token at a time by a state machine, and JSON values are built on top of the
+ * tokens it produces. Subclasses provide the lexing of their specific input.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public abstract class JsonParserImplementation implements JsonReader, JsonParser {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * State outside of any structure, where a value or the end of the input is
+	 * expected.
+	 */
+	private static final int ROOT = 0;
+	/**
+	 * State right after the start of an object, where a field name or the end of
+	 * the object is expected.
+	 */
+	private static final int FIRST_FIELD = 1;
+	/**
+	 * State after a comma in an object, where a field name is expected.
+	 */
+	private static final int FIELD = 2;
+	/**
+	 * State after a field name, where a colon and the value of the field are
+	 * expected.
+	 */
+	private static final int VALUE = 3;
+	/**
+	 * State right after the start of an array, where an element or the end of the
+	 * array is expected.
+	 */
+	private static final int FIRST_ELEMENT = 4;
+	/**
+	 * State after a comma in an array, where an element is expected.
+	 */
+	private static final int ELEMENT = 5;
+	/**
+	 * State after a value inside a structure, where a comma or the end of the
+	 * structure is expected.
+	 */
+	private static final int AFTER_VALUE = 6;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * Whether numbers with a fraction or an exponent are read as BigDecimal instead
+	 * of as Double.
+	 */
+	boolean preciseDecimals;
+	/**
+	 * Whether string values are read as spans of the array read in place instead of
+	 * being decoded.
+	 */
+	private boolean rawStrings;
+	/**
+	 * Whether numbers in a value read as a tree are kept as spans of the array read
+	 * in place instead of being converted.
+	 */
+	private boolean rawNumbers;
+	/**
+	 * Maximum number of structures the parser may be inside of.
+	 */
+	private int maxDepth;
+	/**
+	 * Maximum number of characters of a string value or field name.
+	 */
+	private int maxStringLength;
+	/**
+	 * Maximum number of characters, or bytes for UTF-8 input, read from the input
+	 * in blocks.
+	 */
+	private long maxInputSize;
+	/**
+	 * The current state of the parser.
+	 */
+	private int state;
+	/**
+	 * For each structure the parser is inside of, from the outermost, whether it's
+	 * an object instead of an array.
+	 */
+	private boolean[] structures;
+	/**
+	 * Number of structures the parser is inside of.
+	 */
+	private int depth;
+	/**
+	 * The current token.
+	 */
+	private JsonToken token;
+	/**
+	 * The name of the current field.
+	 */
+	private String name;
+	/**
+	 * The field names and object shapes seen by the parser, or null until they're
+	 * needed.
+	 */
+	private JsonKeys keys;
+	/**
+	 * The characters of the current string value or field name, which are only
+	 * valid until the next token is read.
+	 */
+	private final Text text;
+	/**
+	 * The current string value, once it has been made into a String.
+	 */
+	private String string;
+	/**
+	 * The current string value if it was read as a span of the array read in place,
+	 * null otherwise.
+	 */
+	private JsonStringImplementation rawString;
+	/**
+	 * Whether the current number has a minus sign.
+	 */
+	boolean negative;
+	/**
+	 * The first 19 significant digits of the current number, as an unsigned long.
+	 */
+	long significand;
+	/**
+	 * The number of significant digits of the current number.
+	 */
+	int significantDigits;
+	/**
+	 * The decimal exponent the significand of the current number is multiplied by.
+	 */
+	int exponent;
+	/**
+	 * Whether the current number has neither a fraction nor an exponent.
+	 */
+	boolean isWhole;
+	/**
+	 * The text of the current number if it can't be represented from its
+	 * significand and exponent, null otherwise.
+	 */
+	String numberText;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a parser at the start of its input.
+	 */
+	JsonParserImplementation() {
+		this.preciseDecimals = false;
+		this.rawStrings = false;
+		this.rawNumbers = false;
+		this.maxDepth = Integer.MAX_VALUE;
+		this.maxStringLength = Integer.MAX_VALUE;
+		this.maxInputSize = Long.MAX_VALUE;
+		this.state = JsonParserImplementation.ROOT;
+		this.structures = new boolean[16];
+		this.depth = 0;
+		this.text = new Text();
+		this.keys = null;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Creates an IllegalArgumentException warning of an unexpected character with
+	 * the given String in the message as the characters that would be expected.
+	 *
+	 * @param expectedCharacters
+	 *                               A list of expected characters to be in the
+	 *                               message.
+	 * @return An IllegalArgumentException warning of an unexpected character.
+	 */
+	abstract IllegalArgumentException unexpectedCharacter(String expectedCharacters);
+
+	/**
+	 * Pops for as long as there are whitespace characters, then gets the current
+	 * character without advancing.
+	 *
+	 * @return The current character, or -1 if the end of the input has been
+	 *         reached.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	abstract int skipWhitespace() throws IOException;
+
+	/**
+	 * Advances past the current character, which must have been peeked already and
+	 * not be the end of the input.
+	 */
+	abstract void advance();
+
+	/**
+	 * Gets the index of the current character in the buffer of the input.
+	 *
+	 * @return The index of the current character.
+	 */
+	abstract int position();
+
+	/**
+	 * Moves to the given index of the buffer of the input, outside of any
+	 * structure. This is only meaningful for parsers that read an array in place,
+	 * where the buffer is the whole input.
+	 *
+	 * @param position
+	 *                     The index to move to.
+	 */
+	abstract void seek(int position);
+
+	/**
+	 * Reads the next JSON string and sets its characters as the current text. The
+	 * text may be left in a buffer of the input, so it's only valid until more
+	 * input is read.
+	 *
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	abstract void readText() throws IOException;
+
+	/**
+	 * Reads the next JSON string as a span of the array read in place, without
+	 * decoding it. Only the end of the string is looked for, so its escapes and its
+	 * encoding aren't validated until it's decoded.
+	 *
+	 * @return The JSON string, or null if the parser doesn't read an array in
+	 *         place, in which case nothing is read.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	abstract JsonStringImplementation readRawString() throws IOException;
+
+	/**
+	 * Reads the next JSON number into the number fields of this parser. Numbers are
+	 * read into their significand and exponent, and their text is only kept if they
+	 * have more significant digits than those fit or a huge exponent.
+	 *
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	abstract void readNumber() throws IOException;
+
+	/**
+	 * Makes the number that has just been read into a JSON number that keeps its
+	 * span of the array read in place.
+	 *
+	 * @return The JSON number, or null if the parser doesn't read an array in
+	 *         place.
+	 */
+	abstract JsonNumberImplementation readRawNumber();
+
+	/**
+	 * Reads the given ASCII literal.
+	 *
+	 * @param literal
+	 *                    The literal to read.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	abstract void readLiteral(String literal) throws IOException;
+
+	/**
+	 * Skips characters until the given number of structures have been closed,
+	 * consuming the bracket that closes the last one. Only brackets and the quotes
+	 * and escapes of strings are looked at, so the skipped characters aren't
+	 * otherwise validated.
+	 *
+	 * @param depth
+	 *                  The number of structures to close.
+	 * @throws IllegalArgumentException
+	 *                                      If the end of the input is reached
+	 *                                      first.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	abstract void skipNested(int depth) throws IOException;
+
+	/**
+	 * Forgets the structures the parser is inside of and the current token, as if
+	 * it were at the start of its input.
+	 */
+	void reset() {
+		this.state = JsonParserImplementation.ROOT;
+		this.depth = 0;
+		this.token = null;
+		this.name = null;
+	}
+
+	/**
+	 * Fails if a string has more characters than allowed.
+	 *
+	 * @param length
+	 *                   Number of characters of the string.
+	 * @throws IllegalArgumentException
+	 *                                      If the string is longer than allowed.
+	 */
+	void checkStringLength(final int length) {
+		if (length > this.maxStringLength) {
+			throw this.unexpectedCharacter("at most " + this.maxStringLength + " characters in a string");
+		}
+	}
+
+	/**
+	 * Fails if more of the input has been read than allowed.
+	 *
+	 * @param size
+	 *                 Amount of the input read so far.
+	 * @param unit
+	 *                 What the input is made of, to be in the message.
+	 * @throws IllegalArgumentException
+	 *                                      If more of the input has been read than
+	 *                                      allowed.
+	 */
+	void checkInputSize(final long size, final String unit) {
+		if (size > this.maxInputSize) {
+			throw this.unexpectedCharacter("at most " + this.maxInputSize + " " + unit + " of input");
+		}
+	}
+
+	/**
+	 * Sets the current text to the given range of a character array.
+	 *
+	 * @param characters
+	 *                       The array the characters are in.
+	 * @param offset
+	 *                       Index of the first character.
+	 * @param length
+	 *                       Number of characters.
+	 */
+	void setText(final char[] characters, final int offset, final int length) {
+		this.checkStringLength(length);
+		this.text.characters = characters;
+		this.text.bytes = null;
+		this.text.offset = offset;
+		this.text.length = length;
+	}
+
+	/**
+	 * Sets the current text to the given range of an array of ISO-8859-1 encoded
+	 * bytes.
+	 *
+	 * @param bytes
+	 *                   The array the characters are in.
+	 * @param offset
+	 *                   Index of the first byte.
+	 * @param length
+	 *                   Number of bytes.
+	 */
+	void setText(final byte[] bytes, final int offset, final int length) {
+		this.checkStringLength(length);
+		this.text.characters = null;
+		this.text.bytes = bytes;
+		this.text.offset = offset;
+		this.text.length = length;
+	}
+
+	/**
+	 * Reads the value token starting at the given character.
+	 *
+	 * @param current
+	 *                    The current character.
+	 * @return The token read.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private JsonToken readValueToken(final int current) throws IOException {
+		switch (current) {
+		case '{':
+			this.enter(true);
+			this.advance();
+			this.state = JsonParserImplementation.FIRST_FIELD;
+			return JsonToken.START_OBJECT;
+		case '[':
+			this.enter(false);
+			this.advance();
+			this.state = JsonParserImplementation.FIRST_ELEMENT;
+			return JsonToken.START_ARRAY;
+		case '\"':
+			this.rawString = this.rawStrings ? this.readRawString() : null;
+			if (this.rawString == null) {
+				this.readText();
+			}
+			this.endValue();
+			return JsonToken.STRING;
+		case 't':
+			this.readLiteral("true");
+			this.endValue();
+			return JsonToken.TRUE;
+		case 'f':
+			this.readLiteral("false");
+			this.endValue();
+			return JsonToken.FALSE;
+		case 'n':
+			this.readLiteral("null");
+			this.endValue();
+			return JsonToken.NULL;
+		case '0':
+		case '1':
+		case '2':
+		case '3':
+		case '4':
+		case '5':
+		case '6':
+		case '7':
+		case '8':
+		case '9':
+		case '-':
+			this.readNumber();
+			this.endValue();
+			return JsonToken.NUMBER;
+		default:
+			throw this.unexpectedCharacter("\'{\', \'[\', \'t\', \'f\', \'n\', \'-\' or DIGIT");
+		}
+	}
+
+	/**
+	 * Reads the name of the next field. The colon after it is read with the value
+	 * of the field so that the name is still in the buffer it was read into.
+	 *
+	 * @return The token read.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private JsonToken readFieldName() throws IOException {
+		this.readText();
+		this.state = JsonParserImplementation.VALUE;
+		return JsonToken.FIELD_NAME;
+	}
+
+	/**
+	 * Enters a new structure, before its opening bracket is consumed.
+	 *
+	 * @param isObject
+	 *                     Whether the structure is an object instead of an array.
+	 * @throws IllegalArgumentException
+	 *                                      If the structure is nested deeper than
+	 *                                      allowed.
+	 */
+	private void enter(final boolean isObject) {
+		if (this.depth == this.maxDepth) {
+			throw this.unexpectedCharacter("at most " + this.maxDepth + " nested structures");
+		}
+		if (this.depth == this.structures.length) {
+			this.structures = Arrays.copyOf(this.structures, 2 * this.depth);
+		}
+		this.structures[this.depth++] = isObject;
+	}
+
+	/**
+	 * Leaves the current structure.
+	 *
+	 * @param token
+	 *                  The token that ends the structure.
+	 * @return The token that ends the structure.
+	 */
+	private JsonToken leave(final JsonToken token) {
+		this.advance();
+		--this.depth;
+		this.endValue();
+		return token;
+	}
+
+	/**
+	 * Moves to the state that follows a complete value.
+	 */
+	private void endValue() {
+		this.state = this.depth == 0 ? JsonParserImplementation.ROOT : JsonParserImplementation.AFTER_VALUE;
+	}
+
+	/**
+	 * Skips the rest of the current structure without reading its tokens, leaving
+	 * the parser at its end.
+	 *
+	 * @param end
+	 *                The token that ends the structure.
+	 * @throws IllegalArgumentException
+	 *                                      If the end of the input is reached
+	 *                                      first.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private void skipRest(final JsonToken end) throws IOException {
+		this.skipNested(1);
+		--this.depth;
+		this.token = end;
+		this.name = null;
+		this.endValue();
+	}
+
+	/**
+	 * Fails if the current token is not the given token.
+	 *
+	 * @param expected
+	 *                     The expected token.
+	 * @throws IllegalStateException
+	 *                                   If the current token is not the given
+	 *                                   token.
+	 */
+	private void checkToken(final JsonToken expected) {
+		if (this.token != expected) {
+			throw new IllegalStateException("Current token is " + this.token + ", not " + expected);
+		}
+	}
+
+	/**
+	 * Builds the JSON value starting at the given token.
+	 *
+	 * @param token
+	 *                  The first token of the value.
+	 * @return The JSON value.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	Json readTree(final JsonToken token) throws IOException {
+		return this.readTree(token, new ArrayList<>(), new ArrayList<>());
+	}
+
+	/**
+	 * Builds the JSON value starting at the given token, or continues building it.
+	 * The structures being built are kept on the given stacks instead of the call
+	 * stack, so values can be nested as deep as memory allows. If NOT_AVAILABLE is
+	 * read, the stacks are left as they are so that building can be continued
+	 * later.
+	 *
+	 * @param token
+	 *                       The next token of the value.
+	 * @param structures
+	 *                       The objects and arrays being built, from the outermost.
+	 * @param names
+	 *                       For each structure being built, the name of its current
+	 *                       field, or null if it's an array.
+	 * @return The JSON value, or null if NOT_AVAILABLE was read before its end.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@SuppressWarnings("unchecked")
+	Json readTree(final JsonToken token, final List<Object> structures, final List<String> names)
+			throws IOException {
+		for (JsonToken next = token; next != JsonToken.NOT_AVAILABLE; next = this.nextToken()) {
+			final int top = structures.size() - 1;
+			final Json value;
+			switch (next) {
+			case START_OBJECT:
+				structures.add(new JsonShapedMap(this.getKeys().empty()));
+				names.add(null);
+				continue;
+			case START_ARRAY:
+				structures.add(new JsonNumberList());
+				names.add(null);
+				continue;
+			case FIELD_NAME:
+				names.set(top, this.name);
+				continue;
+			case END_OBJECT:
+			case END_ARRAY:
+				names.remove(top);
+				final Object structure = structures.remove(top);
+				if (structure instanceof JsonShapedMap) {
+					((JsonShapedMap) structure).trim();
+				} else if (structure instanceof JsonCompactMap) {
+					((JsonCompactMap) structure).trim();
+				} else if (structure instanceof JsonNumberList) {
+					((JsonNumberList) structure).trim();
+				}
+				value = new JsonImplementation(structure);
+				break;
+			case STRING:
+				value = this.rawString != null ? this.rawString : new JsonImplementation(this.getString());
+				break;
+			case NUMBER:
+				final JsonNumberImplementation number = this.rawNumbers ? this.readRawNumber() : null;
+				if (number != null) {
+					// Raw numbers aren't packed so that they keep their text
+					value = number;
+					break;
+				}
+				if ((top >= 0) && (structures.get(top) instanceof JsonNumberList)
+						&& this.addNumber((JsonNumberList) structures.get(top))) {
+					continue;
+				}
+				value = new JsonImplementation(this.getNumber());
+				break;
+			case TRUE:
+				value = new JsonImplementation(Boolean.TRUE);
+				break;
+			case FALSE:
+				value = new JsonImplementation(Boolean.FALSE);
+				break;
+			case NULL:
+				value = new JsonImplementation(null);
+				break;
+			default:
+				throw new IllegalStateException("Token " + next + " doesn't start a value");
+			}
+			final int parent = structures.size() - 1;
+			if (parent < 0) {
+				return value;
+			}
+			final Object structure = structures.get(parent);
+			if (structure instanceof JsonShapedMap) {
+				if (!((JsonShapedMap) structure).add(this.getKeys(), names.get(parent), value)) {
+					// Objects whose shape can't be shared are kept in a JsonCompactMap instead
+					final JsonCompactMap map = new JsonCompactMap((JsonShapedMap) structure);
+					map.add(names.get(parent), value);
+					structures.set(parent, map);
+				}
+			} else if (structure instanceof JsonCompactMap) {
+				((JsonCompactMap) structure).add(names.get(parent), value);
+			} else if (structure instanceof JsonNumberList) {
+				// Arrays with anything that can't be packed are kept in an ArrayList instead
+				final List<Json> list = new ArrayList<>((JsonNumberList) structure);
+				list.add(value);
+				structures.set(parent, list);
+			} else {
+				((List<Json>) structure).add(value);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the current number to an array of numbers being built without boxing it,
+	 * if it can be packed with the numbers already in the array.
+	 *
+	 * @param list
+	 *                 The array of numbers being built.
+	 * @return Whether the number was added.
+	 */
+	private boolean addNumber(final JsonNumberList list) {
+		if (this.numberText != null) {
+			return false;
+		}
+		if (this.isWhole) {
+			return JsonNumbers.fitsLong(this.negative, this.significand, this.significantDigits)
+					&& list.add(this.negative ? -this.significand : this.significand);
+		}
+		if (this.preciseDecimals) {
+			return false;
+		}
+		final double value = this.getDouble();
+		return !Double.isInfinite(value) && list.add(value);
+	}
+
+	/**
+	 * Reads the value starting at the given token, building only the values the
+	 * given paths lead to and skipping everything else.
+	 *
+	 * @param token
+	 *                       The first token of the value.
+	 * @param paths
+	 *                       The paths to extract.
+	 * @param candidates
+	 *                       The indexes of the paths whose keys up to the given
+	 *                       level lead to this value.
+	 * @param level
+	 *                       The number of keys that lead to this value.
+	 * @param results
+	 *                       The values found for each path.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private void extract(final JsonToken token, final JsonPathImplementation[] paths, final int[] candidates,
+			final int level, final Json[] results) throws IOException {
+		for (final int candidate : candidates) {
+			if (paths[candidate].size() == level) {
+				// Paths that go on past a selected value are resolved on it
+				final Json value = this.readTree(token);
+				for (final int other : candidates) {
+					results[other] = paths[other].evaluate(value, level);
+				}
+				return;
+			}
+		}
+		if ((token != JsonToken.START_OBJECT) && (token != JsonToken.START_ARRAY)) {
+			return;
+		}
+		final boolean isObject = token == JsonToken.START_OBJECT;
+		final JsonToken end = isObject ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+		int remaining = candidates.length;
+		// Objects are read to their end, since a key repeated later replaces the value
+		// found for it
+		for (int index = 0; isObject || (remaining > 0); ++index) {
+			JsonToken next = this.next();
+			if (next == end) {
+				return;
+			}
+			int matches = 0;
+			for (final int candidate : candidates) {
+				if (this.matches(paths[candidate], level, isObject, index)) {
+					++matches;
+				}
+			}
+			final int[] children = matches == 0 ? null : new int[matches];
+			if (matches > 0) {
+				matches = 0;
+				for (final int candidate : candidates) {
+					if (this.matches(paths[candidate], level, isObject, index)) {
+						children[matches++] = candidate;
+					}
+				}
+			}
+			if (isObject) {
+				next = this.next();
+			}
+			if (children == null) {
+				this.skipChildren();
+			} else {
+				for (final int child : children) {
+					results[child] = null;
+				}
+				this.extract(next, paths, children, level + 1, results);
+				remaining -= matches;
+			}
+		}
+		// Every path has been found in the array, so the rest of it is skipped
+		this.skipRest(end);
+	}
+
+	/**
+	 * Checks whether the key of a path at the given level selects the current field
+	 * name or element.
+	 *
+	 * @param path
+	 *                     A path.
+	 * @param level
+	 *                     The position of the key in the path.
+	 * @param isObject
+	 *                     Whether the current structure is an object instead of an
+	 *                     array.
+	 * @param index
+	 *                     The index of the current element.
+	 * @return Whether the key selects the current field name or element.
+	 */
+	private boolean matches(final JsonPathImplementation path, final int level, final boolean isObject,
+			final int index) {
+		if (isObject) {
+			return this.text.contentEquals(path.name(level));
+		}
+		return path.index(level) == index;
+	}
+
+	/**
+	 * Sets whether numbers with a fraction or an exponent are read as BigDecimal,
+	 * keeping every digit, instead of as the closest Double. Disabled by default.
+	 *
+	 * @param preciseDecimals
+	 *                            Whether to read numbers with a fraction or an
+	 *                            exponent as BigDecimal.
+	 */
+	public void setPreciseDecimals(final boolean preciseDecimals) {
+		this.preciseDecimals = preciseDecimals;
+	}
+
+	/**
+	 * Sets whether string values are read as spans of the array read in place,
+	 * which are only decoded the first time they're accessed and are written back
+	 * as they were read. The values read keep the array, which must not be modified
+	 * while they are in use. It has no effect on parsers that don't read an array
+	 * in place. Disabled by default.
+	 *
+	 * @param rawStrings
+	 *                       Whether to read string values as spans of the array
+	 *                       read in place.
+	 */
+	public void setRawStrings(final boolean rawStrings) {
+		this.rawStrings = rawStrings;
+	}
+
+	/**
+	 * Sets whether the numbers of values read as a tree are kept as spans of the
+	 * array read in place, which are only converted to the type they're accessed as
+	 * and are written back as they were read. Numbers are still validated as
+	 * they're read, but arrays of them aren't packed. The values read keep the
+	 * array, which must not be modified while they are in use. It has no effect on
+	 * parsers that don't read an array in place. Disabled by default.
+	 *
+	 * @param rawNumbers
+	 *                       Whether to keep the numbers of values read as a tree as
+	 *                       spans of the array read in place.
+	 */
+	public void setRawNumbers(final boolean rawNumbers) {
+		this.rawNumbers = rawNumbers;
+	}
+
+	/**
+	 * Gets the field names and object shapes seen by this parser.
+	 *
+	 * @return The field names and object shapes seen by this parser.
+	 */
+	JsonKeys getKeys() {
+		if (this.keys == null) {
+			this.keys = new JsonKeys();
+		}
+		return this.keys;
+	}
+
+	/**
+	 * Sets the field names and object shapes this parser starts from, so that
+	 * they're shared with the other parsers given them.
+	 *
+	 * @param keys
+	 *                 The field names and object shapes to use.
+	 */
+	void setKeys(final JsonKeys keys) {
+		this.keys = keys;
+	}
+
+	/**
+	 * Sets the maximum number of structures that may be nested inside each other.
+	 * Unlimited by default.
+	 *
+	 * @param maxDepth
+	 *                     The maximum nesting depth.
+	 */
+	public void setMaxDepth(final int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+
+	/**
+	 * Sets the maximum number of characters of a string value or field name.
+	 * Unlimited by default.
+	 *
+	 * @param maxStringLength
+	 *                            The maximum length of a string.
+	 */
+	public void setMaxStringLength(final int maxStringLength) {
+		this.maxStringLength = maxStringLength;
+	}
+
+	/**
+	 * Sets the maximum number of characters, or bytes for UTF-8 input, that may be
+	 * read from the input. Since the input is read in blocks, this may be exceeded
+	 * by up to a block before it's found. Arrays read in place aren't limited, as
+	 * they are already held in memory. Unlimited by default.
+	 *
+	 * @param maxInputSize
+	 *                         The maximum size of the input.
+	 */
+	public void setMaxInputSize(final long maxInputSize) {
+		this.maxInputSize = maxInputSize;
+	}
+
+	/**
+	 * Reads the next JSON structure. If the parser has been moved inside a
+	 * structure with nextToken, the next value of that structure is read instead,
+	 * after its field name if it has one, or null is returned and the parser is
+	 * left at the end of the structure if it has no more values.
+	 *
+	 * @return The next JSON structure or value, or null if the end of the input has
+	 *         been reached.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@Override
+	public Json read() throws IOException {
+		this.checkRoot();
+		return this.readValue();
+	}
+
+	/**
+	 * Checks that the next value is a structure if the parser is outside of any
+	 * structure, since only objects and arrays are read at the root.
+	 *
+	 * @throws IllegalArgumentException
+	 *                                      If the next value at the root is neither
+	 *                                      an object nor an array.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	void checkRoot() throws IOException {
+		if (this.state == JsonParserImplementation.ROOT) {
+			final int current = this.skipWhitespace();
+			if ((current >= 0) && (current != '{') && (current != '[')) {
+				throw this.unexpectedCharacter("not \'{\' or \'[\'");
+			}
+		}
+	}
+
+	/**
+	 * Reads the next JSON value, which may be of any type outside of a structure.
+	 * Inside a structure, the next value of that structure is read, after its field
+	 * name if it has one.
+	 *
+	 * @return The next JSON value, or null if the end of the input or of the
+	 *         current structure has been reached.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	Json readValue() throws IOException {
+		JsonToken next = this.nextToken();
+		if (next == JsonToken.FIELD_NAME) {
+			next = this.nextToken();
+		}
+		if ((next == null) || (next == JsonToken.END_OBJECT) || (next == JsonToken.END_ARRAY)) {
+			return null;
+		}
+		return this.readTree(next);
+	}
+
+	/**
+	 * Reads the next token without making its text into a String.
+	 *
+	 * @return The token read, or null if the end of the input has been reached.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	JsonToken next() throws IOException {
+		if (this.state != JsonParserImplementation.VALUE) {
+			this.name = null;
+		}
+		this.string = null;
+		this.rawString = null;
+		this.numberText = null;
+		final int current = this.skipWhitespace();
+		switch (this.state) {
+		case ROOT:
+			this.token = current < 0 ? null : this.readValueToken(current);
+			break;
+		case FIRST_FIELD:
+			this.token = current == '}' ? this.leave(JsonToken.END_OBJECT) : this.readFieldName();
+			break;
+		case FIELD:
+			this.token = this.readFieldName();
+			break;
+		case FIRST_ELEMENT:
+			this.token = current == ']' ? this.leave(JsonToken.END_ARRAY) : this.readValueToken(current);
+			break;
+		case VALUE:
+			if (current != ':') {
+				throw this.unexpectedCharacter("\':\'");
+			}
+			this.advance();
+			this.token = this.readValueToken(this.skipWhitespace());
+			break;
+		case ELEMENT:
+			this.token = this.readValueToken(current);
+			break;
+		default:
+			final boolean isObject = this.structures[this.depth - 1];
+			if (current == ',') {
+				this.advance();
+				this.state = isObject ? JsonParserImplementation.FIELD : JsonParserImplementation.ELEMENT;
+				return this.next();
+			} else if (isObject && (current == '}')) {
+				this.token = this.leave(JsonToken.END_OBJECT);
+			} else if (!isObject && (current == ']')) {
+				this.token = this.leave(JsonToken.END_ARRAY);
+			} else {
+				throw this.unexpectedCharacter(isObject ? "\',\' or \'}\'" : "\',\' or \']\'");
+			}
+		}
+		return this.token;
+	}
+
+	/**
+	 * Reports the current number to the given handler in the narrowest form that
+	 * holds it.
+	 *
+	 * @param handler
+	 *                    The handler to report the number to.
+	 */
+	private void reportNumber(final JsonHandler handler) {
+		if (this.isWhole) {
+			if ((this.numberText == null)
+					&& JsonNumbers.fitsLong(this.negative, this.significand, this.significantDigits)) {
+				handler.numberValue(this.negative ? -this.significand : this.significand);
+				return;
+			}
+		} else if (!this.preciseDecimals) {
+			final double value = this.getDouble();
+			if (!Double.isInfinite(value)) {
+				handler.numberValue(value);
+				return;
+			}
+		}
+		handler.numberValue(this.getNumber());
+	}
+
+	/**
+	 * Reports the given token, which must be the current token, to the given
+	 * handler.
+	 *
+	 * @param token
+	 *                    The current token.
+	 * @param handler
+	 *                    The handler to report the token to.
+	 */
+	void report(final JsonToken token, final JsonHandler handler) {
+		switch (token) {
+		case START_OBJECT:
+			handler.startObject();
+			break;
+		case END_OBJECT:
+			handler.endObject();
+			break;
+		case START_ARRAY:
+			handler.startArray();
+			break;
+		case END_ARRAY:
+			handler.endArray();
+			break;
+		case FIELD_NAME:
+			handler.key(this.text);
+			break;
+		case STRING:
+			handler.stringValue(this.rawString != null ? this.getString() : this.text);
+			break;
+		case NUMBER:
+			this.reportNumber(handler);
+			break;
+		case TRUE:
+			handler.booleanValue(true);
+			break;
+		case FALSE:
+			handler.booleanValue(false);
+			break;
+		case NULL:
+			handler.nullValue();
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Gets the number of structures the parser is inside of.
+	 *
+	 * @return The number of structures the parser is inside of.
+	 */
+	int depth() {
+		return this.depth;
+	}
+
+	/**
+	 * Gets the hash of the field name just read, the same as the hash of a String
+	 * with its characters, without making it into a String.
+	 *
+	 * @return The hash of the field name.
+	 */
+	int fieldNameHash() {
+		return this.text.hash();
+	}
+
+	/**
+	 * Checks whether the field name just read is the given one, without making it
+	 * into a String.
+	 *
+	 * @param name
+	 *                 A field name.
+	 * @return Whether the field name just read is the given one.
+	 */
+	boolean isFieldName(final String name) {
+		return this.text.contentEquals(name);
+	}
+
+	@Override
+	public JsonToken nextToken() throws IOException {
+		final JsonToken token = this.next();
+		if (token == JsonToken.FIELD_NAME) {
+			this.name = this.getKeys().name(this.text);
+		}
+		return token;
+	}
+
+	@Override
+	public JsonToken currentToken() {
+		return this.token;
+	}
+
+	@Override
+	public String currentName() {
+		return this.name;
+	}
+
+	@Override
+	public long getLong() {
+		this.checkToken(JsonToken.NUMBER);
+		if ((this.numberText == null) && this.isWhole
+				&& JsonNumbers.fitsLong(this.negative, this.significand, this.significantDigits)) {
+			return this.negative ? -this.significand : this.significand;
+		}
+		return this.getNumber().longValue();
+	}
+
+	@Override
+	public double getDouble() {
+		this.checkToken(JsonToken.NUMBER);
+		if (this.numberText != null) {
+			return Double.parseDouble(this.numberText);
+		}
+		final double value = JsonNumbers.toDouble(this.negative, this.significand, this.exponent);
+		if (!Double.isNaN(value)) {
+			return value;
+		}
+		return Double.parseDouble(JsonNumbers.toText(this.negative, this.significand, this.exponent));
+	}
+
+	@Override
+	public Number getNumber() {
+		this.checkToken(JsonToken.NUMBER);
+		if (this.numberText != null) {
+			return JsonNumbers.toNumber(this.numberText, this.isWhole, this.preciseDecimals);
+		}
+		return JsonNumbers.toNumber(this.negative, this.significand, this.significantDigits, this.exponent,
+				this.isWhole, this.preciseDecimals);
+	}
+
+	@Override
+	public String getString() {
+		if (this.token == JsonToken.FIELD_NAME) {
+			return this.name;
+		}
+		this.checkToken(JsonToken.STRING);
+		if (this.string == null) {
+			this.string = this.rawString != null ? (String) this.rawString.getValue() : this.text.toString();
+		}
+		return this.string;
+	}
+
+	@Override
+	public void skipChildren() throws IOException {
+		if ((this.token != JsonToken.START_OBJECT) && (this.token != JsonToken.START_ARRAY)) {
+			return;
+		}
+		this.skipRest(this.token == JsonToken.START_OBJECT ? JsonToken.END_OBJECT : JsonToken.END_ARRAY);
+	}
+
+	@Override
+	public Json[] extract(final JsonPath... paths) throws IOException {
+		final JsonPathImplementation[] compiled = new JsonPathImplementation[paths.length];
+		final int[] candidates = new int[paths.length];
+		for (int index = 0; index < paths.length; ++index) {
+			compiled[index] = JsonPathImplementation.of(paths[index]);
+			if (!compiled[index].isDefinite()) {
+				throw new IllegalArgumentException("Path " + compiled[index] + " may lead to more than one value");
+			}
+			candidates[index] = index;
+		}
+		final Json[] results = new Json[paths.length];
+		JsonToken next = this.next();
+		if (next == JsonToken.FIELD_NAME) {
+			next = this.next();
+		}
+		if ((next != null) && (next != JsonToken.END_OBJECT) && (next != JsonToken.END_ARRAY)) {
+			this.extract(next, compiled, candidates, 0, results);
+		}
+		return results;
+	}
+
+	@Override
+	public <T> T read(final Class<T> resultClass) throws IOException {
+		return this.readAs(resultClass);
+	}
+
+	@Override
+	public <T> T read(final JsonTypeToken<T> resultType) throws IOException {
+		return this.readAs(resultType.getType());
+	}
+
+	/**
+	 * Reads the next JSON value straight into the given type.
+	 *
+	 * @param type
+	 *                 The type to read the value into.
+	 * @return The value read, or null if the end of the input or of the current
+	 *         structure is reached instead.
+	 * @throws ClassCastException
+	 *                                      If the value can't be bound to the type.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T readAs(final Type type) throws IOException {
+		JsonToken next = this.next();
+		if (next == JsonToken.FIELD_NAME) {
+			next = this.next();
+		}
+		if ((next == null) || (next == JsonToken.END_OBJECT) || (next == JsonToken.END_ARRAY)) {
+			return null;
+		}
+		return (T) JsonBindings.read(this, next, type);
+	}
+
+	@Override
+	public boolean parse(final JsonHandler handler) throws IOException {
+		final int target = this.depth;
+		JsonToken token = this.next();
+		if (token == JsonToken.FIELD_NAME) {
+			handler.key(this.text);
+			token = this.next();
+		}
+		if ((token == null) || (this.depth < target)) {
+			return false;
+		}
+		while (true) {
+			this.report(token, handler);
+			if (this.depth == target) {
+				return true;
+			}
+			token = this.next();
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * A reusable view of the characters of a string, kept either as characters or
+	 * as ISO-8859-1 encoded bytes in the buffer they were read into.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	private static final class Text implements CharSequence {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * The array the characters are in, or null if they are bytes.
+		 */
+		private char[] characters;
+		/**
+		 * The array the bytes are in, or null if they are characters.
+		 */
+		private byte[] bytes;
+		/**
+		 * Index in the array of the first character.
+		 */
+		private int offset;
+		/**
+		 * Number of characters.
+		 */
+		private int length;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		@Override
+		public int length() {
+			return this.length;
+		}
+
+		@Override
+		public char charAt(final int index) {
+			if ((index < 0) || (this.length <= index)) {
+				throw new IndexOutOfBoundsException();
+			}
+			if (this.characters != null) {
+				return this.characters[this.offset + index];
+			}
+			return (char) (this.bytes[this.offset + index] & 0xFF);
+		}
+
+		/**
+		 * Gets the hash of the characters of this text, the same as the hash of a
+		 * String with them.
+		 *
+		 * @return The hash of the characters.
+		 */
+		private int hash() {
+			int hash = 0;
+			for (int index = 0; index < this.length; ++index) {
+				hash = (31 * hash) + (this.characters != null ? this.characters[this.offset + index]
+						: (this.bytes[this.offset + index] & 0xFF));
+			}
+			return hash;
+		}
+
+		/**
+		 * Checks whether the characters of this text are those of the given String.
+		 *
+		 * @param string
+		 *                   A String.
+		 * @return Whether the characters are the same.
+		 */
+		private boolean contentEquals(final String string) {
+			if (this.length != string.length()) {
+				return false;
+			}
+			for (int index = 0; index < this.length; ++index) {
+				final char character = this.characters != null ? this.characters[this.offset + index]
+						: (char) (this.bytes[this.offset + index] & 0xFF);
+				if (character != string.charAt(index)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public CharSequence subSequence(final int start, final int end) {
+			return this.toString().substring(start, end);
+		}
+
+		@Override
+		public String toString() {
+			if (this.characters != null) {
+				return new String(this.characters, this.offset, this.length);
+			}
+			return new String(this.bytes, this.offset, this.length, StandardCharsets.ISO_8859_1);
+		}
+
+	}
+
+}
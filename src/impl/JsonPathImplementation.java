@@ -0,0 +1,593 @@
+package impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import api.Json;
+import api.Json.JsonType;
+import api.JsonPath;
+
+/**
+ * This is an implementation of the JsonPath interface. The keys are resolved
+ * once, when the path is constructed, into the names and indexes they match.
+ *
+ * Paths can also be compiled from expressions such as "employees[0].name",
+ * where names are separated by dots and indexes are written in square brackets.
+ * Square brackets can also hold a quoted name, a wildcard "*" that selects
+ * every field or element, or a slice "start:end:step" that selects the elements
+ * from start to end, not included, every step elements.
+ *
+ * @see api.JsonPath
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class JsonPathImplementation implements JsonPath {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The keys of this path.
+	 */
+	private final Object[] keys;
+	/**
+	 * For each key, the name of the field it selects in an object.
+	 */
+	private final String[] names;
+	/**
+	 * For each key, the index of the element it selects in an array, or -1 if it
+	 * doesn't select any.
+	 */
+	private final int[] indexes;
+	/**
+	 * For each key, the range of fields or elements it selects, or null if it
+	 * selects one at most.
+	 */
+	private final Range[] ranges;
+	/**
+	 * Number of keys that select ranges.
+	 */
+	private final int rangeCount;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a JsonPath from the given keys.
+	 *
+	 * @param keys
+	 *                 The keys of the path, which must be Numbers, Strings or the
+	 *                 wildcards and slices of other paths.
+	 * @throws IllegalArgumentException
+	 *                                      If a key is not a Number, a String, a
+	 *                                      wildcard or a slice.
+	 */
+	public JsonPathImplementation(final Object... keys) {
+		this.keys = keys.clone();
+		this.names = new String[keys.length];
+		this.indexes = new int[keys.length];
+		this.ranges = new Range[keys.length];
+		int rangeCount = 0;
+		for (int index = 0; index < keys.length; ++index) {
+			final Object key = keys[index];
+			this.names[index] = key.toString();
+			if (key instanceof Number) {
+				this.indexes[index] = ((Number) key).intValue();
+			} else if (key instanceof String) {
+				this.indexes[index] = JsonPathImplementation.parseIndex((String) key);
+			} else if (key instanceof Range) {
+				this.indexes[index] = -1;
+				this.ranges[index] = (Range) key;
+				++rangeCount;
+			} else {
+				throw new IllegalArgumentException("Key is not a Number or a String.");
+			}
+		}
+		this.rangeCount = rangeCount;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Compiles a path from the given expression. The expression may start with "$",
+	 * which stands for the value the path is followed from.
+	 *
+	 * @param expression
+	 *                       An expression such as "employees[0].name",
+	 *                       "items[*].id" or "values[1:10:2]".
+	 * @return The path the expression stands for.
+	 * @throws IllegalArgumentException
+	 *                                      If the expression isn't a valid path.
+	 */
+	public static JsonPathImplementation compile(final String expression) {
+		final List<Object> keys = new ArrayList<>();
+		int position = expression.startsWith("$") ? 1 : 0;
+		final int first = position;
+		while (position < expression.length()) {
+			final char character = expression.charAt(position);
+			if (character == '[') {
+				position = JsonPathImplementation.compileBracket(expression, position + 1, keys);
+				continue;
+			}
+			if (character == '.') {
+				++position;
+			} else if (position != first) {
+				throw JsonPathImplementation.unexpectedCharacter(expression, position, "\'.\' or \'[\'");
+			}
+			final int start = position;
+			while ((position < expression.length()) && (expression.charAt(position) != '.')
+					&& (expression.charAt(position) != '[')) {
+				++position;
+			}
+			if (start == position) {
+				throw JsonPathImplementation.unexpectedCharacter(expression, position, "a name");
+			}
+			final String name = expression.substring(start, position);
+			keys.add("*".equals(name) ? Range.ALL : name);
+		}
+		return new JsonPathImplementation(keys.toArray());
+	}
+
+	/**
+	 * Compiles the key in square brackets that starts at the given position of an
+	 * expression.
+	 *
+	 * @param expression
+	 *                       An expression.
+	 * @param position
+	 *                       The position after the opening bracket.
+	 * @param keys
+	 *                       The keys compiled so far, which the key is added to.
+	 * @return The position after the closing bracket.
+	 * @throws IllegalArgumentException
+	 *                                      If the key isn't valid.
+	 */
+	private static int compileBracket(final String expression, int position, final List<Object> keys) {
+		final int length = expression.length();
+		final int open = position;
+		final char character = position < length ? expression.charAt(position) : '\0';
+		if (character == '*') {
+			keys.add(Range.ALL);
+			++position;
+		} else if ((character == '\'') || (character == '\"')) {
+			final StringBuilder name = new StringBuilder();
+			++position;
+			while ((position < length) && (expression.charAt(position) != character)) {
+				if ((expression.charAt(position) == '\\') && ((position + 1) < length)) {
+					++position;
+				}
+				name.append(expression.charAt(position));
+				++position;
+			}
+			if (position == length) {
+				throw JsonPathImplementation.unexpectedCharacter(expression, position, "\'" + character + "\'");
+			}
+			keys.add(name.toString());
+			++position;
+		} else {
+			final int[] bounds = { 0, Integer.MAX_VALUE, 1 };
+			int bound = 0;
+			while (true) {
+				final int start = position;
+				if ((position < length) && (expression.charAt(position) == '-')) {
+					++position;
+				}
+				while ((position < length) && ('0' <= expression.charAt(position))
+						&& (expression.charAt(position) <= '9')) {
+					++position;
+				}
+				if (start != position) {
+					try {
+						bounds[bound] = Integer.parseInt(expression.substring(start, position));
+					} catch (final NumberFormatException e) {
+						throw JsonPathImplementation.unexpectedCharacter(expression, start, "an integer");
+					}
+				}
+				if ((bound == 2) || (position == length) || (expression.charAt(position) != ':')) {
+					if ((bound == 0) && (start == position)) {
+						throw JsonPathImplementation.unexpectedCharacter(expression, position,
+								"an index, a name, \'*\' or a slice");
+					}
+					break;
+				}
+				++bound;
+				++position;
+			}
+			if (bound == 0) {
+				if (bounds[0] < 0) {
+					throw JsonPathImplementation.unexpectedCharacter(expression, open, "a non-negative index");
+				}
+				keys.add(Integer.valueOf(bounds[0]));
+			} else {
+				if (bounds[2] <= 0) {
+					throw JsonPathImplementation.unexpectedCharacter(expression, expression.lastIndexOf(':', position) + 1,
+							"a positive step");
+				}
+				keys.add(new Range(bounds[0], bounds[1], bounds[2]));
+			}
+		}
+		if ((position == length) || (expression.charAt(position) != ']')) {
+			throw JsonPathImplementation.unexpectedCharacter(expression, position, "\']\'");
+		}
+		return position + 1;
+	}
+
+	/**
+	 * Makes the exception thrown when an expression has an unexpected character.
+	 *
+	 * @param expression
+	 *                       The expression.
+	 * @param position
+	 *                       The position of the unexpected character.
+	 * @param expected
+	 *                       What was expected instead.
+	 * @return An exception with a descriptive error message.
+	 */
+	private static IllegalArgumentException unexpectedCharacter(final String expression, final int position,
+			final String expected) {
+		final String found = position < expression.length() ? "\'" + expression.charAt(position) + "\'"
+				: "the end";
+		return new IllegalArgumentException("JSON path error near column:" + (position + 1) + " of \"" + expression
+				+ "\"; Expected " + expected + ", got " + found + " instead");
+	}
+
+	/**
+	 * Converts any JsonPath into a JsonPathImplementation.
+	 *
+	 * @param path
+	 *                 A JsonPath.
+	 * @return A JsonPathImplementation with the same keys.
+	 */
+	static JsonPathImplementation of(final JsonPath path) {
+		if (path instanceof JsonPathImplementation) {
+			return (JsonPathImplementation) path;
+		}
+		final Object[] keys = new Object[path.size()];
+		for (int index = 0; index < keys.length; ++index) {
+			keys[index] = path.get(index);
+		}
+		return new JsonPathImplementation(keys);
+	}
+
+	/**
+	 * Parses a String key as an array index.
+	 *
+	 * @param key
+	 *                A String key.
+	 * @return The index, or -1 if the key is not a non-negative integer.
+	 */
+	private static int parseIndex(final String key) {
+		try {
+			return Math.max(-1, Integer.parseInt(key));
+		} catch (final NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Gets the name of the field the key at the given position selects.
+	 *
+	 * @param index
+	 *                  The position of the key.
+	 * @return The name of the field.
+	 */
+	String name(final int index) {
+		return this.names[index];
+	}
+
+	/**
+	 * Gets the index of the element the key at the given position selects.
+	 *
+	 * @param index
+	 *                  The position of the key.
+	 * @return The index of the element, or -1 if it doesn't select any.
+	 */
+	int index(final int index) {
+		return this.indexes[index];
+	}
+
+	/**
+	 * Checks whether this path leads to one value at most, which it doesn't if it
+	 * has wildcards or slices.
+	 *
+	 * @return Whether this path leads to one value at most.
+	 */
+	boolean isDefinite() {
+		return this.rangeCount == 0;
+	}
+
+	/**
+	 * Follows the keys of this path from the given level on the given value.
+	 *
+	 * @param value
+	 *                  A JSON value.
+	 * @param level
+	 *                  The position of the first key to follow.
+	 * @return The first value this path leads to, or null if there's none.
+	 */
+	Json evaluate(final Json value, final int level) {
+		return this.walk(value, level, null);
+	}
+
+	/**
+	 * Follows the keys of this path from the given level on the given value,
+	 * performing the given action on every value it leads to, in the order they
+	 * appear in. The ranges being walked are kept in a stack of their own instead
+	 * of the call stack, so that paths with many wildcards or slices can be
+	 * followed however long they are. The stack is only made once a range is
+	 * reached, so following definite paths makes no objects.
+	 *
+	 * @param json
+	 *                   A JSON value.
+	 * @param level
+	 *                   The position of the first key to follow.
+	 * @param action
+	 *                   The action to perform on every value this path leads to, or
+	 *                   null to stop at the first one.
+	 * @return The first value this path leads to if there's no action, or null.
+	 */
+	private Json walk(final Json json, final int level, final Consumer<? super Json> action) {
+		// Each range is in the stack once at most, since the keys of the ranges being
+		// walked grow from the outermost
+		Json[] structures = null;
+		int[] keys = null;
+		int[] indexes = null;
+		int[] ends = null;
+		int depth = 0;
+		Json value = json;
+		int key = level;
+		while (true) {
+			while ((value != null) && (key < this.keys.length) && (this.ranges[key] == null)) {
+				value = this.child(value, key);
+				++key;
+			}
+			if (value != null) {
+				if (key == this.keys.length) {
+					if (action == null) {
+						return value;
+					}
+					action.accept(value);
+				} else {
+					if (structures == null) {
+						structures = new Json[this.rangeCount];
+						keys = new int[this.rangeCount];
+						indexes = new int[this.rangeCount];
+						ends = new int[this.rangeCount];
+					}
+					structures[depth] = value;
+					keys[depth] = key;
+					indexes[depth] = this.ranges[key].start(value);
+					ends[depth] = this.ranges[key].end(value);
+					++depth;
+				}
+			}
+			// The next value is the next field or element of the innermost range left
+			value = null;
+			while ((value == null) && (depth > 0)) {
+				final int top = depth - 1;
+				if (indexes[top] < ends[top]) {
+					final int step = this.ranges[keys[top]].step;
+					value = JsonPathImplementation.element(structures[top], indexes[top]);
+					indexes[top] = step < (ends[top] - indexes[top]) ? indexes[top] + step : ends[top];
+					key = keys[top] + 1;
+				} else {
+					structures[top] = null;
+					--depth;
+				}
+			}
+			if (value == null) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Gets the field or element the key at the given position selects in the given
+	 * value.
+	 *
+	 * @param value
+	 *                  A JSON value.
+	 * @param key
+	 *                  The position of the key.
+	 * @return The field or element, or null if there's none.
+	 */
+	private Json child(final Json value, final int key) {
+		switch (value.getType()) {
+		case OBJECT:
+			if (value instanceof JsonImplementation) {
+				// Fields are looked up without an array of keys
+				return ((JsonImplementation) value).field(this.names[key]);
+			}
+			return value.get(this.names[key]);
+		case ARRAY:
+			final int index = this.indexes[key];
+			return (0 <= index) && (index < value.size()) ? value.get(index) : null;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the field or element at the given position of a JSON structure.
+	 *
+	 * @param value
+	 *                  A JSON structure.
+	 * @param index
+	 *                  The position of the field or element.
+	 * @return The field or element.
+	 */
+	private static Json element(final Json value, final int index) {
+		return value.getType() == JsonType.OBJECT ? value.valueAt(index) : value.get(index);
+	}
+
+	@Override
+	public Json evaluate(final Json json) {
+		return this.evaluate(json, 0);
+	}
+
+	@Override
+	public void forEach(final Json json, final Consumer<? super Json> action) {
+		this.walk(json, 0, action);
+	}
+
+	@Override
+	public int size() {
+		return this.keys.length;
+	}
+
+	@Override
+	public Object get(final int index) {
+		return this.keys[index];
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder stringBuilder = new StringBuilder();
+		for (final Object key : this.keys) {
+			if ((key instanceof Number) || (key instanceof Range)) {
+				stringBuilder.append('[').append(key).append(']');
+			} else {
+				stringBuilder.append('.').append(key);
+			}
+		}
+		return stringBuilder.toString();
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * A key that selects a range of fields or elements: a wildcard, which selects
+	 * every field or element, or a slice, which selects elements of arrays.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	private static final class Range {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Class fields
+
+		/**
+		 * The wildcard.
+		 */
+		private static final Range ALL = new Range(0, Integer.MAX_VALUE, 1);
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * The first index selected, counted from the end if negative.
+		 */
+		private final int start;
+		/**
+		 * The index after the last one selected, counted from the end if negative.
+		 */
+		private final int end;
+		/**
+		 * The distance between the indexes selected.
+		 */
+		private final int step;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance initializers
+
+		/**
+		 * Constructs a slice.
+		 *
+		 * @param start
+		 *                  The first index selected, counted from the end if negative.
+		 * @param end
+		 *                  The index after the last one selected, counted from the end
+		 *                  if negative.
+		 * @param step
+		 *                  The distance between the indexes selected, which must be
+		 *                  positive.
+		 */
+		private Range(final int start, final int end, final int step) {
+			this.start = start;
+			this.end = end;
+			this.step = step;
+		}
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		/**
+		 * Gets the first index selected in the given value.
+		 *
+		 * @param value
+		 *                  A JSON value.
+		 * @return The first index selected.
+		 */
+		private int start(final Json value) {
+			return value.getType() == JsonType.ARRAY ? this.bound(value, this.start) : 0;
+		}
+
+		/**
+		 * Gets the index after the last one selected in the given value.
+		 *
+		 * @param value
+		 *                  A JSON value.
+		 * @return The index after the last one selected, which is 0 if none is.
+		 */
+		private int end(final Json value) {
+			switch (value.getType()) {
+			case OBJECT:
+				// Slices select no fields
+				return this == Range.ALL ? value.size() : 0;
+			case ARRAY:
+				return this.bound(value, this.end);
+			default:
+				return 0;
+			}
+		}
+
+		/**
+		 * Resolves an index counted from the end if negative in the given value.
+		 *
+		 * @param value
+		 *                  A JSON structure.
+		 * @param index
+		 *                  The index.
+		 * @return The index, from 0 to the size of the value.
+		 */
+		private int bound(final Json value, final int index) {
+			if (index == 0) {
+				return 0;
+			}
+			final int size = value.size();
+			return index < 0 ? Math.max(0, size + index) : Math.min(index, size);
+		}
+
+		@Override
+		public String toString() {
+			if (this == Range.ALL) {
+				return "*";
+			}
+			final StringBuilder stringBuilder = new StringBuilder();
+			if (this.start != 0) {
+				stringBuilder.append(this.start);
+			}
+			stringBuilder.append(':');
+			if (this.end != Integer.MAX_VALUE) {
+				stringBuilder.append(this.end);
+			}
+			if (this.step != 1) {
+				stringBuilder.append(':').append(this.step);
+			}
+			return stringBuilder.toString();
+		}
+
+	}
+
+}
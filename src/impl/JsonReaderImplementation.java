@@ -1,20 +1,11 @@
 package impl;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-import api.Json;
-import api.JsonReader;
+import java.util.Arrays;
 
 /**
  * A Reader to read JSON values from a Stream.
@@ -24,71 +15,78 @@ import api.JsonReader;
  * @since 1.0
  *
  */
-public class JsonReaderImplementation implements JsonReader {
+public class JsonReaderImplementation extends JsonParserImplementation {
 
 	////////////////////////////////////////////////////////////////////////////////
 	// Class fields
 
 	/**
-	 * A BigInteger representing the minimum possible value that can be represented
-	 * by a byte.
+	 * Size of the blocks of characters read at once from a Reader or a String.
 	 */
-	private static final BigInteger MIN_BYTE_VALUE = BigInteger.valueOf(Byte.MIN_VALUE);
+	private static final int BUFFER_SIZE = 8192;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
 	/**
-	 * A BigInteger representing the maximum possible value that can be represented
-	 * by a byte.
+	 * The Reader this JsonReader is based on, or null if it isn't based on a
+	 * Reader.
 	 */
-	private static final BigInteger MAX_BYTE_VALUE = BigInteger.valueOf(Byte.MAX_VALUE);
+	private final Reader reader;
 	/**
-	 * A BigInteger representing the minimum possible value that can be represented
-	 * by a short.
+	 * The String this JsonReader is based on, or null if it isn't based on a
+	 * String.
 	 */
-	private static final BigInteger MIN_SHORT_VALUE = BigInteger.valueOf(Short.MIN_VALUE);
+	private final String string;
 	/**
-	 * A BigInteger representing the maximum possible value that can be represented
-	 * by a short.
+	 * Index of the first character of the String that hasn't been copied into the
+	 * buffer yet.
 	 */
-	private static final BigInteger MAX_SHORT_VALUE = BigInteger.valueOf(Short.MAX_VALUE);
+	private int stringPosition;
 	/**
-	 * A BigInteger representing the minimum possible value that can be represented
-	 * by an integer.
+	 * The block of characters being read. If this JsonReader is based on a
+	 * character array, the buffer is that array.
 	 */
-	private static final BigInteger MIN_INTEGER_VALUE = BigInteger.valueOf(Integer.MIN_VALUE);
+	private final char[] buffer;
 	/**
-	 * A BigInteger representing the maximum possible value that can be represented
-	 * by an integer.
+	 * Index in the buffer where the characters of the current block start.
 	 */
-	private static final BigInteger MAX_INTEGER_VALUE = BigInteger.valueOf(Integer.MAX_VALUE);
+	private final int start;
 	/**
-	 * A BigInteger representing the minimum possible value that can be represented
-	 * by a long.
+	 * Index in the buffer of the current character.
 	 */
-	private static final BigInteger MIN_LONG_VALUE = BigInteger.valueOf(Long.MIN_VALUE);
+	private int position;
 	/**
-	 * A BigInteger representing the maximum possible value that can be represented
-	 * by a long.
+	 * Index in the buffer after the last character of the current block.
 	 */
-	private static final BigInteger MAX_LONG_VALUE = BigInteger.valueOf(Long.MAX_VALUE);
-
-	////////////////////////////////////////////////////////////////////////////////
-	// Instance fields
-
+	private int limit;
 	/**
-	 * The Reader this JsonReader is based on.
+	 * Number of line breaks in the blocks read from the Reader and discarded before
+	 * the current one.
 	 */
-	private final Reader reader;
+	private int discardedRows;
+	/**
+	 * Number of characters after the last line break in the blocks read from the
+	 * Reader and discarded before the current one.
+	 */
+	private int discardedColumns;
+	/**
+	 * Number of characters read from the input in blocks.
+	 */
+	private long inputSize;
 	/**
-	 * A single character buffer for the current character.
+	 * A reusable buffer strings that can't be left in the block they were read from
+	 * are copied into.
 	 */
-	private int current;
+	private char[] characters;
 	/**
-	 * Current row of text.
+	 * Index in the buffer of the first character of the number being read.
 	 */
-	private int row;
+	private int numberStart;
 	/**
-	 * Current column of text.
+	 * The characters of the number being read that were in previous blocks.
 	 */
-	private int column;
+	private final StringBuilder numberSpill;
 
 	////////////////////////////////////////////////////////////////////////////////
 	// Instance initializers
@@ -102,10 +100,7 @@ public class JsonReaderImplementation implements JsonReader {
 	 *                         If an I/O error occurs.
 	 */
 	public JsonReaderImplementation(final Reader reader) throws IOException {
-		this.reader = reader;
-		this.current = reader.read();
-		this.row = 1;
-		this.column = 1;
+		this(reader, null, new char[JsonReaderImplementation.BUFFER_SIZE], 0, 0);
 	}
 
 	/**
@@ -138,7 +133,8 @@ public class JsonReaderImplementation implements JsonReader {
 	}
 
 	/**
-	 * Constructs a JsonReader from the given String by making a Reader from it.
+	 * Constructs a JsonReader from the given String. The characters of the String
+	 * are read directly in blocks.
 	 *
 	 * @param string
 	 *                   A String to parse JSON data from.
@@ -146,7 +142,69 @@ public class JsonReaderImplementation implements JsonReader {
 	 *                         If an I/O error occurs.
 	 */
 	public JsonReaderImplementation(final String string) throws IOException {
-		this(new ByteArrayInputStream(string.getBytes()));
+		this(null, string, new char[Math.min(JsonReaderImplementation.BUFFER_SIZE, string.length())], 0, 0);
+	}
+
+	/**
+	 * Constructs a JsonReader from the given character array. The array is read in
+	 * place and must not be modified while it's being read.
+	 *
+	 * @param characters
+	 *                       A character array to parse JSON data from.
+	 */
+	public JsonReaderImplementation(final char[] characters) {
+		this(characters, 0, characters.length);
+	}
+
+	/**
+	 * Constructs a JsonReader from the given range of a character array. The array
+	 * is read in place and must not be modified while it's being read.
+	 *
+	 * @param characters
+	 *                       A character array to parse JSON data from.
+	 * @param offset
+	 *                       Index of the first character to read.
+	 * @param length
+	 *                       Number of characters to read.
+	 * @throws IndexOutOfBoundsException
+	 *                                       If the range is out of the bounds of
+	 *                                       the array.
+	 */
+	public JsonReaderImplementation(final char[] characters, final int offset, final int length) {
+		this(null, null, characters, offset, length);
+		if ((offset < 0) || (length < 0) || (length > (characters.length - offset))) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	/**
+	 * Constructs a JsonReader from its source and its initial block of characters.
+	 *
+	 * @param reader
+	 *                   A Reader to read blocks from, or null.
+	 * @param string
+	 *                   A String to read blocks from, or null.
+	 * @param buffer
+	 *                   The buffer blocks of characters are read into.
+	 * @param offset
+	 *                   Index in the buffer of the first character.
+	 * @param length
+	 *                   Number of characters already available in the buffer.
+	 */
+	private JsonReaderImplementation(final Reader reader, final String string, final char[] buffer, final int offset,
+			final int length) {
+		this.reader = reader;
+		this.string = string;
+		this.stringPosition = 0;
+		this.buffer = buffer;
+		this.start = offset;
+		this.position = offset;
+		this.limit = offset + length;
+		this.discardedRows = 0;
+		this.discardedColumns = 0;
+		this.inputSize = 0;
+		this.characters = new char[64];
+		this.numberSpill = new StringBuilder();
 	}
 
 	////////////////////////////////////////////////////////////////////////////////
@@ -166,7 +224,7 @@ public class JsonReaderImplementation implements JsonReader {
 	 *                                      If the character is not a valid
 	 *                                      hexadecimal character.
 	 */
-	private static int hexadecimalToInteger(final char character) {
+	static int hexadecimalToInteger(final char character) {
 		if (('0' <= character) && (character <= '9')) {
 			return character - '0';
 		} else if (('a' <= character) && (character <= 'f')) {
@@ -180,18 +238,84 @@ public class JsonReaderImplementation implements JsonReader {
 	////////////////////////////////////////////////////////////////////////////////
 	// Instance methods
 
+	@Override
+	IllegalArgumentException unexpectedCharacter(final String expectedCharacters) {
+		int row = 1;
+		int column = 1;
+		if (this.string != null) {
+			final int offset = (this.stringPosition - this.limit) + this.position;
+			for (int index = 0; index < offset; ++index) {
+				if (this.string.charAt(index) == '\n') {
+					++row;
+					column = 1;
+				} else {
+					++column;
+				}
+			}
+		} else {
+			row += this.discardedRows;
+			column += this.discardedColumns;
+			for (int index = this.start; index < this.position; ++index) {
+				if (this.buffer[index] == '\n') {
+					++row;
+					column = 1;
+				} else {
+					++column;
+				}
+			}
+		}
+		final String found = this.position < this.limit ? "\'" + this.buffer[this.position] + "\'" : "end of input";
+		return new IllegalArgumentException("JSON parsing error near column:" + column + ", row:" + row + "; Expected "
+				+ expectedCharacters + ", got " + found + " instead");
+	}
+
 	/**
-	 * Creates an IllegalArgumentException warning of an unexpected character with
-	 * the given String in the message as the characters that would be expected.
+	 * Reads the next block of characters into the buffer. Must only be called once
+	 * every character of the current block has been consumed.
 	 *
-	 * @param expectedCharacters
-	 *                               A list of expected characters to be in the
-	 *                               message.
-	 * @return An IllegalArgumentException warning of an unexpected character.
-	 */
-	private IllegalArgumentException unexpectedCharacter(final String expectedCharacters) {
-		return new IllegalArgumentException("JSON parsing error near column:" + this.column + ", row:" + this.row
-				+ "; Expected " + expectedCharacters + ", got \'" + (char) this.peek() + "\' instead");
+	 * @return Whether any characters were read, false if the end of the input has
+	 *         been reached.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private boolean fill() throws IOException {
+		if (this.string != null) {
+			final int count = Math.min(this.buffer.length, this.string.length() - this.stringPosition);
+			if (count <= 0) {
+				return false;
+			}
+			this.string.getChars(this.stringPosition, this.stringPosition + count, this.buffer, 0);
+			this.stringPosition += count;
+			this.position = 0;
+			this.limit = count;
+			this.checkInputSize(this.stringPosition, "characters");
+			return true;
+		} else if (this.reader != null) {
+			// Only the line breaks of the discarded block are counted so that errors can
+			// still report their position
+			for (int index = this.start; index < this.limit; ++index) {
+				if (this.buffer[index] == '\n') {
+					++this.discardedRows;
+					this.discardedColumns = 0;
+				} else {
+					++this.discardedColumns;
+				}
+			}
+			this.position = 0;
+			this.limit = 0;
+			int count;
+			do {
+				count = this.reader.read(this.buffer, 0, this.buffer.length);
+			} while (count == 0);
+			if (count < 0) {
+				return false;
+			}
+			this.limit = count;
+			this.inputSize += count;
+			this.checkInputSize(this.inputSize, "characters");
+			return true;
+		}
+		return false;
 	}
 
 	/**
@@ -214,31 +338,34 @@ public class JsonReaderImplementation implements JsonReader {
 	}
 
 	/**
-	 * Get the current character from the Reader without advancing.
+	 * Get the current character without advancing.
 	 *
-	 * @return The current character from the Reader.
+	 * @return The current character, or -1 if the end of the input has been
+	 *         reached.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
 	 */
-	private int peek() {
-		return this.current;
+	private int peek() throws IOException {
+		if ((this.position == this.limit) && !this.fill()) {
+			return -1;
+		}
+		return this.buffer[this.position];
 	}
 
 	/**
-	 * Get the current character from the Reader and advance to the next one.
+	 * Get the current character and advance to the next one.
 	 *
-	 * @return The current character from the Reader.
+	 * @return The current character, or -1 if the end of the input has been
+	 *         reached.
 	 * @throws IOException
 	 *                         If an I/O error occurs.
 	 */
 	private int pop() throws IOException {
-		final int previous = this.current;
-		this.current = this.reader.read();
-		if (this.current == '\n') {
-			this.row = 1;
-			++this.column;
-		} else {
-			++this.row;
+		final int character = this.peek();
+		if (character >= 0) {
+			++this.position;
 		}
-		return previous;
+		return character;
 	}
 
 	/**
@@ -248,121 +375,251 @@ public class JsonReaderImplementation implements JsonReader {
 	 *                         If an I/O error occurs.
 	 */
 	private void consumeWhitespace() throws IOException {
-		while (Character.isWhitespace(this.peek())) {
-			this.pop();
-		}
+		do {
+			final char[] buffer = this.buffer;
+			final int limit = this.limit;
+			int position = this.position;
+			while ((position < limit) && Character.isWhitespace(buffer[position])) {
+				++position;
+			}
+			this.position = position;
+			if (position < limit) {
+				return;
+			}
+		} while (this.fill());
+	}
+
+	@Override
+	int skipWhitespace() throws IOException {
+		this.consumeWhitespace();
+		return this.peek();
+	}
+
+	@Override
+	void advance() {
+		++this.position;
+	}
+
+	@Override
+	int position() {
+		return this.position;
+	}
+
+	@Override
+	void seek(final int position) {
+		this.position = position;
+		this.reset();
+	}
+
+	@Override
+	void skipNested(final int depth) throws IOException {
+		int open = depth;
+		boolean isString = false;
+		boolean isEscaped = false;
+		do {
+			final char[] buffer = this.buffer;
+			final int limit = this.limit;
+			int position = this.position;
+			while (position < limit) {
+				final char current = buffer[position++];
+				if (isString) {
+					if (isEscaped) {
+						isEscaped = false;
+					} else if (current == '\\') {
+						isEscaped = true;
+					} else if (current == '\"') {
+						isString = false;
+					}
+				} else if (current == '\"') {
+					isString = true;
+				} else if ((current == '{') || (current == '[')) {
+					++open;
+				} else if (((current == '}') || (current == ']')) && (--open == 0)) {
+					this.position = position;
+					return;
+				}
+			}
+			this.position = position;
+		} while (this.fill());
+		throw this.unexpectedCharacter(isString ? "\'\"\'" : "\'}\' or \']\'");
 	}
 
 	/**
-	 * Reads the next JSON object.
+	 * Get the current character of the number being read without advancing. If a
+	 * new block has to be read, the characters of the number read so far are kept.
 	 *
-	 * @return The next JSON object.
-	 * @throws IllegalArgumentException
-	 *                                      If an unexpected character is found.
+	 * @return The current character, or -1 if the end of the input has been
+	 *         reached.
 	 * @throws IOException
-	 *                                      If an I/O error occurs.
+	 *                         If an I/O error occurs.
 	 */
-	private Json readObject() throws IOException {
-		this.consumeWhitespace();
-		this.check('{');
-		final Map<String, Json> map = new HashMap<>();
-		this.consumeWhitespace();
-		if (this.peek() == '}') {
-			this.pop();
-		} else {
-			while (true) {
-				final String key = this.readString();
-				this.consumeWhitespace();
-				this.check(':');
-				final Json value = this.readValue();
-				this.consumeWhitespace();
-				map.put(key, value);
-				if (this.peek() == ',') {
-					this.pop();
-				} else if (this.peek() == '}') {
-					this.pop();
-					break;
-				} else {
-					throw this.unexpectedCharacter("\',\' or \'}\'");
-				}
-			}
+	private int peekNumber() throws IOException {
+		if ((this.position == this.limit) && !this.fillNumber()) {
+			return -1;
 		}
-		return new JsonImplementation(map);
+		return this.buffer[this.position];
 	}
 
 	/**
-	 * Reads the next JSON array.
+	 * Reads the next block while keeping the characters of the number read so far.
 	 *
-	 * @return The next JSON array.
-	 * @throws IllegalArgumentException
-	 *                                      If an unexpected character is found.
+	 * @return Whether any characters were read, false if the end of the input has
+	 *         been reached.
 	 * @throws IOException
-	 *                                      If an I/O error occurs.
+	 *                         If an I/O error occurs.
 	 */
-	private Json readArray() throws IOException {
-		this.check('[');
-		final List<Json> list = new ArrayList<>();
-		this.consumeWhitespace();
-		if (this.peek() == ']') {
-			this.pop();
-		} else {
-			while (true) {
-				final Json value = this.readValue();
-				this.consumeWhitespace();
-				list.add(value);
-				if (this.peek() == ',') {
-					this.pop();
-				} else if (this.peek() == ']') {
-					this.pop();
+	private boolean fillNumber() throws IOException {
+		this.numberSpill.append(this.buffer, this.numberStart, this.limit - this.numberStart);
+		final boolean filled = this.fill();
+		this.numberStart = this.position;
+		return filled;
+	}
+
+	/**
+	 * Pops for as long as there are digits, accumulating them into the significand
+	 * and exponent of the number being read.
+	 *
+	 * @param isFraction
+	 *                       Whether the digits are after the decimal point.
+	 * @return The number of digits popped.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private int readDigits(final boolean isFraction) throws IOException {
+		int count = 0;
+		do {
+			final char[] buffer = this.buffer;
+			final int limit = this.limit;
+			final int first = this.position;
+			long significand = this.significand;
+			int digits = this.significantDigits;
+			int exponent = this.exponent;
+			int position = first;
+			while (position < limit) {
+				final int digit = buffer[position] - '0';
+				if ((digit < 0) || (9 < digit)) {
 					break;
-				} else {
-					throw this.unexpectedCharacter("\',\' or \']\'");
 				}
+				if ((digits != 0) || (digit != 0)) {
+					if (digits < JsonNumbers.MAX_DIGITS) {
+						significand = (10L * significand) + digit;
+						if (isFraction) {
+							--exponent;
+						}
+					} else if (!isFraction) {
+						// Digits that don't fit in the significand scale it instead
+						++exponent;
+					}
+					++digits;
+				} else if (isFraction) {
+					// Leading zeros of the fraction only scale the significand
+					--exponent;
+				}
+				++position;
+			}
+			this.significand = significand;
+			this.significantDigits = digits;
+			this.exponent = exponent;
+			this.position = position;
+			count += position - first;
+			if (position < limit) {
+				return count;
 			}
+		} while (this.fillNumber());
+		return count;
+	}
+
+	/**
+	 * Gets the text of the number being read, up to the current character.
+	 *
+	 * @return The text of the number being read.
+	 */
+	private String numberText() {
+		if (this.numberSpill.length() == 0) {
+			return new String(this.buffer, this.numberStart, this.position - this.numberStart);
 		}
-		return new JsonImplementation(list);
+		return this.numberSpill.append(this.buffer, this.numberStart, this.position - this.numberStart).toString();
 	}
 
 	/**
-	 * Reads the next JSON string.
+	 * Makes room in the characters buffer for the given number of characters,
+	 * checking the length of the string being read before it grows.
 	 *
-	 * @return The next JSON string.
+	 * @param count
+	 *                   Number of characters of the string read so far.
+	 * @param length
+	 *                   Number of characters the buffer must fit.
 	 * @throws IllegalArgumentException
-	 *                                      If an unexpected character is found.
-	 * @throws IOException
-	 *                                      If an I/O error occurs.
+	 *                                      If the string is longer than allowed.
 	 */
-	private String readString() throws IOException {
+	private void ensureCapacity(final int count, final int length) {
+		if (this.characters.length < length) {
+			this.checkStringLength(count);
+			this.characters = Arrays.copyOf(this.characters, 2 * length);
+		}
+	}
+
+	@Override
+	void readText() throws IOException {
 		this.consumeWhitespace();
 		this.check('\"');
-		final StringBuilder stringBuilder = new StringBuilder();
-		while (this.peek() != '\"') {
-			if (this.peek() == '\\') {
+		// Strings without escapes that are in a single block are left in the buffer,
+		// other strings are copied into the characters buffer
+		boolean isCopied = false;
+		int count = 0;
+		while (true) {
+			// Scan the run of characters that need no unescaping in one go
+			final char[] buffer = this.buffer;
+			final int limit = this.limit;
+			final int first = this.position;
+			int position = first;
+			while ((position < limit) && (buffer[position] != '\"') && (buffer[position] != '\\')) {
+				++position;
+			}
+			if ((position < limit) && (buffer[position] == '\"') && !isCopied) {
+				this.position = position + 1;
+				this.setText(buffer, first, position - first);
+				return;
+			}
+			isCopied = true;
+			this.ensureCapacity(count + (position - first), count + (position - first) + 1);
+			System.arraycopy(buffer, first, this.characters, count, position - first);
+			count += position - first;
+			this.position = position;
+			if (position == limit) {
+				if (!this.fill()) {
+					throw this.unexpectedCharacter("\'\"\'");
+				}
+			} else if (buffer[position] == '\"') {
+				this.position = position + 1;
+				this.setText(this.characters, 0, count);
+				return;
+			} else {
 				this.pop();
 				switch (this.pop()) {
 				case '\"':
-					stringBuilder.append('\"');
+					this.characters[count++] = '\"';
 					break;
 				case '\\':
-					stringBuilder.append('\\');
+					this.characters[count++] = '\\';
 					break;
 				case '/':
-					stringBuilder.append('/');
+					this.characters[count++] = '/';
 					break;
 				case 'b':
-					stringBuilder.append('\b');
+					this.characters[count++] = '\b';
 					break;
 				case 'f':
-					stringBuilder.append('\f');
+					this.characters[count++] = '\f';
 					break;
 				case 'n':
-					stringBuilder.append('\n');
+					this.characters[count++] = '\n';
 					break;
 				case 'r':
-					stringBuilder.append('\r');
+					this.characters[count++] = '\r';
 					break;
 				case 't':
-					stringBuilder.append('\t');
+					this.characters[count++] = '\t';
 					break;
 				case 'u':
 					int unescaped = 0;
@@ -370,197 +627,109 @@ public class JsonReaderImplementation implements JsonReader {
 					unescaped |= JsonReaderImplementation.hexadecimalToInteger((char) this.pop()) << 8;
 					unescaped |= JsonReaderImplementation.hexadecimalToInteger((char) this.pop()) << 4;
 					unescaped |= JsonReaderImplementation.hexadecimalToInteger((char) this.pop());
-					stringBuilder.append((char) unescaped);
+					this.characters[count++] = (char) unescaped;
 					break;
 				}
-			} else {
-				stringBuilder.append((char) this.pop());
 			}
 		}
+	}
+
+	@Override
+	JsonStringImplementation readRawString() throws IOException {
+		if ((this.reader != null) || (this.string != null)) {
+			return null;
+		}
+		this.consumeWhitespace();
 		this.check('\"');
-		return stringBuilder.toString();
+		final char[] buffer = this.buffer;
+		final int first = this.position;
+		boolean isPlain = true;
+		int position = first;
+		while ((position < this.limit) && (buffer[position] != '\"')) {
+			if (buffer[position] == '\\') {
+				// The escaped character can't end the string
+				isPlain = false;
+				++position;
+			}
+			++position;
+		}
+		if (position >= this.limit) {
+			this.position = this.limit;
+			throw this.unexpectedCharacter("\'\"\'");
+		}
+		this.checkStringLength(position - first);
+		this.position = position + 1;
+		return new JsonStringImplementation(buffer, first, position - first, isPlain);
 	}
 
-	/**
-	 * Reads the next JSON number.
-	 *
-	 * @return The next JSON number.
-	 * @throws IllegalArgumentException
-	 *                                      If an unexpected character is found.
-	 * @throws IOException
-	 *                                      If an I/O error occurs.
-	 */
-	private Json readNumber() throws IOException {
+	@Override
+	JsonNumberImplementation readRawNumber() {
+		if ((this.reader != null) || (this.string != null)) {
+			return null;
+		}
+		return new JsonNumberImplementation(this.buffer, this.numberStart, this.position - this.numberStart, this);
+	}
+
+	@Override
+	void readNumber() throws IOException {
 		this.consumeWhitespace();
-		final StringBuilder stringBuilder = new StringBuilder();
-		boolean isWhole = true;
-		if (this.peek() == '-') {
-			stringBuilder.append((char) this.pop());
+		this.numberStart = this.position;
+		this.numberSpill.setLength(0);
+		this.significand = 0L;
+		this.significantDigits = 0;
+		this.exponent = 0;
+		this.isWhole = true;
+		boolean isClamped = false;
+		this.negative = this.peekNumber() == '-';
+		if (this.negative) {
+			++this.position;
 		}
-		while (('0' <= this.peek()) && (this.peek() <= '9')) {
-			stringBuilder.append((char) this.pop());
+		if (this.readDigits(false) == 0) {
+			throw this.unexpectedCharacter("DIGIT");
 		}
-		if (this.peek() == '.') {
-			stringBuilder.append((char) this.pop());
-			isWhole = false;
-			while (('0' <= this.peek()) && (this.peek() <= '9')) {
-				stringBuilder.append((char) this.pop());
+		if (this.peekNumber() == '.') {
+			++this.position;
+			this.isWhole = false;
+			if (this.readDigits(true) == 0) {
+				throw this.unexpectedCharacter("DIGIT");
 			}
 		}
-		if ((this.peek() == 'e') || (this.peek() == 'E')) {
-			stringBuilder.append((char) this.pop());
-			isWhole = false;
-			if ((this.peek() == '-') || (this.peek() == '+')) {
-				stringBuilder.append((char) this.pop());
+		if ((this.peekNumber() == 'e') || (this.peekNumber() == 'E')) {
+			++this.position;
+			this.isWhole = false;
+			final boolean negativeExponent = this.peekNumber() == '-';
+			if (negativeExponent || (this.peekNumber() == '+')) {
+				++this.position;
 			}
-			while (('0' <= this.peek()) && (this.peek() <= '9')) {
-				stringBuilder.append((char) this.pop());
+			int exponent = 0;
+			int count = 0;
+			for (int digit = this.peekNumber(); ('0' <= digit) && (digit <= '9'); digit = this.peekNumber()) {
+				++this.position;
+				++count;
+				// Larger exponents make any significand zero or infinite already
+				if (exponent < 100000) {
+					exponent = (10 * exponent) + (digit - '0');
+				} else {
+					isClamped = true;
+				}
 			}
-		}
-		Number number;
-		if (isWhole) {
-			final BigInteger result = new BigInteger(stringBuilder.toString());
-			if ((result.compareTo(JsonReaderImplementation.MIN_BYTE_VALUE) >= 0)
-					&& (0 >= result.compareTo(JsonReaderImplementation.MAX_BYTE_VALUE))) {
-				number = Byte.valueOf(result.byteValue());
-			} else if ((result.compareTo(JsonReaderImplementation.MIN_SHORT_VALUE) >= 0)
-					&& (0 >= result.compareTo(JsonReaderImplementation.MAX_SHORT_VALUE))) {
-				number = Short.valueOf(result.shortValue());
-			} else if ((result.compareTo(JsonReaderImplementation.MIN_INTEGER_VALUE) >= 0)
-					&& (0 >= result.compareTo(JsonReaderImplementation.MAX_INTEGER_VALUE))) {
-				number = Integer.valueOf(result.intValue());
-			} else if ((result.compareTo(JsonReaderImplementation.MIN_LONG_VALUE) >= 0)
-					&& (0 >= result.compareTo(JsonReaderImplementation.MAX_LONG_VALUE))) {
-				number = Long.valueOf(result.longValue());
-			} else {
-				number = result;
+			if (count == 0) {
+				throw this.unexpectedCharacter("DIGIT");
 			}
-		} else {
-			number = new BigDecimal(stringBuilder.toString());
+			this.exponent += negativeExponent ? -exponent : exponent;
 		}
-		return new JsonImplementation(number);
-	}
-
-	/**
-	 * Reads the next JSON boolean with true value.
-	 *
-	 * @return The next JSON boolean with true value.
-	 * @throws IllegalArgumentException
-	 *                                      If an unexpected character is found.
-	 * @throws IOException
-	 *                                      If an I/O error occurs.
-	 */
-	private Json readTrue() throws IOException {
-		this.consumeWhitespace();
-		this.check('t');
-		this.check('r');
-		this.check('u');
-		this.check('e');
-		return new JsonImplementation(Boolean.TRUE);
-	}
-
-	/**
-	 * Reads the next JSON boolean with false value.
-	 *
-	 * @return The next JSON boolean with false value.
-	 * @throws IllegalArgumentException
-	 *                                      If an unexpected character is found.
-	 * @throws IOException
-	 *                                      If an I/O error occurs.
-	 */
-	private Json readFalse() throws IOException {
-		this.consumeWhitespace();
-		this.check('f');
-		this.check('a');
-		this.check('l');
-		this.check('s');
-		this.check('e');
-		return new JsonImplementation(Boolean.FALSE);
-	}
-
-	/**
-	 * Reads the next JSON null.
-	 *
-	 * @return The next JSON null.
-	 * @throws IllegalArgumentException
-	 *                                      If an unexpected character is found.
-	 * @throws IOException
-	 *                                      If an I/O error occurs.
-	 */
-	private Json readNull() throws IOException {
-		this.consumeWhitespace();
-		this.check('n');
-		this.check('u');
-		this.check('l');
-		this.check('l');
-		return new JsonImplementation(null);
-	}
-
-	/**
-	 * Reads the next JSON value.
-	 *
-	 * @return The next JSON value.
-	 * @throws IllegalArgumentException
-	 *                                      If an unexpected character is found.
-	 * @throws IOException
-	 *                                      If an I/O error occurs.
-	 */
-	private Json readValue() throws IOException {
-		this.consumeWhitespace();
-		switch (this.peek()) {
-		case '{':
-			return this.readObject();
-		case '[':
-			return this.readArray();
-		case '\"':
-			return new JsonImplementation(this.readString());
-		case 't':
-			return this.readTrue();
-		case 'f':
-			return this.readFalse();
-		case 'n':
-			return this.readNull();
-		case '0':
-		case '1':
-		case '2':
-		case '3':
-		case '4':
-		case '5':
-		case '6':
-		case '7':
-		case '8':
-		case '9':
-		case '-':
-			return this.readNumber();
-		default:
-			throw this.unexpectedCharacter("\'{\', \'[\', \'t\', \'f\', \'n\', \'-\' or DIGIT");
+		if ((this.significantDigits > JsonNumbers.MAX_DIGITS) || isClamped) {
+			// Only numbers that don't fit a significand and an exponent keep their text
+			this.numberText = this.numberText();
 		}
 	}
 
-	/**
-	 * Reads the next JSON structure.
-	 *
-	 * @return The next JSON structure.
-	 * @throws IllegalArgumentException
-	 *                                      If an unexpected character is found.
-	 * @throws IOException
-	 *                                      If an I/O error occurs.
-	 */
-	private Json readStructure() throws IOException {
+	@Override
+	void readLiteral(final String literal) throws IOException {
 		this.consumeWhitespace();
-		switch (this.peek()) {
-		case '{':
-			return this.readObject();
-		case '[':
-			return this.readArray();
-		default:
-			throw this.unexpectedCharacter("not \'{\' or \'[\'");
+		for (int index = 0; index < literal.length(); ++index) {
+			this.check(literal.charAt(index));
 		}
 	}
 
-	@Override
-	public Json read() throws IOException {
-		return this.readStructure();
-	}
-
 }
@@ -0,0 +1,230 @@
+package impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Searches for the bytes that matter to the JSON readers, shared by the readers
+ * of UTF-8 input.
+ *
+ * The bytes are looked at eight at a time, as the lanes of a long word. Each
+ * lane is compared with a byte by turning the lanes equal to it into zeroes and
+ * marking the zero lanes with their highest bit, without carries from one lane
+ * into the next, so the first lane found is found exactly. Words are read in
+ * little endian order, so that the first lane in the input is the lowest one.
+ * Fewer than eight bytes left are looked at one by one.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonScanner {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Number of bytes in a word.
+	 */
+	private static final int WORD_SIZE = Long.BYTES;
+	/**
+	 * Access to the bytes of a byte array as little endian words.
+	 */
+	private static final VarHandle WORDS = MethodHandles.byteArrayViewVarHandle(long[].class,
+			ByteOrder.LITTLE_ENDIAN);
+	/**
+	 * A word with every lane set to 0x01.
+	 */
+	private static final long ONES = 0x0101010101010101L;
+	/**
+	 * A word with every lane set to 0x7F.
+	 */
+	private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+	/**
+	 * A word with every lane set to 0x80.
+	 */
+	private static final long HIGH_BITS = 0x8080808080808080L;
+	/**
+	 * A word with every lane set to a quotation mark.
+	 */
+	private static final long QUOTES = JsonScanner.ONES * '\"';
+	/**
+	 * A word with every lane set to a reverse solidus.
+	 */
+	private static final long BACKSLASHES = JsonScanner.ONES * '\\';
+	/**
+	 * A word with every lane set to a space.
+	 */
+	private static final long SPACES = JsonScanner.ONES * ' ';
+	/**
+	 * A word with every lane set to a horizontal tab.
+	 */
+	private static final long TABS = JsonScanner.ONES * '\t';
+	/**
+	 * A word with every lane set to a line feed.
+	 */
+	private static final long LINE_FEEDS = JsonScanner.ONES * '\n';
+	/**
+	 * A word with every lane set to a carriage return.
+	 */
+	private static final long CARRIAGE_RETURNS = JsonScanner.ONES * '\r';
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * This class is not meant to be instanced.
+	 */
+	private JsonScanner() {
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Marks the zero lanes of a word.
+	 *
+	 * @param word
+	 *                 A word.
+	 * @return A word with the highest bit of each lane set if that lane of the
+	 *         given word is zero, and every other bit clear.
+	 */
+	private static long zeroes(final long word) {
+		return ~(((word & JsonScanner.LOW_BITS) + JsonScanner.LOW_BITS) | word | JsonScanner.LOW_BITS);
+	}
+
+	/**
+	 * Reads the word starting at the given index of a byte array.
+	 *
+	 * @param bytes
+	 *                  A byte array.
+	 * @param index
+	 *                  The index of the first byte of the word.
+	 * @return The word.
+	 */
+	private static long word(final byte[] bytes, final int index) {
+		return (long) JsonScanner.WORDS.get(bytes, index);
+	}
+
+	/**
+	 * Finds the first byte that isn't whitespace, as told by
+	 * Character.isWhitespace.
+	 *
+	 * @param bytes
+	 *                     The bytes to search.
+	 * @param position
+	 *                     The index to start searching from.
+	 * @param limit
+	 *                     The index to stop searching at.
+	 * @return The index of the first byte that isn't whitespace, or limit if there
+	 *         is none.
+	 */
+	static int skipWhitespace(final byte[] bytes, final int position, final int limit) {
+		int index = position;
+		// Most tokens are preceded by little or no whitespace, so words are only read
+		// when there's more than one whitespace byte in a row
+		if ((index < limit) && !Character.isWhitespace(bytes[index])) {
+			return index;
+		}
+		while ((limit - index) >= JsonScanner.WORD_SIZE) {
+			final long word = JsonScanner.word(bytes, index);
+			final long whitespace = JsonScanner.zeroes(word ^ JsonScanner.SPACES)
+					| JsonScanner.zeroes(word ^ JsonScanner.TABS) | JsonScanner.zeroes(word ^ JsonScanner.LINE_FEEDS)
+					| JsonScanner.zeroes(word ^ JsonScanner.CARRIAGE_RETURNS);
+			final long other = ~whitespace & JsonScanner.HIGH_BITS;
+			if (other != 0) {
+				index += Long.numberOfTrailingZeros(other) >>> 3;
+				break;
+			}
+			index += JsonScanner.WORD_SIZE;
+		}
+		// Whitespace other than the usual one is rare enough to be left to this loop
+		while ((index < limit) && Character.isWhitespace(bytes[index])) {
+			++index;
+		}
+		return index;
+	}
+
+	/**
+	 * Finds the first quotation mark, reverse solidus or byte that isn't ASCII,
+	 * which are the bytes of a string that can't be copied as they are.
+	 *
+	 * @param bytes
+	 *                     The bytes to search.
+	 * @param position
+	 *                     The index to start searching from.
+	 * @param limit
+	 *                     The index to stop searching at.
+	 * @return The index of the first byte found, or limit if there is none.
+	 */
+	static int skipPlainText(final byte[] bytes, final int position, final int limit) {
+		int index = position;
+		while ((limit - index) >= JsonScanner.WORD_SIZE) {
+			final long word = JsonScanner.word(bytes, index);
+			final long found = JsonScanner.zeroes(word ^ JsonScanner.QUOTES)
+					| JsonScanner.zeroes(word ^ JsonScanner.BACKSLASHES) | (word & JsonScanner.HIGH_BITS);
+			if (found != 0) {
+				return index + (Long.numberOfTrailingZeros(found) >>> 3);
+			}
+			index += JsonScanner.WORD_SIZE;
+		}
+		while ((index < limit) && (bytes[index] >= 0) && (bytes[index] != '\"') && (bytes[index] != '\\')) {
+			++index;
+		}
+		return index;
+	}
+
+	/**
+	 * Finds the first quotation mark or reverse solidus, which are the bytes that
+	 * can end a string or escape the byte after them.
+	 *
+	 * @param bytes
+	 *                     The bytes to search.
+	 * @param position
+	 *                     The index to start searching from.
+	 * @param limit
+	 *                     The index to stop searching at.
+	 * @return The index of the first byte found, or limit if there is none.
+	 */
+	static int skipStringContents(final byte[] bytes, final int position, final int limit) {
+		int index = position;
+		while ((limit - index) >= JsonScanner.WORD_SIZE) {
+			final long word = JsonScanner.word(bytes, index);
+			final long found = JsonScanner.zeroes(word ^ JsonScanner.QUOTES)
+					| JsonScanner.zeroes(word ^ JsonScanner.BACKSLASHES);
+			if (found != 0) {
+				return index + (Long.numberOfTrailingZeros(found) >>> 3);
+			}
+			index += JsonScanner.WORD_SIZE;
+		}
+		while ((index < limit) && (bytes[index] != '\"') && (bytes[index] != '\\')) {
+			++index;
+		}
+		return index;
+	}
+
+	/**
+	 * Finds the end of a string whose opening quotation mark has already been
+	 * skipped, without looking at anything but its escapes.
+	 *
+	 * @param bytes
+	 *                     The bytes to search.
+	 * @param position
+	 *                     The index of the first byte of the contents of the
+	 *                     string.
+	 * @param limit
+	 *                     The index to stop searching at.
+	 * @return The index of the closing quotation mark, or at least limit if there
+	 *         is none.
+	 */
+	static int skipString(final byte[] bytes, final int position, final int limit) {
+		int index = JsonScanner.skipStringContents(bytes, position, limit);
+		while ((index < limit) && (bytes[index] == '\\')) {
+			index = JsonScanner.skipStringContents(bytes, index + 2, limit);
+		}
+		return index;
+	}
+
+}
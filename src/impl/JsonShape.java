@@ -0,0 +1,117 @@
+package impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The keys of a JSON object in the order they were read, shared by every object
+ * read with the same keys in the same order. Shapes are made by JsonKeys, each
+ * from the shape of its first keys and the key that follows them.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonShape {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Number of keys up to which keys are found by comparing them one by one
+	 * instead of by hashing.
+	 */
+	private static final int MAX_SCANNED_KEYS = 8;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The keys, in the order they were read.
+	 */
+	private final String[] keys;
+	/**
+	 * The index of each key, or null if there are few enough keys to compare them
+	 * one by one.
+	 */
+	private final Map<String, Integer> indexes;
+	/**
+	 * The shapes made from this one by adding a key, by that key.
+	 */
+	final Map<String, JsonShape> transitions;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs the shape of an object with the given keys.
+	 *
+	 * @param keys
+	 *                 The keys, in the order they were read.
+	 */
+	JsonShape(final String[] keys) {
+		this.keys = keys;
+		if (keys.length > JsonShape.MAX_SCANNED_KEYS) {
+			this.indexes = new HashMap<>();
+			for (int index = 0; index < keys.length; ++index) {
+				this.indexes.put(keys[index], index);
+			}
+		} else {
+			this.indexes = null;
+		}
+		this.transitions = new ConcurrentHashMap<>();
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Gets the number of keys.
+	 *
+	 * @return The number of keys.
+	 */
+	int size() {
+		return this.keys.length;
+	}
+
+	/**
+	 * Gets the key at the given index.
+	 *
+	 * @param index
+	 *                  The index of the key.
+	 * @return The key.
+	 */
+	String key(final int index) {
+		return this.keys[index];
+	}
+
+	/**
+	 * Finds the index of the given key.
+	 *
+	 * @param key
+	 *                A key.
+	 * @return The index of the key, or -1 if it isn't one of the keys.
+	 */
+	int indexOf(final Object key) {
+		if (this.indexes != null) {
+			final Integer index = this.indexes.get(key);
+			return index != null ? index : -1;
+		}
+		// Keys read by the same reader are usually the same instance, so they're
+		// compared by reference before they're compared by their characters
+		for (int index = 0; index < this.keys.length; ++index) {
+			if (this.keys[index] == key) {
+				return index;
+			}
+		}
+		for (int index = 0; index < this.keys.length; ++index) {
+			if (this.keys[index].equals(key)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+}
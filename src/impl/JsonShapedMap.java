@@ -0,0 +1,117 @@
+package impl;
+
+import java.util.Arrays;
+
+import api.Json;
+
+/**
+ * The fields of a JSON object, kept as a shape shared with other objects with
+ * the same keys and an array with the value of each key.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonShapedMap extends JsonObjectMap {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Number of values there's room for in a new map.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The keys of the fields.
+	 */
+	private JsonShape shape;
+	/**
+	 * The value of each key of the shape, followed by room for more values while
+	 * the object is being read.
+	 */
+	private Json[] values;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a map with no fields.
+	 *
+	 * @param shape
+	 *                  The shape of objects with no keys.
+	 */
+	JsonShapedMap(final JsonShape shape) {
+		this.shape = shape;
+		this.values = new Json[JsonShapedMap.INITIAL_CAPACITY];
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Adds a field while the object is being read. The value of a key that's
+	 * already in the map is replaced.
+	 *
+	 * @param keys
+	 *                  The shapes to take the shape with the key added from.
+	 * @param key
+	 *                  The key of the field.
+	 * @param value
+	 *                  The value of the field.
+	 * @return Whether the field could be added, which it can't if there are too
+	 *         many shapes to make the one with the key added.
+	 */
+	boolean add(final JsonKeys keys, final String key, final Json value) {
+		final int index = this.shape.indexOf(key);
+		if (index >= 0) {
+			this.values[index] = value;
+			return true;
+		}
+		final JsonShape next = keys.next(this.shape, key);
+		if (next == null) {
+			return false;
+		}
+		final int size = this.shape.size();
+		if (size == this.values.length) {
+			this.values = Arrays.copyOf(this.values, 2 * size);
+		}
+		this.values[size] = value;
+		this.shape = next;
+		return true;
+	}
+
+	/**
+	 * Drops the room left for more values once the object has been read.
+	 */
+	void trim() {
+		if (this.values.length != this.shape.size()) {
+			this.values = Arrays.copyOf(this.values, this.shape.size());
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.shape.size();
+	}
+
+	@Override
+	String key(final int index) {
+		return this.shape.key(index);
+	}
+
+	@Override
+	Json value(final int index) {
+		return this.values[index];
+	}
+
+	@Override
+	int indexOf(final Object key) {
+		return this.shape.indexOf(key);
+	}
+
+}
@@ -0,0 +1,222 @@
+package impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JSON string read from an array read in place, which keeps the span of the
+ * array between its quotation marks and is only decoded the first time it's
+ * accessed. Errors in its escapes or its encoding are only found when it's
+ * decoded.
+ *
+ * @see impl.JsonParserImplementation#setRawStrings(boolean)
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonStringImplementation extends JsonImplementation {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The array of characters the string was read from, or null if it was read from
+	 * bytes.
+	 */
+	private final char[] characters;
+	/**
+	 * The array of UTF-8 encoded bytes the string was read from, or null if it was
+	 * read from characters.
+	 */
+	private final byte[] bytes;
+	/**
+	 * Index in the array of the first character after the opening quotation mark.
+	 */
+	private final int offset;
+	/**
+	 * Number of characters or bytes between the quotation marks.
+	 */
+	private final int length;
+	/**
+	 * Whether the span has no escapes nor, if it's bytes, any byte that isn't
+	 * ASCII, so that it's the string as it is.
+	 */
+	private final boolean isPlain;
+	/**
+	 * The string once it has been decoded.
+	 */
+	private volatile String value;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs an undecoded JSON string from a span of a character array.
+	 *
+	 * @param characters
+	 *                       The array the string was read from.
+	 * @param offset
+	 *                       Index of the first character after the opening
+	 *                       quotation mark.
+	 * @param length
+	 *                       Number of characters between the quotation marks.
+	 * @param isPlain
+	 *                       Whether the span has no escapes.
+	 */
+	JsonStringImplementation(final char[] characters, final int offset, final int length, final boolean isPlain) {
+		super(null);
+		this.characters = characters;
+		this.bytes = null;
+		this.offset = offset;
+		this.length = length;
+		this.isPlain = isPlain;
+	}
+
+	/**
+	 * Constructs an undecoded JSON string from a span of an array of UTF-8 encoded
+	 * bytes.
+	 *
+	 * @param bytes
+	 *                    The array the string was read from.
+	 * @param offset
+	 *                    Index of the first byte after the opening quotation mark.
+	 * @param length
+	 *                    Number of bytes between the quotation marks.
+	 * @param isPlain
+	 *                    Whether the span has no escapes nor any byte that isn't
+	 *                    ASCII.
+	 */
+	JsonStringImplementation(final byte[] bytes, final int offset, final int length, final boolean isPlain) {
+		super(null);
+		this.characters = null;
+		this.bytes = bytes;
+		this.offset = offset;
+		this.length = length;
+		this.isPlain = isPlain;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Decodes the string from its span.
+	 *
+	 * @return The string.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 */
+	private String decode() {
+		if (this.isPlain) {
+			return this.characters != null ? new String(this.characters, this.offset, this.length)
+					: new String(this.bytes, this.offset, this.length, StandardCharsets.ISO_8859_1);
+		}
+		// Strings with escapes or multibyte characters are decoded by a parser on their
+		// span, quotation marks included
+		final JsonParserImplementation parser = this.characters != null
+				? new JsonReaderImplementation(this.characters, this.offset - 1, this.length + 2)
+				: new JsonUtf8ReaderImplementation(this.bytes, this.offset - 1, this.length + 2);
+		try {
+			parser.nextToken();
+		} catch (final IOException e) {
+			throw new IllegalArgumentException(e);
+		}
+		return parser.getString();
+	}
+
+	/**
+	 * Checks whether the span of this string can be copied as it is into JSON text,
+	 * which is when it has no control characters and every escape in it is one of
+	 * the escapes of JSON. Lenient parsers let other escapes through, which decode
+	 * drops instead.
+	 *
+	 * @return Whether the span is well formed.
+	 */
+	boolean isWellFormed() {
+		final int end = this.offset + this.length;
+		for (int index = this.offset; index < end; ++index) {
+			final int current = this.characterAt(index);
+			if (current < 0x20) {
+				return false;
+			} else if (current == '\\') {
+				if (++index == end) {
+					return false;
+				}
+				switch (this.characterAt(index)) {
+				case '\"':
+				case '\\':
+				case '/':
+				case 'b':
+				case 'f':
+				case 'n':
+				case 'r':
+				case 't':
+					break;
+				case 'u':
+					if ((end - index) <= 4) {
+						return false;
+					}
+					for (int digit = 0; digit < 4; ++digit) {
+						final int hexadecimal = this.characterAt(++index) | 0x20;
+						if (((hexadecimal < '0') || (hexadecimal > '9'))
+								&& ((hexadecimal < 'a') || (hexadecimal > 'f'))) {
+							return false;
+						}
+					}
+					break;
+				default:
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the character or byte at the given index of the array the string was
+	 * read from.
+	 *
+	 * @param index
+	 *                  The index in the array.
+	 * @return The character, or the byte as an unsigned value.
+	 */
+	private int characterAt(final int index) {
+		return this.characters != null ? this.characters[index] : this.bytes[index] & 0xFF;
+	}
+
+	/**
+	 * Writes the span of this string, with its escapes as they were read, to the
+	 * given Writer. The span must be well formed.
+	 *
+	 * @param writer
+	 *                   The Writer to write to.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	void write(final Writer writer) throws IOException {
+		if (this.characters != null) {
+			writer.write(this.characters, this.offset, this.length);
+		} else if (this.isPlain) {
+			writer.write((String) this.getValue());
+		} else {
+			writer.write(new String(this.bytes, this.offset, this.length, StandardCharsets.UTF_8));
+		}
+	}
+
+	@Override
+	Object getValue() {
+		String value = this.value;
+		if (value == null) {
+			value = this.decode();
+			this.value = value;
+		}
+		return value;
+	}
+
+	@Override
+	byte kind() {
+		return JsonImplementation.STRING_VALUE;
+	}
+
+}
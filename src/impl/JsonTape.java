@@ -0,0 +1,1034 @@
+package impl;
+
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import api.Json;
+import api.Json.JsonType;
+import api.JsonHandler;
+
+/**
+ * A JSON value read into a flat tape of long words, with the bytes of its
+ * strings in a side buffer. The tape and the side buffer are either arrays on
+ * the heap or direct buffers off the heap, so that however large the value is,
+ * it's only a few objects to the garbage collector. The value is accessed
+ * through JSON values that are cursors over the tape, made as they're reached,
+ * or walked by the indexes of its words without making any object at all:
+ *
+ * <pre>
+ * for (int field = index + 1; field &lt; tape.next(index); field = tape.next(field + 1)) {
+ * 	tape.getString(field); // The key, followed by the value at field + 1
+ * }
+ * for (int element = index + 1; element &lt; tape.next(index); element = tape.next(element)) {
+ * 	tape.getType(element);
+ * }
+ * </pre>
+ *
+ * Every value takes one word whose 8 highest bits are its kind and whose 56
+ * lowest bits are its payload:
+ *
+ * <pre>
+ * OBJECT, ARRAY        count of fields or elements in bits 32 to 55, saturated,
+ *                      and index of the word after the structure in bits 0 to 31
+ * STRING               offset of the string in the side buffer
+ * INTEGER, DECIMAL     nothing, the long or the bits of the double follow
+ * BIG_INTEGER,
+ * BIG_DECIMAL          offset of the text of the number in the side buffer
+ * BOOLEAN              1 if true, 0 if false
+ * NULL                 nothing
+ * </pre>
+ *
+ * Structures are followed by their values, and every value of an object is
+ * preceded by its key as a STRING word. Strings are kept in the side buffer as
+ * their length in four bytes followed by their bytes, encoded as UTF-8 except
+ * that unpaired surrogates are encoded in three bytes the same as any other
+ * character, so that every string reads back with the same characters.
+ *
+ * Tapes off the heap must be closed once they're no longer needed, which hands
+ * their buffers back to the reader that read them so that they're reused for
+ * the next tape. JSON values of a tape can't be accessed after it's closed.
+ * Tapes aren't thread-safe while they're being read or closed.
+ *
+ * @see impl.JsonTapeReaderImplementation
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public final class JsonTape implements Closeable {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Number of bits the kind of a word is shifted by.
+	 */
+	private static final int KIND_SHIFT = 56;
+	/**
+	 * Mask of the payload of a word.
+	 */
+	private static final long PAYLOAD_MASK = (1L << JsonTape.KIND_SHIFT) - 1;
+	/**
+	 * Number of bits the count of a structure is shifted by.
+	 */
+	private static final int COUNT_SHIFT = 32;
+	/**
+	 * Largest count a structure word holds. Structures with at least this many
+	 * values have their values counted when their size is needed.
+	 */
+	static final int MAX_COUNT = (1 << (JsonTape.KIND_SHIFT - JsonTape.COUNT_SHIFT)) - 1;
+	/**
+	 * Number of words of a new tape.
+	 */
+	private static final int INITIAL_WORDS = 1024;
+	/**
+	 * Number of bytes of the side buffer of a new tape.
+	 */
+	private static final int INITIAL_BYTES = 8192;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The reader this tape was read by, to hand its buffers back to once it's
+	 * closed.
+	 */
+	private final JsonTapeReaderImplementation reader;
+	/**
+	 * The words of the tape if it's on the heap, or null.
+	 */
+	private long[] words;
+	/**
+	 * The words of the tape if it's off the heap, or null.
+	 */
+	private ByteBuffer wordBuffer;
+	/**
+	 * The bytes of the strings if the tape is on the heap, or null.
+	 */
+	private byte[] bytes;
+	/**
+	 * The bytes of the strings if the tape is off the heap, or null.
+	 */
+	private ByteBuffer byteBuffer;
+	/**
+	 * Array strings are encoded into before they're copied off the heap, or null if
+	 * the tape is on the heap.
+	 */
+	private byte[] scratch;
+	/**
+	 * Number of words written.
+	 */
+	private int wordCount;
+	/**
+	 * Number of bytes of strings written.
+	 */
+	private int byteCount;
+	/**
+	 * Whether the tape has been closed.
+	 */
+	private boolean isClosed;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs an empty tape on the heap.
+	 *
+	 * @param reader
+	 *                   The reader the tape is read by.
+	 */
+	JsonTape(final JsonTapeReaderImplementation reader) {
+		this.reader = reader;
+		this.words = new long[JsonTape.INITIAL_WORDS];
+		this.bytes = new byte[JsonTape.INITIAL_BYTES];
+	}
+
+	/**
+	 * Constructs an empty tape off the heap.
+	 *
+	 * @param reader
+	 *                       The reader the tape is read by.
+	 * @param wordBuffer
+	 *                       A direct buffer to write the words to, or null to
+	 *                       allocate one.
+	 * @param byteBuffer
+	 *                       A direct buffer to write the bytes of the strings to,
+	 *                       or null to allocate one.
+	 */
+	JsonTape(final JsonTapeReaderImplementation reader, final ByteBuffer wordBuffer, final ByteBuffer byteBuffer) {
+		this.reader = reader;
+		this.wordBuffer = wordBuffer != null ? wordBuffer
+				: JsonTape.allocate(JsonTape.INITIAL_WORDS * Long.BYTES);
+		this.byteBuffer = byteBuffer != null ? byteBuffer : JsonTape.allocate(JsonTape.INITIAL_BYTES);
+		this.scratch = new byte[JsonTape.INITIAL_BYTES];
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class methods
+
+	/**
+	 * Allocates a direct buffer in the native byte order.
+	 *
+	 * @param capacity
+	 *                     The capacity of the buffer, in bytes.
+	 * @return A new direct buffer.
+	 */
+	private static ByteBuffer allocate(final int capacity) {
+		return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Gets the capacity that holds the given number of units, growing the current
+	 * capacity by half at least.
+	 *
+	 * @param capacity
+	 *                     The current capacity.
+	 * @param needed
+	 *                     The capacity needed.
+	 * @throws IllegalStateException
+	 *                                   If the capacity needed is larger than an
+	 *                                   array or a buffer can be.
+	 * @return The new capacity.
+	 */
+	private static int grow(final int capacity, final long needed) {
+		if (needed > (Integer.MAX_VALUE - 8)) {
+			throw new IllegalStateException("JSON value is too large for a tape");
+		}
+		return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(needed, capacity + (capacity >> 1)));
+	}
+
+	/**
+	 * Makes a word from a kind and a payload.
+	 *
+	 * @param kind
+	 *                    The kind of the value.
+	 * @param payload
+	 *                    The payload of the word.
+	 * @return The word.
+	 */
+	private static long word(final byte kind, final long payload) {
+		return (((long) kind) << JsonTape.KIND_SHIFT) | payload;
+	}
+
+	/**
+	 * Encodes the given characters as UTF-8 into the given array, which must have
+	 * room for three bytes for each character. Unpaired surrogates are encoded in
+	 * three bytes the same as any other character instead of being replaced.
+	 *
+	 * @param text
+	 *                   The characters to encode.
+	 * @param target
+	 *                   The array to encode them into.
+	 * @param offset
+	 *                   Index in the array to encode them at.
+	 * @return Index in the array after the last byte encoded.
+	 */
+	private static int encode(final CharSequence text, final byte[] target, final int offset) {
+		final int length = text.length();
+		int position = offset;
+		for (int index = 0; index < length; ++index) {
+			final char character = text.charAt(index);
+			if (character < 0x80) {
+				target[position++] = (byte) character;
+			} else if (character < 0x800) {
+				target[position++] = (byte) (0xC0 | (character >> 6));
+				target[position++] = (byte) (0x80 | (character & 0x3F));
+			} else if (Character.isHighSurrogate(character) && ((index + 1) < length)
+					&& Character.isLowSurrogate(text.charAt(index + 1))) {
+				final int codePoint = Character.toCodePoint(character, text.charAt(++index));
+				target[position++] = (byte) (0xF0 | (codePoint >> 18));
+				target[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				target[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				target[position++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else {
+				target[position++] = (byte) (0xE0 | (character >> 12));
+				target[position++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+				target[position++] = (byte) (0x80 | (character & 0x3F));
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * Encodes the given string the same way strings are kept in tapes.
+	 *
+	 * @param text
+	 *                 A string.
+	 * @return The bytes of the string.
+	 */
+	static byte[] encode(final String text) {
+		final byte[] bytes = new byte[3 * text.length()];
+		return Arrays.copyOf(bytes, JsonTape.encode(text, bytes, 0));
+	}
+
+	/**
+	 * Decodes the given bytes of a string kept in a tape.
+	 *
+	 * @param bytes
+	 *                   An array holding the bytes.
+	 * @param offset
+	 *                   Index of the first byte.
+	 * @param length
+	 *                   Number of bytes.
+	 * @return The string.
+	 */
+	private static String decode(final byte[] bytes, final int offset, final int length) {
+		final int end = offset + length;
+		int position = offset;
+		// Only unpaired surrogates start with 0xED followed by 0xA0 or more, so strings
+		// without any are decoded as UTF-8
+		while ((position < (end - 1))
+				&& ((bytes[position] != (byte) 0xED) || ((bytes[position + 1] & 0xFF) < 0xA0))) {
+			++position;
+		}
+		if (position >= (end - 1)) {
+			return new String(bytes, offset, length, StandardCharsets.UTF_8);
+		}
+		final char[] characters = new char[length];
+		int size = 0;
+		for (position = offset; position < end;) {
+			final int lead = bytes[position] & 0xFF;
+			if (lead < 0x80) {
+				characters[size++] = (char) lead;
+				position += 1;
+			} else if (lead < 0xE0) {
+				characters[size++] = (char) (((lead & 0x1F) << 6) | (bytes[position + 1] & 0x3F));
+				position += 2;
+			} else if (lead < 0xF0) {
+				characters[size++] = (char) (((lead & 0x0F) << 12) | ((bytes[position + 1] & 0x3F) << 6)
+						| (bytes[position + 2] & 0x3F));
+				position += 3;
+			} else {
+				final int codePoint = ((lead & 0x07) << 18) | ((bytes[position + 1] & 0x3F) << 12)
+						| ((bytes[position + 2] & 0x3F) << 6) | (bytes[position + 3] & 0x3F);
+				characters[size++] = Character.highSurrogate(codePoint);
+				characters[size++] = Character.lowSurrogate(codePoint);
+				position += 4;
+			}
+		}
+		return new String(characters, 0, size);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Gets the JSON value at the start of this tape.
+	 *
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 * @return The JSON value at the start of this tape.
+	 */
+	public Json root() {
+		this.checkOpen();
+		return new JsonTapeImplementation(this, 0);
+	}
+
+	/**
+	 * Gets a JSON value that is a cursor over the value at the given index. Each
+	 * call makes a new cursor.
+	 *
+	 * @param index
+	 *                  Index of the word of the value.
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 * @return The JSON value at the given index.
+	 */
+	public Json get(final int index) {
+		this.checkOpen();
+		return new JsonTapeImplementation(this, index);
+	}
+
+	/**
+	 * Gets the type of the value at the given index.
+	 *
+	 * @param index
+	 *                  Index of the word of the value.
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 * @return The type of the value.
+	 */
+	public JsonType getType(final int index) {
+		return JsonImplementation.TYPES[this.kind(index)];
+	}
+
+	/**
+	 * Gets the number of fields or elements of the structure at the given index.
+	 * Every field of an object is counted, even if its key is repeated.
+	 *
+	 * @param index
+	 *                  Index of the word of the structure.
+	 * @throws ClassCastException
+	 *                                   If the value is not an object or an array.
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 * @return The number of fields or elements of the structure.
+	 */
+	public int size(final int index) {
+		final byte kind = this.kind(index);
+		if ((kind != JsonImplementation.OBJECT_VALUE) && (kind != JsonImplementation.ARRAY_VALUE)) {
+			throw new ClassCastException("JSON value is not an object or an array");
+		}
+		final int count = this.count(index);
+		if (count < JsonTape.MAX_COUNT) {
+			return count;
+		}
+		final boolean isObject = kind == JsonImplementation.OBJECT_VALUE;
+		final int end = this.next(index);
+		int size = 0;
+		for (int child = index + 1; child < end; child = this.next(isObject ? child + 1 : child)) {
+			++size;
+		}
+		return size;
+	}
+
+	/**
+	 * Gets the string at the given index, which may be the key of a field.
+	 *
+	 * @param index
+	 *                  Index of the word of the string.
+	 * @throws ClassCastException
+	 *                                   If the value is not a string.
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 * @return The string.
+	 */
+	public String getString(final int index) {
+		if (this.kind(index) != JsonImplementation.STRING_VALUE) {
+			throw new ClassCastException("JSON value is not a string");
+		}
+		return this.stringAt(index);
+	}
+
+	/**
+	 * Gets the number at the given index in the same representation a JSON number
+	 * value read into a tree would hold.
+	 *
+	 * @param index
+	 *                  Index of the word of the number.
+	 * @throws ClassCastException
+	 *                                   If the value is not a number.
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 * @return The number.
+	 */
+	public Number getNumber(final int index) {
+		switch (this.kind(index)) {
+		case JsonImplementation.INTEGER_VALUE:
+			return JsonNumbers.valueOf(this.longAt(index));
+		case JsonImplementation.DECIMAL_VALUE:
+			return Double.valueOf(this.doubleAt(index));
+		case JsonImplementation.BIG_INTEGER_VALUE:
+			return new BigInteger(this.stringAt(index));
+		case JsonImplementation.BIG_DECIMAL_VALUE:
+			return new BigDecimal(this.stringAt(index));
+		default:
+			throw new ClassCastException("JSON value is not a number");
+		}
+	}
+
+	/**
+	 * Gets the number at the given index as a long, with the same conversion a JSON
+	 * number value would make.
+	 *
+	 * @param index
+	 *                  Index of the word of the number.
+	 * @throws ClassCastException
+	 *                                   If the value is not a number.
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 * @return The number as a long.
+	 */
+	public long getLong(final int index) {
+		// Numbers that fit a word are converted without a Number
+		switch (this.kind(index)) {
+		case JsonImplementation.INTEGER_VALUE:
+			return this.longAt(index);
+		case JsonImplementation.DECIMAL_VALUE:
+			return (long) this.doubleAt(index);
+		default:
+			return this.getNumber(index).longValue();
+		}
+	}
+
+	/**
+	 * Gets the number at the given index as the closest double.
+	 *
+	 * @param index
+	 *                  Index of the word of the number.
+	 * @throws ClassCastException
+	 *                                   If the value is not a number.
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 * @return The number as a double.
+	 */
+	public double getDouble(final int index) {
+		switch (this.kind(index)) {
+		case JsonImplementation.INTEGER_VALUE:
+			return this.longAt(index);
+		case JsonImplementation.DECIMAL_VALUE:
+			return this.doubleAt(index);
+		default:
+			return this.getNumber(index).doubleValue();
+		}
+	}
+
+	/**
+	 * Gets the boolean at the given index.
+	 *
+	 * @param index
+	 *                  Index of the word of the boolean.
+	 * @throws ClassCastException
+	 *                                   If the value is not a boolean.
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 * @return The boolean.
+	 */
+	public boolean getBoolean(final int index) {
+		if (this.kind(index) != JsonImplementation.BOOLEAN_VALUE) {
+			throw new ClassCastException("JSON value is not a boolean");
+		}
+		return this.booleanAt(index);
+	}
+
+	/**
+	 * Closes this tape. Its buffers are handed back to the reader that read it if
+	 * it's off the heap, and its JSON values can't be accessed anymore. Closing a
+	 * tape that's already closed has no effect.
+	 */
+	@Override
+	public void close() {
+		if (this.isClosed) {
+			return;
+		}
+		this.isClosed = true;
+		if (this.wordBuffer != null) {
+			this.reader.release(this.wordBuffer, this.byteBuffer);
+		}
+		this.words = null;
+		this.wordBuffer = null;
+		this.bytes = null;
+		this.byteBuffer = null;
+		this.scratch = null;
+	}
+
+	/**
+	 * Checks that this tape hasn't been closed.
+	 *
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 */
+	private void checkOpen() {
+		if (this.isClosed) {
+			throw new IllegalStateException("JSON tape has been closed");
+		}
+	}
+
+	/**
+	 * Gets the word at the given index.
+	 *
+	 * @param index
+	 *                  Index of the word.
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 * @return The word.
+	 */
+	long word(final int index) {
+		final long[] words = this.words;
+		if (words != null) {
+			return words[index];
+		}
+		this.checkOpen();
+		return this.wordBuffer.getLong(index << 3);
+	}
+
+	/**
+	 * Gets the kind of the value at the given index.
+	 *
+	 * @param index
+	 *                  Index of the word of the value.
+	 * @return The kind of the value.
+	 */
+	byte kind(final int index) {
+		return (byte) (this.word(index) >>> JsonTape.KIND_SHIFT);
+	}
+
+	/**
+	 * Gets the index of the word after the value at the given index. The first
+	 * field or element of a structure is at the word after the structure's, and the
+	 * value of a field is at the word after its key, so values are walked by going
+	 * from each to the next until the word after their structure.
+	 *
+	 * @param index
+	 *                  Index of the word of the value, or of the key of a field.
+	 * @throws IllegalStateException
+	 *                                   If this tape has been closed.
+	 * @return Index of the word after the value.
+	 */
+	public int next(final int index) {
+		final long word = this.word(index);
+		switch ((byte) (word >>> JsonTape.KIND_SHIFT)) {
+		case JsonImplementation.OBJECT_VALUE:
+		case JsonImplementation.ARRAY_VALUE:
+			return (int) word;
+		case JsonImplementation.INTEGER_VALUE:
+		case JsonImplementation.DECIMAL_VALUE:
+			return index + 2;
+		default:
+			return index + 1;
+		}
+	}
+
+	/**
+	 * Gets the number of fields or elements of the structure at the given index, or
+	 * MAX_COUNT if it has at least that many.
+	 *
+	 * @param index
+	 *                  Index of the word of the structure.
+	 * @return The number of fields or elements of the structure, saturated.
+	 */
+	int count(final int index) {
+		return (int) ((this.word(index) & JsonTape.PAYLOAD_MASK) >>> JsonTape.COUNT_SHIFT);
+	}
+
+	/**
+	 * Finds the values of the structure at the given index. The values of objects
+	 * are found at the index of their key.
+	 *
+	 * @param index
+	 *                  Index of the word of the structure.
+	 * @return The indexes of the words of the values of the structure.
+	 */
+	int[] children(final int index) {
+		final boolean isObject = this.kind(index) == JsonImplementation.OBJECT_VALUE;
+		final int end = this.next(index);
+		final int count = this.count(index);
+		int[] children = new int[count];
+		int size = 0;
+		for (int child = index + 1; child < end; child = this.next(isObject ? child + 1 : child)) {
+			if (size == children.length) {
+				children = Arrays.copyOf(children, JsonTape.grow(children.length, size + 1L));
+			}
+			children[size++] = child;
+		}
+		return size == children.length ? children : Arrays.copyOf(children, size);
+	}
+
+	/**
+	 * Gets the long that follows the INTEGER word at the given index.
+	 *
+	 * @param index
+	 *                  Index of the word of the number.
+	 * @return The number.
+	 */
+	long longAt(final int index) {
+		return this.word(index + 1);
+	}
+
+	/**
+	 * Gets the double that follows the DECIMAL word at the given index.
+	 *
+	 * @param index
+	 *                  Index of the word of the number.
+	 * @return The number.
+	 */
+	double doubleAt(final int index) {
+		return Double.longBitsToDouble(this.word(index + 1));
+	}
+
+	/**
+	 * Gets the boolean of the BOOLEAN word at the given index.
+	 *
+	 * @param index
+	 *                  Index of the word of the boolean.
+	 * @return The boolean.
+	 */
+	boolean booleanAt(final int index) {
+		return (this.word(index) & JsonTape.PAYLOAD_MASK) != 0;
+	}
+
+	/**
+	 * Gets the length of the string the given word points to.
+	 *
+	 * @param offset
+	 *                   Offset of the string in the side buffer.
+	 * @return The length of the string, in bytes.
+	 */
+	private int stringLength(final int offset) {
+		final byte[] bytes = this.bytes;
+		if (bytes != null) {
+			return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+					| ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+		}
+		this.checkOpen();
+		return this.byteBuffer.getInt(offset);
+	}
+
+	/**
+	 * Gets the string or the text of the number at the given index.
+	 *
+	 * @param index
+	 *                  Index of the word of the string or the number.
+	 * @return The string or the text of the number.
+	 */
+	String stringAt(final int index) {
+		final int offset = (int) (this.word(index) & JsonTape.PAYLOAD_MASK);
+		final int length = this.stringLength(offset);
+		final byte[] bytes = this.bytes;
+		if (bytes != null) {
+			return JsonTape.decode(bytes, offset + Integer.BYTES, length);
+		}
+		final byte[] copy = new byte[length];
+		this.byteBuffer.get(offset + Integer.BYTES, copy);
+		return JsonTape.decode(copy, 0, length);
+	}
+
+	/**
+	 * Gets the hash of the given encoded bytes, the same as stringHash gets the
+	 * hash of a string with those bytes.
+	 *
+	 * @param utf8
+	 *                 Bytes encoded the same way strings are kept in tapes.
+	 * @return The hash of the bytes.
+	 */
+	static int hash(final byte[] utf8) {
+		int hash = 0;
+		for (final byte value : utf8) {
+			hash = (31 * hash) + value;
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Gets the hash of the encoded bytes of the string at the given index.
+	 *
+	 * @param index
+	 *                  Index of the word of the string.
+	 * @return The hash of the bytes of the string.
+	 */
+	int stringHash(final int index) {
+		final int offset = (int) (this.word(index) & JsonTape.PAYLOAD_MASK);
+		final int end = offset + Integer.BYTES + this.stringLength(offset);
+		final byte[] bytes = this.bytes;
+		int hash = 0;
+		for (int position = offset + Integer.BYTES; position < end; ++position) {
+			hash = (31 * hash) + (bytes != null ? bytes[position] : this.byteBuffer.get(position));
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Checks whether the strings at the given indexes are equal.
+	 *
+	 * @param index
+	 *                  Index of the word of a string.
+	 * @param other
+	 *                  Index of the word of another string.
+	 * @return Whether the strings are equal.
+	 */
+	boolean stringEquals(final int index, final int other) {
+		final int offset = (int) (this.word(index) & JsonTape.PAYLOAD_MASK);
+		final int otherOffset = (int) (this.word(other) & JsonTape.PAYLOAD_MASK);
+		final int length = this.stringLength(offset);
+		if (this.stringLength(otherOffset) != length) {
+			return false;
+		}
+		final byte[] bytes = this.bytes;
+		if (bytes != null) {
+			return Arrays.equals(bytes, offset + Integer.BYTES, offset + Integer.BYTES + length, bytes,
+					otherOffset + Integer.BYTES, otherOffset + Integer.BYTES + length);
+		}
+		return this.byteBuffer.slice(offset + Integer.BYTES, length)
+				.equals(this.byteBuffer.slice(otherOffset + Integer.BYTES, length));
+	}
+
+	/**
+	 * Checks whether the string at the given index has the given encoded bytes.
+	 *
+	 * @param index
+	 *                  Index of the word of the string.
+	 * @param utf8
+	 *                  Bytes encoded the same way strings are kept in tapes.
+	 * @return Whether the string has the given bytes.
+	 */
+	boolean stringEquals(final int index, final byte[] utf8) {
+		final int offset = (int) (this.word(index) & JsonTape.PAYLOAD_MASK);
+		if (this.stringLength(offset) != utf8.length) {
+			return false;
+		}
+		final int start = offset + Integer.BYTES;
+		final byte[] bytes = this.bytes;
+		if (bytes != null) {
+			return Arrays.equals(bytes, start, start + utf8.length, utf8, 0, utf8.length);
+		}
+		for (int position = 0; position < utf8.length; ++position) {
+			if (this.byteBuffer.get(start + position) != utf8[position]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Makes sure there's room for the given number of words more.
+	 *
+	 * @param words
+	 *                  Number of words to make room for.
+	 */
+	private void reserveWords(final int words) {
+		final long needed = (long) this.wordCount + words;
+		if (this.words != null) {
+			if (needed > this.words.length) {
+				this.words = Arrays.copyOf(this.words, JsonTape.grow(this.words.length, needed));
+			}
+		} else if ((needed << 3) > this.wordBuffer.capacity()) {
+			final ByteBuffer grown = JsonTape.allocate(JsonTape.grow(this.wordBuffer.capacity(), needed << 3));
+			grown.put(0, this.wordBuffer, 0, this.wordCount << 3);
+			this.wordBuffer = grown;
+		}
+	}
+
+	/**
+	 * Makes sure there's room for the given number of bytes more in the side
+	 * buffer.
+	 *
+	 * @param bytes
+	 *                  Number of bytes to make room for.
+	 */
+	private void reserveBytes(final long bytes) {
+		final long needed = this.byteCount + bytes;
+		if (this.bytes != null) {
+			if (needed > this.bytes.length) {
+				this.bytes = Arrays.copyOf(this.bytes, JsonTape.grow(this.bytes.length, needed));
+			}
+		} else if (needed > this.byteBuffer.capacity()) {
+			final ByteBuffer grown = JsonTape.allocate(JsonTape.grow(this.byteBuffer.capacity(), needed));
+			grown.put(0, this.byteBuffer, 0, this.byteCount);
+			this.byteBuffer = grown;
+		}
+	}
+
+	/**
+	 * Writes a word at the end of the tape.
+	 *
+	 * @param word
+	 *                 The word to write.
+	 * @return Index of the word written.
+	 */
+	private int add(final long word) {
+		this.reserveWords(1);
+		this.set(this.wordCount, word);
+		return this.wordCount++;
+	}
+
+	/**
+	 * Overwrites the word at the given index.
+	 *
+	 * @param index
+	 *                  Index of the word.
+	 * @param word
+	 *                  The word to write.
+	 */
+	private void set(final int index, final long word) {
+		if (this.words != null) {
+			this.words[index] = word;
+		} else {
+			this.wordBuffer.putLong(index << 3, word);
+		}
+	}
+
+	/**
+	 * Writes a word pointing to the given characters, encoded at the end of the
+	 * side buffer, at the end of the tape.
+	 *
+	 * @param kind
+	 *                 The kind of the word.
+	 * @param text
+	 *                 The characters to write.
+	 */
+	private void addString(final byte kind, final CharSequence text) {
+		final int offset = this.byteCount;
+		this.reserveBytes(Integer.BYTES + (3L * text.length()));
+		final int length;
+		if (this.bytes != null) {
+			length = JsonTape.encode(text, this.bytes, offset + Integer.BYTES) - (offset + Integer.BYTES);
+			this.bytes[offset] = (byte) (length >>> 24);
+			this.bytes[offset + 1] = (byte) (length >>> 16);
+			this.bytes[offset + 2] = (byte) (length >>> 8);
+			this.bytes[offset + 3] = (byte) length;
+		} else {
+			if (this.scratch.length < (3 * text.length())) {
+				this.scratch = new byte[JsonTape.grow(this.scratch.length, 3L * text.length())];
+			}
+			length = JsonTape.encode(text, this.scratch, 0);
+			this.byteBuffer.putInt(offset, length);
+			this.byteBuffer.put(offset + Integer.BYTES, this.scratch, 0, length);
+		}
+		this.byteCount += Integer.BYTES + length;
+		this.add(JsonTape.word(kind, offset));
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * Writes the tokens reported to it to a tape.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	final class Builder implements JsonHandler {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * Indexes of the words of the structures being written, from the outermost.
+		 */
+		private int[] structures = new int[16];
+		/**
+		 * Number of values of each of the structures being written.
+		 */
+		private int[] counts = new int[16];
+		/**
+		 * Number of structures being written.
+		 */
+		private int depth;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		/**
+		 * Checks whether a whole value has been written.
+		 *
+		 * @return Whether a whole value has been written.
+		 */
+		boolean isComplete() {
+			return (this.depth == 0) && (JsonTape.this.wordCount > 0);
+		}
+
+		/**
+		 * Counts a value of the structure being written if it's an array.
+		 */
+		private void element() {
+			if ((this.depth > 0)
+					&& (JsonTape.this.kind(this.structures[this.depth - 1]) == JsonImplementation.ARRAY_VALUE)) {
+				++this.counts[this.depth - 1];
+			}
+		}
+
+		/**
+		 * Writes the word of a structure, which is completed once it ends.
+		 *
+		 * @param kind
+		 *                 The kind of the structure.
+		 */
+		private void start(final byte kind) {
+			this.element();
+			if (this.depth == this.structures.length) {
+				this.structures = Arrays.copyOf(this.structures, this.depth << 1);
+				this.counts = Arrays.copyOf(this.counts, this.depth << 1);
+			}
+			this.structures[this.depth] = JsonTape.this.add(JsonTape.word(kind, 0));
+			this.counts[this.depth] = 0;
+			++this.depth;
+		}
+
+		/**
+		 * Completes the word of the structure that ends with its count and the index of
+		 * the word after it.
+		 */
+		private void end() {
+			--this.depth;
+			final int index = this.structures[this.depth];
+			final long count = Math.min(this.counts[this.depth], JsonTape.MAX_COUNT);
+			JsonTape.this.set(index, JsonTape.word(JsonTape.this.kind(index),
+					(count << JsonTape.COUNT_SHIFT) | JsonTape.this.wordCount));
+		}
+
+		@Override
+		public void startObject() {
+			this.start(JsonImplementation.OBJECT_VALUE);
+		}
+
+		@Override
+		public void endObject() {
+			this.end();
+		}
+
+		@Override
+		public void startArray() {
+			this.start(JsonImplementation.ARRAY_VALUE);
+		}
+
+		@Override
+		public void endArray() {
+			this.end();
+		}
+
+		@Override
+		public void key(final CharSequence key) {
+			// The key of a value read from inside an object isn't part of the tape
+			if (this.depth > 0) {
+				++this.counts[this.depth - 1];
+				JsonTape.this.addString(JsonImplementation.STRING_VALUE, key);
+			}
+		}
+
+		@Override
+		public void stringValue(final CharSequence value) {
+			this.element();
+			JsonTape.this.addString(JsonImplementation.STRING_VALUE, value);
+		}
+
+		@Override
+		public void numberValue(final long value) {
+			this.element();
+			JsonTape.this.reserveWords(2);
+			JsonTape.this.add(JsonTape.word(JsonImplementation.INTEGER_VALUE, 0));
+			JsonTape.this.add(value);
+		}
+
+		@Override
+		public void numberValue(final double value) {
+			this.element();
+			JsonTape.this.reserveWords(2);
+			JsonTape.this.add(JsonTape.word(JsonImplementation.DECIMAL_VALUE, 0));
+			JsonTape.this.add(Double.doubleToRawLongBits(value));
+		}
+
+		@Override
+		public void numberValue(final Number value) {
+			final byte kind = JsonImplementation.kindOf(value);
+			if (kind == JsonImplementation.INTEGER_VALUE) {
+				this.numberValue(value.longValue());
+			} else if (kind == JsonImplementation.DECIMAL_VALUE) {
+				this.numberValue(value.doubleValue());
+			} else {
+				this.element();
+				JsonTape.this.addString(kind, value.toString());
+			}
+		}
+
+		@Override
+		public void booleanValue(final boolean value) {
+			this.element();
+			JsonTape.this.add(JsonTape.word(JsonImplementation.BOOLEAN_VALUE, value ? 1 : 0));
+		}
+
+		@Override
+		public void nullValue() {
+			this.element();
+			JsonTape.this.add(JsonTape.word(JsonImplementation.NULL_VALUE, 0));
+		}
+
+	}
+
+}
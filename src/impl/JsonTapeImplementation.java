@@ -0,0 +1,371 @@
+package impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import api.Json;
+
+/**
+ * A JSON value that is a cursor over the word of a value in a tape. Cursors
+ * hold their tape and the index of their word, and are made as they're reached.
+ * Strings and numbers are only made into objects when they're accessed. The
+ * fields and elements of a structure are indexed the first time any of them is
+ * accessed, and the cursor over each is kept once it's made, so that walking a
+ * value through cursors makes one for each value reached, once. Values are
+ * walked without making any object through the accessors of their tape instead.
+ *
+ * @see impl.JsonTape
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+final class JsonTapeImplementation extends JsonImplementation {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The tape this cursor is over.
+	 */
+	private final JsonTape tape;
+	/**
+	 * Index of the word of the value in the tape.
+	 */
+	private final int index;
+	/**
+	 * The value once it has been made into an object.
+	 */
+	private volatile Object value;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a cursor over the value at the given index of a tape.
+	 *
+	 * @param tape
+	 *                  The tape the value is in.
+	 * @param index
+	 *                  Index of the word of the value.
+	 */
+	JsonTapeImplementation(final JsonTape tape, final int index) {
+		super(null);
+		this.tape = tape;
+		this.index = index;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	@Override
+	Object getValue() {
+		Object value = this.value;
+		if (value == null) {
+			switch (this.kind()) {
+			case JsonImplementation.OBJECT_VALUE:
+				value = new Fields(this.tape, this.tape.children(this.index));
+				break;
+			case JsonImplementation.ARRAY_VALUE:
+				value = new Elements(this.tape, this.tape.children(this.index));
+				break;
+			case JsonImplementation.STRING_VALUE:
+				value = this.tape.stringAt(this.index);
+				break;
+			case JsonImplementation.INTEGER_VALUE:
+				value = JsonNumbers.valueOf(this.tape.longAt(this.index));
+				break;
+			case JsonImplementation.DECIMAL_VALUE:
+				value = Double.valueOf(this.tape.doubleAt(this.index));
+				break;
+			case JsonImplementation.BIG_INTEGER_VALUE:
+				value = new BigInteger(this.tape.stringAt(this.index));
+				break;
+			case JsonImplementation.BIG_DECIMAL_VALUE:
+				value = new BigDecimal(this.tape.stringAt(this.index));
+				break;
+			case JsonImplementation.BOOLEAN_VALUE:
+				value = Boolean.valueOf(this.tape.booleanAt(this.index));
+				break;
+			default:
+				return null;
+			}
+			this.value = value;
+		}
+		return value;
+	}
+
+	@Override
+	byte kind() {
+		return this.tape.kind(this.index);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T as(final Class<T> resultClass) {
+		// The most common conversions are made from the tape without a Number
+		final byte kind = this.kind();
+		if (kind == JsonImplementation.INTEGER_VALUE) {
+			final long value = this.tape.longAt(this.index);
+			if ((resultClass == long.class) || (resultClass == Long.class)) {
+				return (T) Long.valueOf(value);
+			} else if ((resultClass == int.class) || (resultClass == Integer.class)) {
+				return (T) Integer.valueOf((int) value);
+			} else if ((resultClass == double.class) || (resultClass == Double.class)) {
+				return (T) Double.valueOf(value);
+			}
+		} else if ((kind == JsonImplementation.DECIMAL_VALUE)
+				&& ((resultClass == double.class) || (resultClass == Double.class))) {
+			return (T) Double.valueOf(this.tape.doubleAt(this.index));
+		}
+		return super.as(resultClass);
+	}
+
+	@Override
+	public int size() {
+		// Sizes of arrays are read from the tape unless they're too large for their
+		// count, while objects may have repeated keys
+		if (this.kind() == JsonImplementation.ARRAY_VALUE) {
+			final int count = this.tape.count(this.index);
+			if (count < JsonTape.MAX_COUNT) {
+				return count;
+			}
+		}
+		return super.size();
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * The fields of a JSON object in a tape, found by the indexes of their keys.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	private static final class Fields extends JsonObjectMap {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Class fields
+
+		/**
+		 * Largest number of fields whose keys are searched one by one.
+		 */
+		private static final int MAX_LINEAR_SIZE = 8;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * The tape the object is in.
+		 */
+		private final JsonTape tape;
+		/**
+		 * Indexes of the words of the keys of the fields, each followed by the word of
+		 * its value.
+		 */
+		private final int[] keys;
+		/**
+		 * Table of the index of each key plus one by the hash of the key, with 0 in the
+		 * slots no key is in, or null while the keys are searched one by one.
+		 */
+		private final int[] slots;
+		/**
+		 * The cursors over the values that have been gotten, or null until any has.
+		 */
+		private Json[] values;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance initializers
+
+		/**
+		 * Constructs the fields of a JSON object in a tape. The same as when an object
+		 * is read into a map, a key that's repeated keeps its first place and takes the
+		 * value of its last field.
+		 *
+		 * @param tape
+		 *                 The tape the object is in.
+		 * @param keys
+		 *                 Indexes of the words of the keys of the fields, which are
+		 *                 reused to hold the keys that aren't repeated.
+		 */
+		private Fields(final JsonTape tape, final int[] keys) {
+			this.tape = tape;
+			this.slots = keys.length > Fields.MAX_LINEAR_SIZE ? new int[Integer.highestOneBit(keys.length) << 2]
+					: null;
+			int size = 0;
+			for (final int key : keys) {
+				final int index = this.find(key, keys, size);
+				if (index >= 0) {
+					// The repeated key is equal to the first, and is followed by the last value
+					keys[index] = key;
+				} else {
+					keys[size] = key;
+					++size;
+				}
+			}
+			this.keys = size == keys.length ? keys : Arrays.copyOf(keys, size);
+		}
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		/**
+		 * Finds the index of the field with the key at the given index of the tape
+		 * among the first fields, putting the key in the table of indexes if it's not
+		 * found.
+		 *
+		 * @param key
+		 *                 Index of the word of the key.
+		 * @param keys
+		 *                 Indexes of the words of the keys of the first fields.
+		 * @param size
+		 *                 Number of first fields.
+		 * @return The index of the field, or -1 if there's no field with that key.
+		 */
+		private int find(final int key, final int[] keys, final int size) {
+			if (this.slots == null) {
+				for (int index = 0; index < size; ++index) {
+					if (this.tape.stringEquals(keys[index], key)) {
+						return index;
+					}
+				}
+				return -1;
+			}
+			final int mask = this.slots.length - 1;
+			int slot = this.tape.stringHash(key) & mask;
+			for (; this.slots[slot] != 0; slot = (slot + 1) & mask) {
+				if (this.tape.stringEquals(keys[this.slots[slot] - 1], key)) {
+					return this.slots[slot] - 1;
+				}
+			}
+			this.slots[slot] = size + 1;
+			return -1;
+		}
+
+		@Override
+		String key(final int index) {
+			return this.tape.stringAt(this.keys[index]);
+		}
+
+		@Override
+		Json value(final int index) {
+			Json[] values = this.values;
+			if (values == null) {
+				values = new Json[this.keys.length];
+				this.values = values;
+			}
+			Json value = values[index];
+			if (value == null) {
+				// Cursors are immutable, so racing to make the same one is harmless
+				value = new JsonTapeImplementation(this.tape, this.keys[index] + 1);
+				values[index] = value;
+			}
+			return value;
+		}
+
+		@Override
+		int indexOf(final Object key) {
+			if (!(key instanceof String)) {
+				return -1;
+			}
+			// Keys are compared as the bytes they're kept as in the tape
+			final byte[] utf8 = JsonTape.encode((String) key);
+			if (this.slots == null) {
+				for (int index = 0; index < this.keys.length; ++index) {
+					if (this.tape.stringEquals(this.keys[index], utf8)) {
+						return index;
+					}
+				}
+				return -1;
+			}
+			final int mask = this.slots.length - 1;
+			for (int slot = JsonTape.hash(utf8) & mask; this.slots[slot] != 0; slot = (slot + 1) & mask) {
+				if (this.tape.stringEquals(this.keys[this.slots[slot] - 1], utf8)) {
+					return this.slots[slot] - 1;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public int size() {
+			return this.keys.length;
+		}
+
+	}
+
+	/**
+	 * The elements of a JSON array in a tape, found by the indexes of their words.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	private static final class Elements extends AbstractList<Json> implements RandomAccess {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * The tape the array is in.
+		 */
+		private final JsonTape tape;
+		/**
+		 * Indexes of the words of the elements.
+		 */
+		private final int[] elements;
+		/**
+		 * The cursors over the elements that have been gotten, or null until any has.
+		 */
+		private Json[] values;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance initializers
+
+		/**
+		 * Constructs the elements of a JSON array in a tape.
+		 *
+		 * @param tape
+		 *                     The tape the array is in.
+		 * @param elements
+		 *                     Indexes of the words of the elements.
+		 */
+		private Elements(final JsonTape tape, final int[] elements) {
+			this.tape = tape;
+			this.elements = elements;
+		}
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance methods
+
+		@Override
+		public Json get(final int index) {
+			Json[] values = this.values;
+			if (values == null) {
+				values = new Json[this.elements.length];
+				this.values = values;
+			}
+			Json value = values[index];
+			if (value == null) {
+				// Cursors are immutable, so racing to make the same one is harmless
+				value = new JsonTapeImplementation(this.tape, this.elements[index]);
+				values[index] = value;
+			}
+			return value;
+		}
+
+		@Override
+		public int size() {
+			return this.elements.length;
+		}
+
+	}
+
+}
@@ -0,0 +1,155 @@
+package impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import api.Json;
+import api.JsonParser;
+import api.JsonReader;
+
+/**
+ * A Reader that reads the JSON values of a parser into tapes of long words
+ * instead of into trees of JSON values, so that each value read is only a few
+ * objects to the garbage collector however large it is. The values returned are
+ * cursors over their tape.
+ *
+ * Tapes are kept on the heap by default, and may be kept off the heap instead.
+ * Tapes off the heap must be closed once they're no longer needed, which hands
+ * their buffers back to this reader so that the next tape is read into them, so
+ * they're only read by readTape.
+ *
+ * @see impl.JsonTape
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class JsonTapeReaderImplementation implements JsonReader {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The parser values are read from.
+	 */
+	private final JsonParser parser;
+	/**
+	 * Whether tapes are kept off the heap.
+	 */
+	private boolean offHeap;
+	/**
+	 * Direct buffer of words handed back by a closed tape, or null.
+	 */
+	private ByteBuffer wordBuffer;
+	/**
+	 * Direct buffer of bytes of strings handed back by a closed tape, or null.
+	 */
+	private ByteBuffer byteBuffer;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a JsonTapeReader that reads the values of the given parser. The
+	 * whole of each value must be available to the parser.
+	 *
+	 * @param parser
+	 *                   A parser to read values from.
+	 */
+	public JsonTapeReaderImplementation(final JsonParser parser) {
+		this.parser = parser;
+		this.offHeap = false;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	/**
+	 * Sets whether tapes are kept in direct buffers off the heap instead of in
+	 * arrays on the heap. Disabled by default. Tapes off the heap must be closed
+	 * once they're no longer needed, so they can only be read by readTape.
+	 *
+	 * @param offHeap
+	 *                    Whether to keep tapes off the heap.
+	 */
+	public void setOffHeap(final boolean offHeap) {
+		this.offHeap = offHeap;
+	}
+
+	/**
+	 * Reads the next JSON value into a tape. If the parser is inside an object, the
+	 * field name before the value is skipped. Outside of any structure, only
+	 * objects and arrays are read, the same as JsonParser.read reads them.
+	 *
+	 * @return The tape the next JSON value was read into, or null if the end of the
+	 *         input or of the current structure has been reached.
+	 * @throws IllegalArgumentException
+	 *                                      If an unexpected character is found.
+	 * @throws IllegalStateException
+	 *                                      If the parser reaches the end of the
+	 *                                      input available before the end of the
+	 *                                      value.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	public JsonTape readTape() throws IOException {
+		if (this.parser instanceof JsonParserImplementation) {
+			((JsonParserImplementation) this.parser).checkRoot();
+		}
+		final JsonTape tape;
+		if (this.offHeap) {
+			tape = new JsonTape(this, this.wordBuffer, this.byteBuffer);
+			this.wordBuffer = null;
+			this.byteBuffer = null;
+		} else {
+			tape = new JsonTape(this);
+		}
+		final JsonTape.Builder builder = tape.new Builder();
+		if (!this.parser.parse(builder)) {
+			tape.close();
+			return null;
+		} else if (!builder.isComplete()) {
+			tape.close();
+			throw new IllegalStateException("JSON value isn't available as a whole");
+		}
+		return tape;
+	}
+
+	/**
+	 * Reads the next JSON value into a tape on the heap and returns a cursor over
+	 * it.
+	 *
+	 * @throws IllegalStateException
+	 *                                   If tapes are kept off the heap, since the
+	 *                                   tape couldn't be closed, or if the parser
+	 *                                   reaches the end of the input available
+	 *                                   before the end of the value.
+	 */
+	@Override
+	public Json read() throws IOException {
+		if (this.offHeap) {
+			throw new IllegalStateException("JSON tapes off the heap must be read by readTape so that they're closed");
+		}
+		final JsonTape tape = this.readTape();
+		return tape != null ? tape.root() : null;
+	}
+
+	/**
+	 * Keeps the buffers of a closed tape for the next tape, unless the ones already
+	 * kept are larger.
+	 *
+	 * @param wordBuffer
+	 *                       The direct buffer of words of the tape.
+	 * @param byteBuffer
+	 *                       The direct buffer of bytes of strings of the tape.
+	 */
+	void release(final ByteBuffer wordBuffer, final ByteBuffer byteBuffer) {
+		if ((this.wordBuffer == null) || (this.wordBuffer.capacity() < wordBuffer.capacity())) {
+			this.wordBuffer = wordBuffer;
+		}
+		if ((this.byteBuffer == null) || (this.byteBuffer.capacity() < byteBuffer.capacity())) {
+			this.byteBuffer = byteBuffer;
+		}
+	}
+
+}
@@ -0,0 +1,768 @@
+package impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A Reader to read JSON values from UTF-8 encoded bytes. The structure of the
+ * JSON data is read from the bytes directly and only the contents of strings
+ * are decoded.
+ *
+ * @author Javier Centeno Vega <jacenve@telefonica.net>
+ * @version 1.0
+ * @since 1.0
+ *
+ */
+public class JsonUtf8ReaderImplementation extends JsonParserImplementation {
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Class fields
+
+	/**
+	 * Size of the blocks of bytes read at once from an InputStream or a direct
+	 * ByteBuffer.
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance fields
+
+	/**
+	 * The InputStream this JsonReader is based on, or null if it isn't based on an
+	 * InputStream.
+	 */
+	private final InputStream inputStream;
+	/**
+	 * The ByteBuffer this JsonReader copies blocks from, or null if the bytes are
+	 * read in place.
+	 */
+	private ByteBuffer byteBuffer;
+	/**
+	 * The block of bytes being read. If this JsonReader is based on a byte array or
+	 * a ByteBuffer backed by an accessible array, the buffer is that array.
+	 */
+	private final byte[] buffer;
+	/**
+	 * Index in the buffer where the bytes of the current block start.
+	 */
+	private final int start;
+	/**
+	 * Index in the buffer of the current byte.
+	 */
+	private int position;
+	/**
+	 * Index in the buffer after the last byte of the current block.
+	 */
+	private int limit;
+	/**
+	 * Number of line breaks in the blocks discarded before the current one.
+	 */
+	private int discardedRows;
+	/**
+	 * Number of characters after the last line break in the blocks discarded before
+	 * the current one.
+	 */
+	private int discardedColumns;
+	/**
+	 * Number of bytes read from the input in blocks.
+	 */
+	private long inputSize;
+	/**
+	 * A reusable buffer strings are decoded into.
+	 */
+	private char[] characters;
+	/**
+	 * Index in the buffer of the first byte of the number being read.
+	 */
+	private int numberStart;
+	/**
+	 * The bytes of the number being read that were in previous blocks.
+	 */
+	private final StringBuilder numberSpill;
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance initializers
+
+	/**
+	 * Constructs a JsonReader from the given InputStream of UTF-8 encoded bytes.
+	 *
+	 * @param inputStream
+	 *                        An InputStream to read JSON data from.
+	 */
+	public JsonUtf8ReaderImplementation(final InputStream inputStream) {
+		this(inputStream, null, new byte[JsonUtf8ReaderImplementation.BUFFER_SIZE], 0, 0);
+	}
+
+	/**
+	 * Constructs a JsonReader from the given array of UTF-8 encoded bytes. The
+	 * array is read in place and must not be modified while it's being read.
+	 *
+	 * @param bytes
+	 *                  A byte array to parse JSON data from.
+	 */
+	public JsonUtf8ReaderImplementation(final byte[] bytes) {
+		this(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Constructs a JsonReader from the given range of an array of UTF-8 encoded
+	 * bytes. The array is read in place and must not be modified while it's being
+	 * read.
+	 *
+	 * @param bytes
+	 *                   A byte array to parse JSON data from.
+	 * @param offset
+	 *                   Index of the first byte to read.
+	 * @param length
+	 *                   Number of bytes to read.
+	 * @throws IndexOutOfBoundsException
+	 *                                       If the range is out of the bounds of
+	 *                                       the array.
+	 */
+	public JsonUtf8ReaderImplementation(final byte[] bytes, final int offset, final int length) {
+		this(null, null, bytes, offset, length);
+		if ((offset < 0) || (length < 0) || (length > (bytes.length - offset))) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	/**
+	 * Constructs a JsonReader from the remaining UTF-8 encoded bytes of the given
+	 * ByteBuffer. Heap ByteBuffers are read in place, other ByteBuffers are read in
+	 * blocks. The position of the given ByteBuffer is not modified.
+	 *
+	 * @param byteBuffer
+	 *                       A ByteBuffer to parse JSON data from.
+	 */
+	public JsonUtf8ReaderImplementation(final ByteBuffer byteBuffer) {
+		this(null, byteBuffer.hasArray() ? null : byteBuffer.duplicate(),
+				byteBuffer.hasArray() ? byteBuffer.array()
+						: new byte[Math.min(JsonUtf8ReaderImplementation.BUFFER_SIZE, byteBuffer.remaining())],
+				byteBuffer.hasArray() ? byteBuffer.arrayOffset() + byteBuffer.position() : 0,
+				byteBuffer.hasArray() ? byteBuffer.remaining() : 0);
+	}
+
+	/**
+	 * Constructs a JsonReader that reads every block of bytes from the ByteBuffers
+	 * given by nextByteBuffer.
+	 */
+	JsonUtf8ReaderImplementation() {
+		this(null, ByteBuffer.allocate(0), new byte[JsonUtf8ReaderImplementation.BUFFER_SIZE], 0, 0);
+	}
+
+	/**
+	 * Constructs a JsonReader from its source and its initial block of bytes.
+	 *
+	 * @param inputStream
+	 *                        An InputStream to read blocks from, or null.
+	 * @param byteBuffer
+	 *                        A ByteBuffer to read blocks from, or null.
+	 * @param buffer
+	 *                        The buffer blocks of bytes are read into.
+	 * @param offset
+	 *                        Index in the buffer of the first byte.
+	 * @param length
+	 *                        Number of bytes already available in the buffer.
+	 */
+	private JsonUtf8ReaderImplementation(final InputStream inputStream, final ByteBuffer byteBuffer,
+			final byte[] buffer, final int offset, final int length) {
+		this.inputStream = inputStream;
+		this.byteBuffer = byteBuffer;
+		this.buffer = buffer;
+		this.start = offset;
+		this.position = offset;
+		this.limit = offset + length;
+		this.discardedRows = 0;
+		this.discardedColumns = 0;
+		this.inputSize = 0;
+		this.characters = new char[64];
+		this.numberSpill = new StringBuilder();
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+	// Instance methods
+
+	@Override
+	IllegalArgumentException unexpectedCharacter(final String expectedCharacters) {
+		int row = 1 + this.discardedRows;
+		int column = 1 + this.discardedColumns;
+		for (int index = this.start; index < this.position; ++index) {
+			final byte current = this.buffer[index];
+			if (current == '\n') {
+				++row;
+				column = 1;
+			} else if ((current & 0xC0) != 0x80) {
+				// Continuation bytes don't start a new character
+				++column;
+			}
+		}
+		String found;
+		if (this.position >= this.limit) {
+			found = "end of input";
+		} else if (this.buffer[this.position] >= 0) {
+			found = "\'" + (char) this.buffer[this.position] + "\'";
+		} else {
+			found = "byte 0x" + Integer.toHexString(this.buffer[this.position] & 0xFF);
+		}
+		return new IllegalArgumentException("JSON parsing error near column:" + column + ", row:" + row + "; Expected "
+				+ expectedCharacters + ", got " + found + " instead");
+	}
+
+	/**
+	 * Reads the next block of bytes into the buffer. Must only be called once every
+	 * byte of the current block has been consumed.
+	 *
+	 * @return Whether any bytes were read, false if the end of the input has been
+	 *         reached.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private boolean fill() throws IOException {
+		if ((this.inputStream == null) && (this.byteBuffer == null)) {
+			return false;
+		}
+		// Only the line breaks of the discarded block are counted so that errors can
+		// still report their position
+		for (int index = this.start; index < this.limit; ++index) {
+			final byte current = this.buffer[index];
+			if (current == '\n') {
+				++this.discardedRows;
+				this.discardedColumns = 0;
+			} else if ((current & 0xC0) != 0x80) {
+				++this.discardedColumns;
+			}
+		}
+		this.position = 0;
+		this.limit = 0;
+		int count;
+		if (this.inputStream != null) {
+			do {
+				count = this.inputStream.read(this.buffer, 0, this.buffer.length);
+			} while (count == 0);
+		} else {
+			while (!this.byteBuffer.hasRemaining()) {
+				final ByteBuffer next = this.nextByteBuffer();
+				if (next == null) {
+					break;
+				}
+				this.byteBuffer = next;
+			}
+			count = Math.min(this.buffer.length, this.byteBuffer.remaining());
+			if (count == 0) {
+				count = -1;
+			} else {
+				this.byteBuffer.get(this.buffer, 0, count);
+			}
+		}
+		if (count < 0) {
+			return false;
+		}
+		this.limit = count;
+		this.inputSize += count;
+		this.checkInputSize(this.inputSize, "bytes");
+		return true;
+	}
+
+	/**
+	 * Gets the ByteBuffer to continue reading from once the current one has been
+	 * read completely. By default, the input ends with the first ByteBuffer.
+	 *
+	 * @return The next ByteBuffer to read blocks from, or null if there are no more
+	 *         bytes to read.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	ByteBuffer nextByteBuffer() throws IOException {
+		return null;
+	}
+
+	/**
+	 * Checks if the current byte matches the given character, then pops. Throws an
+	 * IllegalArgumentException if they don't match.
+	 *
+	 * @param character
+	 *                      An ASCII character to compare to the current byte.
+	 * @throws IllegalArgumentException
+	 *                                      If the current byte is not the given
+	 *                                      character.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private void check(final int character) throws IOException {
+		if (this.peek() != character) {
+			throw this.unexpectedCharacter("\'" + (char) character + "\'");
+		}
+		++this.position;
+	}
+
+	/**
+	 * Get the current byte without advancing.
+	 *
+	 * @return The current byte as an unsigned value, or -1 if the end of the input
+	 *         has been reached.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private int peek() throws IOException {
+		if ((this.position == this.limit) && !this.fill()) {
+			return -1;
+		}
+		return this.buffer[this.position] & 0xFF;
+	}
+
+	/**
+	 * Get the current byte and advance to the next one.
+	 *
+	 * @return The current byte as an unsigned value, or -1 if the end of the input
+	 *         has been reached.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private int pop() throws IOException {
+		final int current = this.peek();
+		if (current >= 0) {
+			++this.position;
+		}
+		return current;
+	}
+
+	/**
+	 * Pops for as long as there are whitespace characters.
+	 *
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private void consumeWhitespace() throws IOException {
+		do {
+			final byte[] buffer = this.buffer;
+			final int limit = this.limit;
+			final int position = JsonScanner.skipWhitespace(buffer, this.position, limit);
+			this.position = position;
+			if (position < limit) {
+				return;
+			}
+		} while (this.fill());
+	}
+
+	@Override
+	int skipWhitespace() throws IOException {
+		this.consumeWhitespace();
+		return this.peek();
+	}
+
+	@Override
+	void advance() {
+		++this.position;
+	}
+
+	@Override
+	int position() {
+		return this.position;
+	}
+
+	@Override
+	void seek(final int position) {
+		this.position = position;
+		this.reset();
+	}
+
+	@Override
+	void skipNested(final int depth) throws IOException {
+		int open = depth;
+		boolean isString = false;
+		boolean isEscaped = false;
+		do {
+			final byte[] buffer = this.buffer;
+			final int limit = this.limit;
+			int position = this.position;
+			while (position < limit) {
+				if (isEscaped) {
+					isEscaped = false;
+					++position;
+				} else if (isString) {
+					// The contents of strings are skipped a word at a time
+					position = JsonScanner.skipStringContents(buffer, position, limit);
+					if (position < limit) {
+						isEscaped = buffer[position] == '\\';
+						isString = isEscaped;
+						++position;
+					}
+				} else {
+					final byte current = buffer[position++];
+					if (current == '\"') {
+						isString = true;
+					} else if ((current == '{') || (current == '[')) {
+						++open;
+					} else if (((current == '}') || (current == ']')) && (--open == 0)) {
+						this.position = position;
+						return;
+					}
+				}
+			}
+			this.position = position;
+		} while (this.fill());
+		throw this.unexpectedCharacter(isString ? "\'\"\'" : "\'}\' or \']\'");
+	}
+
+	/**
+	 * Get the current byte of the number being read without advancing. If a new
+	 * block has to be read, the bytes of the number read so far are kept.
+	 *
+	 * @return The current byte, or -1 if the end of the input has been reached.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private int peekNumber() throws IOException {
+		if ((this.position == this.limit) && !this.fillNumber()) {
+			return -1;
+		}
+		return this.buffer[this.position];
+	}
+
+	/**
+	 * Reads the next block while keeping the bytes of the number read so far.
+	 *
+	 * @return Whether any bytes were read, false if the end of the input has been
+	 *         reached.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private boolean fillNumber() throws IOException {
+		for (int index = this.numberStart; index < this.limit; ++index) {
+			this.numberSpill.append((char) this.buffer[index]);
+		}
+		final boolean filled = this.fill();
+		this.numberStart = this.position;
+		return filled;
+	}
+
+	/**
+	 * Pops for as long as there are digits, accumulating them into the significand
+	 * and exponent of the number being read.
+	 *
+	 * @param isFraction
+	 *                       Whether the digits are after the decimal point.
+	 * @return The number of digits popped.
+	 * @throws IOException
+	 *                         If an I/O error occurs.
+	 */
+	private int readDigits(final boolean isFraction) throws IOException {
+		int count = 0;
+		do {
+			final byte[] buffer = this.buffer;
+			final int limit = this.limit;
+			final int first = this.position;
+			long significand = this.significand;
+			int digits = this.significantDigits;
+			int exponent = this.exponent;
+			int position = first;
+			while (position < limit) {
+				final int digit = buffer[position] - '0';
+				if ((digit < 0) || (9 < digit)) {
+					break;
+				}
+				if ((digits != 0) || (digit != 0)) {
+					if (digits < JsonNumbers.MAX_DIGITS) {
+						significand = (10L * significand) + digit;
+						if (isFraction) {
+							--exponent;
+						}
+					} else if (!isFraction) {
+						// Digits that don't fit in the significand scale it instead
+						++exponent;
+					}
+					++digits;
+				} else if (isFraction) {
+					// Leading zeros of the fraction only scale the significand
+					--exponent;
+				}
+				++position;
+			}
+			this.significand = significand;
+			this.significantDigits = digits;
+			this.exponent = exponent;
+			this.position = position;
+			count += position - first;
+			if (position < limit) {
+				return count;
+			}
+		} while (this.fillNumber());
+		return count;
+	}
+
+	/**
+	 * Gets the text of the number being read, up to the current byte.
+	 *
+	 * @return The text of the number being read.
+	 */
+	private String numberText() {
+		if (this.numberSpill.length() == 0) {
+			return new String(this.buffer, this.numberStart, this.position - this.numberStart,
+					StandardCharsets.ISO_8859_1);
+		}
+		for (int index = this.numberStart; index < this.position; ++index) {
+			this.numberSpill.append((char) this.buffer[index]);
+		}
+		return this.numberSpill.toString();
+	}
+
+	/**
+	 * Pops the continuation byte of a multi-byte UTF-8 sequence.
+	 *
+	 * @param minimum
+	 *                    The minimum value the byte may have.
+	 * @param maximum
+	 *                    The maximum value the byte may have.
+	 * @return The payload bits of the continuation byte.
+	 * @throws IllegalArgumentException
+	 *                                      If the byte is not a valid continuation
+	 *                                      byte.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private int popContinuation(final int minimum, final int maximum) throws IOException {
+		final int current = this.peek();
+		if ((current < minimum) || (maximum < current)) {
+			throw this.unexpectedCharacter("a valid UTF-8 continuation byte");
+		}
+		++this.position;
+		return current & 0x3F;
+	}
+
+	/**
+	 * Decodes the multi-byte UTF-8 sequence starting at the current byte into the
+	 * decoding buffer.
+	 *
+	 * @param count
+	 *                  Number of characters already in the decoding buffer.
+	 * @return Number of characters in the decoding buffer after decoding.
+	 * @throws IllegalArgumentException
+	 *                                      If the sequence is not valid UTF-8.
+	 * @throws IOException
+	 *                                      If an I/O error occurs.
+	 */
+	private int decodeSequence(int count) throws IOException {
+		final int lead = this.peek();
+		int codePoint;
+		if ((0xC2 <= lead) && (lead <= 0xDF)) {
+			++this.position;
+			codePoint = ((lead & 0x1F) << 6) | this.popContinuation(0x80, 0xBF);
+		} else if ((0xE0 <= lead) && (lead <= 0xEF)) {
+			++this.position;
+			// Overlong encodings and surrogates are rejected by narrowing the second byte
+			final int second = this.popContinuation(lead == 0xE0 ? 0xA0 : 0x80, lead == 0xED ? 0x9F : 0xBF);
+			codePoint = ((lead & 0x0F) << 12) | (second << 6) | this.popContinuation(0x80, 0xBF);
+		} else if ((0xF0 <= lead) && (lead <= 0xF4)) {
+			++this.position;
+			final int second = this.popContinuation(lead == 0xF0 ? 0x90 : 0x80, lead == 0xF4 ? 0x8F : 0xBF);
+			final int third = this.popContinuation(0x80, 0xBF);
+			codePoint = ((lead & 0x07) << 18) | (second << 12) | (third << 6) | this.popContinuation(0x80, 0xBF);
+		} else {
+			throw this.unexpectedCharacter("a valid UTF-8 leading byte");
+		}
+		this.ensureCapacity(count, count + 2);
+		if (codePoint < 0x10000) {
+			this.characters[count++] = (char) codePoint;
+		} else {
+			this.characters[count++] = Character.highSurrogate(codePoint);
+			this.characters[count++] = Character.lowSurrogate(codePoint);
+		}
+		return count;
+	}
+
+	/**
+	 * Makes room in the characters buffer for the given number of characters,
+	 * checking the length of the string being read before it grows.
+	 *
+	 * @param count
+	 *                   Number of characters of the string read so far.
+	 * @param length
+	 *                   Number of characters the buffer must fit.
+	 * @throws IllegalArgumentException
+	 *                                      If the string is longer than allowed.
+	 */
+	private void ensureCapacity(final int count, final int length) {
+		if (this.characters.length < length) {
+			this.checkStringLength(count);
+			this.characters = Arrays.copyOf(this.characters, 2 * length);
+		}
+	}
+
+	@Override
+	void readText() throws IOException {
+		this.consumeWhitespace();
+		this.check('\"');
+		// Strings made only of ASCII characters without escapes are left in the buffer
+		// without decoding
+		final byte[] buffer = this.buffer;
+		final int first = this.position;
+		final int limit = this.limit;
+		final int position = JsonScanner.skipPlainText(buffer, first, limit);
+		if ((position < limit) && (buffer[position] == '\"')) {
+			this.position = position + 1;
+			this.setText(buffer, first, position - first);
+			return;
+		}
+		int count = 0;
+		this.ensureCapacity(position - first, position - first);
+		for (int index = first; index < position; ++index) {
+			this.characters[count++] = (char) buffer[index];
+		}
+		this.position = position;
+		while (true) {
+			final int current = this.peek();
+			if (current == '\"') {
+				++this.position;
+				this.setText(this.characters, 0, count);
+				return;
+			} else if (current == '\\') {
+				++this.position;
+				this.ensureCapacity(count, count + 1);
+				switch (this.pop()) {
+				case '\"':
+					this.characters[count++] = '\"';
+					break;
+				case '\\':
+					this.characters[count++] = '\\';
+					break;
+				case '/':
+					this.characters[count++] = '/';
+					break;
+				case 'b':
+					this.characters[count++] = '\b';
+					break;
+				case 'f':
+					this.characters[count++] = '\f';
+					break;
+				case 'n':
+					this.characters[count++] = '\n';
+					break;
+				case 'r':
+					this.characters[count++] = '\r';
+					break;
+				case 't':
+					this.characters[count++] = '\t';
+					break;
+				case 'u':
+					int unescaped = 0;
+					unescaped |= JsonReaderImplementation.hexadecimalToInteger((char) this.pop()) << 12;
+					unescaped |= JsonReaderImplementation.hexadecimalToInteger((char) this.pop()) << 8;
+					unescaped |= JsonReaderImplementation.hexadecimalToInteger((char) this.pop()) << 4;
+					unescaped |= JsonReaderImplementation.hexadecimalToInteger((char) this.pop());
+					this.characters[count++] = (char) unescaped;
+					break;
+				}
+			} else if (current >= 0x80) {
+				count = this.decodeSequence(count);
+			} else if (current < 0) {
+				throw this.unexpectedCharacter("\'\"\'");
+			} else {
+				// Copy the run of ASCII characters that need no decoding in one go
+				final byte[] block = this.buffer;
+				final int index = JsonScanner.skipPlainText(block, this.position, this.limit);
+				this.ensureCapacity(count, count + (index - this.position));
+				for (int copied = this.position; copied < index; ++copied) {
+					this.characters[count++] = (char) block[copied];
+				}
+				this.position = index;
+			}
+		}
+	}
+
+	@Override
+	JsonStringImplementation readRawString() throws IOException {
+		if ((this.inputStream != null) || (this.byteBuffer != null)) {
+			return null;
+		}
+		this.consumeWhitespace();
+		this.check('\"');
+		final byte[] buffer = this.buffer;
+		final int first = this.position;
+		int position = JsonScanner.skipPlainText(buffer, first, this.limit);
+		final boolean isPlain = (position < this.limit) && (buffer[position] == '\"');
+		if (!isPlain) {
+			position = JsonScanner.skipString(buffer, position, this.limit);
+		}
+		if (position >= this.limit) {
+			this.position = this.limit;
+			throw this.unexpectedCharacter("\'\"\'");
+		}
+		this.checkStringLength(position - first);
+		this.position = position + 1;
+		return new JsonStringImplementation(buffer, first, position - first, isPlain);
+	}
+
+	@Override
+	JsonNumberImplementation readRawNumber() {
+		if ((this.inputStream != null) || (this.byteBuffer != null)) {
+			return null;
+		}
+		return new JsonNumberImplementation(this.buffer, this.numberStart, this.position - this.numberStart, this);
+	}
+
+	@Override
+	void readNumber() throws IOException {
+		this.consumeWhitespace();
+		this.numberStart = this.position;
+		this.numberSpill.setLength(0);
+		this.significand = 0L;
+		this.significantDigits = 0;
+		this.exponent = 0;
+		this.isWhole = true;
+		boolean isClamped = false;
+		this.negative = this.peekNumber() == '-';
+		if (this.negative) {
+			++this.position;
+		}
+		if (this.readDigits(false) == 0) {
+			throw this.unexpectedCharacter("DIGIT");
+		}
+		if (this.peekNumber() == '.') {
+			++this.position;
+			this.isWhole = false;
+			if (this.readDigits(true) == 0) {
+				throw this.unexpectedCharacter("DIGIT");
+			}
+		}
+		if ((this.peekNumber() == 'e') || (this.peekNumber() == 'E')) {
+			++this.position;
+			this.isWhole = false;
+			final boolean negativeExponent = this.peekNumber() == '-';
+			if (negativeExponent || (this.peekNumber() == '+')) {
+				++this.position;
+			}
+			int exponent = 0;
+			int count = 0;
+			for (int digit = this.peekNumber(); ('0' <= digit) && (digit <= '9'); digit = this.peekNumber()) {
+				++this.position;
+				++count;
+				// Larger exponents make any significand zero or infinite already
+				if (exponent < 100000) {
+					exponent = (10 * exponent) + (digit - '0');
+				} else {
+					isClamped = true;
+				}
+			}
+			if (count == 0) {
+				throw this.unexpectedCharacter("DIGIT");
+			}
+			this.exponent += negativeExponent ? -exponent : exponent;
+		}
+		if ((this.significantDigits > JsonNumbers.MAX_DIGITS) || isClamped) {
+			// Only numbers that don't fit a significand and an exponent keep their text
+			this.numberText = this.numberText();
+		}
+	}
+
+	@Override
+	void readLiteral(final String literal) throws IOException {
+		this.consumeWhitespace();
+		for (int index = 0; index < literal.length(); ++index) {
+			this.check(literal.charAt(index));
+		}
+	}
+
+}
@@ -6,8 +6,8 @@ import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
-import java.util.Collection;
-import java.util.Set;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 import api.Json;
 import api.Json.JsonType;
@@ -82,7 +82,7 @@ public class JsonWriterImplementation implements JsonWriter {
 		final Writer writer = new StringWriter();
 		final JsonWriterImplementation jsonWriter = new JsonWriterImplementation(writer);
 		try {
-			jsonWriter.writeValue(json, 0, "", "", "");
+			jsonWriter.writeValue(json, "", "", "");
 		} catch (final IOException e) {
 			e.printStackTrace();
 		}
@@ -102,11 +102,14 @@ public class JsonWriterImplementation implements JsonWriter {
 	 * @return A line of indentation.
 	 */
 	private static String indentation(final int indentationLevel, final String lineBreak, final String indendation) {
-		String result = lineBreak;
+		if (indendation.isEmpty()) {
+			return lineBreak;
+		}
+		final StringBuilder result = new StringBuilder(lineBreak);
 		for (int index = 0; index < indentationLevel; ++index) {
-			result += indendation;
+			result.append(indendation);
 		}
-		return result;
+		return result.toString();
 	}
 
 	/**
@@ -179,79 +182,144 @@ public class JsonWriterImplementation implements JsonWriter {
 		if ((json.getType() != JsonType.OBJECT) && (json.getType() != JsonType.ARRAY)) {
 			throw new IllegalArgumentException("The JSON value provided is not a JSON structure");
 		}
-		this.writeValue(json, 0, lineBreak, indentation, padding);
+		this.writeValue(json, lineBreak, indentation, padding);
 	}
 
 	/**
-	 * Writes a JSON value to this Writer starting at a given indentation level.
+	 * Writes a JSON value to this Writer. The structures being written are kept on
+	 * a stack instead of the call stack, so values can be nested as deep as memory
+	 * allows.
 	 *
 	 * @param json
-	 *                             A JSON value to write to this Writer.
-	 * @param indentationLevel
-	 *                             An indentation level to start writing at.
+	 *                        A JSON value to write to this Writer.
 	 * @param lineBreak
-	 *                             String that will be used as a line break.
+	 *                        String that will be used as a line break.
 	 * @param indentation
-	 *                             String that will be used to indent.
+	 *                        String that will be used to indent.
 	 * @param padding
-	 *                             String that will be used to pad.
+	 *                        String that will be used to pad.
 	 * @throws IOException
 	 *                         If an I/O error occurs.
 	 */
-	private void writeValue(final Json json, final int indentationLevel, final String lineBreak,
-			final String indentation, final String padding) throws IOException {
-		switch (json.getType()) {
-		case OBJECT:
-			final Set<String> keys = json.keys();
-			this.writer.write("{");
-			int keyCounter = 0;
-			for (final String key : keys) {
-				this.writer.write(JsonWriterImplementation.indentation(indentationLevel + 1, lineBreak, indentation));
+	private void writeValue(final Json json, final String lineBreak, final String indentation,
+			final String padding) throws IOException {
+		final Deque<Structure> structures = new ArrayDeque<>();
+		Json value = json;
+		while (value != null) {
+			switch (value.getType()) {
+			case OBJECT:
+				this.writer.write("{");
+				structures.push(new Structure(value, true));
+				break;
+			case ARRAY:
+				this.writer.write("[");
+				structures.push(new Structure(value, false));
+				break;
+			case STRING:
 				this.writer.write("\"");
-				this.writer.write(JsonWriterImplementation.escape(key));
+				if ((value instanceof JsonStringImplementation) && ((JsonStringImplementation) value).isWellFormed()) {
+					// Strings read as spans are copied with their escapes as they were read
+					((JsonStringImplementation) value).write(this.writer);
+				} else {
+					this.writer.write(JsonWriterImplementation.escape(value.as(String.class)));
+				}
 				this.writer.write("\"");
-				this.writer.write(":");
-				this.writer.write(padding);
-				final Json value = json.get(key);
-				this.writeValue(value, indentationLevel + 1, lineBreak, indentation, padding);
-				if (++keyCounter < keys.size()) {
-					this.writer.write(",");
+				break;
+			case NUMBER:
+				if (value instanceof JsonNumberImplementation) {
+					// Numbers read as spans are copied as they were read
+					((JsonNumberImplementation) value).write(this.writer);
+				} else {
+					this.writer.write(value.as(Number.class).toString());
 				}
+				break;
+			case BOOLEAN:
+				this.writer.write(value.as(boolean.class) ? "true" : "false");
+				break;
+			case NULL:
+				this.writer.write("null");
+				break;
+			default:
+				throw new ClassCastException();
 			}
-			this.writer.write(JsonWriterImplementation.indentation(indentationLevel, lineBreak, indentation));
-			this.writer.write("}");
-			break;
-		case ARRAY:
-			final Collection<Json> values = json.values();
-			this.writer.write("[");
-			int valueCounter = 0;
-			for (final Json value : values) {
-				this.writer.write(JsonWriterImplementation.indentation(indentationLevel + 1, lineBreak, indentation));
-				this.writeValue(value, indentationLevel + 1, lineBreak, indentation, padding);
-				if (++valueCounter < values.size()) {
+			// Move on to the next value, closing the structures that have no more values
+			value = null;
+			while ((value == null) && !structures.isEmpty()) {
+				final Structure structure = structures.peek();
+				if (structure.index == structure.size) {
+					structures.pop();
+					this.writer.write(JsonWriterImplementation.indentation(structures.size(), lineBreak, indentation));
+					this.writer.write(structure.isObject ? "}" : "]");
+					continue;
+				}
+				if (structure.index > 0) {
 					this.writer.write(",");
 				}
+				this.writer.write(JsonWriterImplementation.indentation(structures.size(), lineBreak, indentation));
+				if (structure.isObject) {
+					this.writer.write("\"");
+					this.writer.write(JsonWriterImplementation.escape(structure.json.keyAt(structure.index)));
+					this.writer.write("\"");
+					this.writer.write(":");
+					this.writer.write(padding);
+				}
+				value = structure.json.valueAt(structure.index);
+				++structure.index;
 			}
-			this.writer.write(JsonWriterImplementation.indentation(indentationLevel, lineBreak, indentation));
-			this.writer.write("]");
-			break;
-		case STRING:
-			this.writer.write("\"");
-			this.writer.write(JsonWriterImplementation.escape(json.as(String.class)));
-			this.writer.write("\"");
-			break;
-		case NUMBER:
-			this.writer.write(json.as(Number.class).toString());
-			break;
-		case BOOLEAN:
-			this.writer.write(json.as(boolean.class) ? "true" : "false");
-			break;
-		case NULL:
-			this.writer.write("null");
-			break;
-		default:
-			throw new ClassCastException();
 		}
 	}
 
+	////////////////////////////////////////////////////////////////////////////////
+	// Nested classes
+
+	/**
+	 * A JSON structure being written.
+	 *
+	 * @author Javier Centeno Vega <jacenve@telefonica.net>
+	 * @version 1.0
+	 * @since 1.0
+	 *
+	 */
+	private static final class Structure {
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance fields
+
+		/**
+		 * The structure.
+		 */
+		private final Json json;
+		/**
+		 * Whether the structure is an object instead of an array.
+		 */
+		private final boolean isObject;
+		/**
+		 * The number of fields or elements of the structure.
+		 */
+		private final int size;
+		/**
+		 * The index of the next field or element of the structure to write.
+		 */
+		private int index;
+
+		////////////////////////////////////////////////////////////////////////////////
+		// Instance initializers
+
+		/**
+		 * Constructs a structure to write.
+		 *
+		 * @param json
+		 *                     The structure.
+		 * @param isObject
+		 *                     Whether the structure is an object instead of an array.
+		 */
+		private Structure(final Json json, final boolean isObject) {
+			this.json = json;
+			this.isObject = isObject;
+			this.size = json.size();
+			this.index = 0;
+		}
+
+	}
+
 }